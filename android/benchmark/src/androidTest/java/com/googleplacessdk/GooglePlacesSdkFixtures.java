@@ -0,0 +1,133 @@
+package com.googleplacessdk;
+
+import android.net.Uri;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReadableMap;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import com.google.android.libraries.places.api.model.AddressComponent;
+import com.google.android.libraries.places.api.model.AddressComponents;
+import com.google.android.libraries.places.api.model.AutocompletePrediction;
+import com.google.android.libraries.places.api.model.OpeningHours;
+import com.google.android.libraries.places.api.model.PhotoMetadata;
+import com.google.android.libraries.places.api.model.Place;
+import com.google.android.libraries.places.api.model.PlusCode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Synthetic SDK objects shaped like real responses, sized after what a typical autocomplete page
+ * and a full place details response contain.
+ */
+class GooglePlacesSdkFixtures {
+  static final int PREDICTION_PAGE_SIZE = 5;
+  static final int PHOTO_COUNT = 10;
+
+  static List<AutocompletePrediction> predictionPage() {
+    List<AutocompletePrediction> predictions = new ArrayList<>();
+    for (int i = 0; i < PREDICTION_PAGE_SIZE; i++) {
+      predictions.add(AutocompletePrediction.builder("ChIJN1t_tDeuEmsRUsoyG83frY" + i)
+        .setPrimaryText("Sydney Opera House " + i)
+        .setSecondaryText("Bennelong Point, Sydney NSW, Australia")
+        .setFullText("Sydney Opera House " + i + ", Bennelong Point, Sydney NSW, Australia")
+        .setPlaceTypes(Arrays.asList(Place.Type.TOURIST_ATTRACTION, Place.Type.POINT_OF_INTEREST,
+          Place.Type.ESTABLISHMENT))
+        .setDistanceMeters(1200 + i * 350)
+        .build());
+    }
+
+    return predictions;
+  }
+
+  static List<PhotoMetadata> photos() {
+    List<PhotoMetadata> photos = new ArrayList<>();
+    for (int i = 0; i < PHOTO_COUNT; i++) {
+      photos.add(PhotoMetadata.builder(
+          "AZose0kGm4fJ2QvQYw8Yh3f6o1XK8Qm2Yy2dFJ9bS0pXlW2Yq3z7C1mA8rT5nB6vE4uI9oP0sD" + i)
+        .setWidth(4032)
+        .setHeight(3024)
+        .setAttributions("<a href=\"https://maps.google.com/maps/contrib/10775584758029270530" + i
+          + "\">Contributor " + i + "</a>")
+        .build());
+    }
+
+    return photos;
+  }
+
+  static AddressComponents addressComponents() {
+    return AddressComponents.newInstance(Arrays.asList(
+      AddressComponent.builder("Bennelong Point", Collections.singletonList("route"))
+        .setShortName("Bennelong Point").build(),
+      AddressComponent.builder("Sydney", Arrays.asList("locality", "political"))
+        .setShortName("Sydney").build(),
+      AddressComponent.builder("Council of the City of Sydney",
+          Arrays.asList("administrative_area_level_2", "political"))
+        .setShortName("Sydney").build(),
+      AddressComponent.builder("New South Wales", Arrays.asList("administrative_area_level_1", "political"))
+        .setShortName("NSW").build(),
+      AddressComponent.builder("Australia", Arrays.asList("country", "political"))
+        .setShortName("AU").build(),
+      AddressComponent.builder("2000", Collections.singletonList("postal_code"))
+        .setShortName("2000").build()));
+  }
+
+  static Place fullPlace() {
+    return Place.builder()
+      .setId("ChIJ3S-JXmauEmsRUcIaWtf4MzE")
+      .setName("Sydney Opera House")
+      .setAddress("Bennelong Point, Sydney NSW 2000, Australia")
+      .setAddressComponents(addressComponents())
+      .setLatLng(new LatLng(-33.8567844, 151.213108))
+      .setViewport(new LatLngBounds(new LatLng(-33.8581, 151.2117), new LatLng(-33.8554, 151.2144)))
+      .setTypes(Arrays.asList(Place.Type.TOURIST_ATTRACTION, Place.Type.POINT_OF_INTEREST,
+        Place.Type.ESTABLISHMENT))
+      .setPlusCode(PlusCode.builder()
+        .setCompoundCode("46R6+83 Sydney, New South Wales, Australia")
+        .setGlobalCode("4RRH46R6+83")
+        .build())
+      .setPhoneNumber("+61 2 9250 7111")
+      .setWebsiteUri(Uri.parse("https://www.sydneyoperahouse.com/"))
+      .setRating(4.7)
+      .setUserRatingsTotal(88210)
+      .setPriceLevel(2)
+      .setUtcOffsetMinutes(600)
+      .setBusinessStatus(Place.BusinessStatus.OPERATIONAL)
+      .setIconUrl("https://maps.gstatic.com/mapfiles/place_api/icons/v1/png_71/generic_business-71.png")
+      .setOpeningHours(OpeningHours.builder()
+        .setPeriods(Collections.emptyList())
+        .setWeekdayText(Arrays.asList(
+          "Monday: 9:00 AM – 5:00 PM",
+          "Tuesday: 9:00 AM – 5:00 PM",
+          "Wednesday: 9:00 AM – 5:00 PM",
+          "Thursday: 9:00 AM – 5:00 PM",
+          "Friday: 9:00 AM – 5:00 PM",
+          "Saturday: 9:00 AM – 5:00 PM",
+          "Sunday: 9:00 AM – 5:00 PM"))
+        .build())
+      .setTakeout(Place.BooleanPlaceAttributeValue.FALSE)
+      .setDelivery(Place.BooleanPlaceAttributeValue.FALSE)
+      .setDineIn(Place.BooleanPlaceAttributeValue.TRUE)
+      .setCurbsidePickup(Place.BooleanPlaceAttributeValue.UNKNOWN)
+      .setPhotoMetadatas(photos())
+      .build();
+  }
+
+  static List<Place.Field> allFields() {
+    return new ArrayList<>(GooglePlacesSdkConstants.PLACE_FIELD_MAP.values());
+  }
+
+  static ReadableMap predictionOptions() {
+    return JavaOnlyMap.of(
+      "types", JavaOnlyArray.of("establishment"),
+      "countries", JavaOnlyArray.of("au", "nz"),
+      "locationBias", JavaOnlyMap.of(
+        "northEast", JavaOnlyMap.of("latitude", -33.70, "longitude", 151.35),
+        "southWest", JavaOnlyMap.of("latitude", -34.00, "longitude", 151.05)),
+      "origin", JavaOnlyMap.of("latitude", -33.8688, "longitude", 151.2093));
+  }
+}
@@ -0,0 +1,182 @@
+package com.googleplacessdk;
+
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.PromiseImpl;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.soloader.SoLoader;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives simulated autocomplete sessions through {@link GooglePlacesSdkModule} with the replay
+ * backend, so no request leaves the device. Each session types a query one keystroke at a time,
+ * fetching predictions for every prefix, then fetches the details of the top prediction. Latencies
+ * are measured from the call to the promise settling, the way JS sees them, and reported to logcat
+ * with the overall throughput. Instrumentation arguments: sessions, concurrency,
+ * keystrokeIntervalMs, debounceMs, errorRate and seed.
+ */
+@RunWith(AndroidJUnit4.class)
+public class GooglePlacesSdkLoadGenerator {
+  private static final String LOG_TAG = "GooglePlacesSdkLoad";
+  private static final long TIMEOUT_MINUTES = 30;
+  private static final List<String> QUERIES = Arrays.asList(
+    "sydney opera house", "central park", "eiffel tower", "golden gate bridge", "british museum",
+    "shibuya crossing", "table mountain", "brandenburg gate", "sagrada familia", "christ the redeemer");
+
+  private static class LatencyRecorder {
+    private final List<Double> latenciesMs = new ArrayList<>();
+    private long errors;
+    private long superseded;
+
+    synchronized void resolved(double latencyMs) {
+      latenciesMs.add(latencyMs);
+    }
+
+    synchronized void rejected(String code) {
+      if (GooglePlacesSdkConstants.SUPERSEDED.equals(code)) {
+        superseded++;
+      } else errors++;
+    }
+
+    synchronized long count() {
+      return latenciesMs.size() + errors + superseded;
+    }
+
+    synchronized String report(String name) {
+      List<Double> sorted = new ArrayList<>(latenciesMs);
+      Collections.sort(sorted);
+      return String.format(Locale.US,
+        "%s: %d resolved, %d errors, %d superseded, p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms",
+        name, sorted.size(), errors, superseded, percentile(sorted, 0.5), percentile(sorted, 0.95),
+        percentile(sorted, 0.99), sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1));
+    }
+
+    private static double percentile(List<Double> sorted, double quantile) {
+      if (sorted.isEmpty()) return 0;
+
+      return sorted.get(Math.min((int) Math.ceil(quantile * sorted.size()) - 1, sorted.size() - 1));
+    }
+  }
+
+  private final LatencyRecorder predictions = new LatencyRecorder();
+  private final LatencyRecorder details = new LatencyRecorder();
+
+  // WritableNativeMap and WritableNativeArray are backed by the React Native JNI library
+  @BeforeClass
+  public static void loadNativeLibraries() {
+    SoLoader.init(InstrumentationRegistry.getInstrumentation().getTargetContext(), false);
+  }
+
+  @Test
+  public void keystrokeSessions() throws InterruptedException {
+    Bundle arguments = InstrumentationRegistry.getArguments();
+    int sessions = Integer.parseInt(arguments.getString("sessions", "2000"));
+    int concurrency = Integer.parseInt(arguments.getString("concurrency", "64"));
+    long keystrokeIntervalMs = Long.parseLong(arguments.getString("keystrokeIntervalMs", "80"));
+    long debounceMs = Long.parseLong(arguments.getString("debounceMs", "0"));
+    double errorRate = Double.parseDouble(arguments.getString("errorRate", "0.01"));
+    long seed = Long.parseLong(arguments.getString("seed", "42"));
+
+    GooglePlacesSdkModule module = new GooglePlacesSdkModule(
+      new ReactApplicationContext(InstrumentationRegistry.getInstrumentation().getTargetContext()));
+    module.initialize("replay", JavaOnlyMap.of(
+      "predictionDebounceMs", (double) debounceMs,
+      "backend", JavaOnlyMap.of(
+        "mode", GooglePlacesSdkBackend.MODE_REPLAY,
+        "errorRate", errorRate,
+        "seed", (double) seed)));
+
+    // Like the native modules thread, every call is made from a single thread
+    ScheduledExecutorService keyboard = Executors.newSingleThreadScheduledExecutor();
+    Semaphore slots = new Semaphore(concurrency);
+    CountDownLatch done = new CountDownLatch(sessions);
+    long startedAt = SystemClock.elapsedRealtimeNanos();
+    for (int i = 0; i < sessions; i++) {
+      slots.acquire();
+      startSession(module, keyboard, "load-" + i, QUERIES.get(i % QUERIES.size()), keystrokeIntervalMs, () -> {
+        slots.release();
+        done.countDown();
+      });
+    }
+    assertTrue("Sessions did not complete in time", done.await(TIMEOUT_MINUTES, TimeUnit.MINUTES));
+    double elapsedSeconds = (SystemClock.elapsedRealtimeNanos() - startedAt) / 1e9;
+    keyboard.shutdownNow();
+
+    Log.i(LOG_TAG, String.format(Locale.US,
+      "%d sessions in %.1f s with %d concurrent, %.1f sessions/s, %.1f requests/s", sessions, elapsedSeconds,
+      concurrency, sessions / elapsedSeconds, (predictions.count() + details.count()) / elapsedSeconds));
+    Log.i(LOG_TAG, predictions.report("fetchPredictions"));
+    Log.i(LOG_TAG, details.report("fetchPlaceByID"));
+    assertEquals("Promises left unsettled", 0, GooglePlacesSdkPromise.getOutstandingCount());
+    module.invalidate();
+  }
+
+  // Types the query, then fetches the top prediction of the complete query and ends the session.
+  private void startSession(final GooglePlacesSdkModule module, final ScheduledExecutorService keyboard,
+                            final String sessionID, final String query, long keystrokeIntervalMs,
+                            final Runnable onDone) {
+    final ReadableMap options = JavaOnlyMap.of("sessionID", sessionID);
+    for (int length = 1; length <= query.length(); length++) {
+      final String prefix = query.substring(0, length);
+      final boolean last = length == query.length();
+      keyboard.schedule(() -> {
+        final long calledAt = SystemClock.elapsedRealtimeNanos();
+        module.fetchPredictions(prefix, options, new PromiseImpl(
+          (args) -> {
+            predictions.resolved((SystemClock.elapsedRealtimeNanos() - calledAt) / 1e6);
+            if (!last) return;
+
+            ReadableArray results = (ReadableArray) args[0];
+            if (results.size() > 0) {
+              String placeID = results.getMap(0).getString("placeID");
+              keyboard.execute(() -> fetchDetails(module, placeID, options, onDone));
+            } else onDone.run();
+          },
+          (args) -> {
+            predictions.rejected(((ReadableMap) args[0]).getString("code"));
+            if (last) onDone.run();
+          }));
+      }, (length - 1) * keystrokeIntervalMs, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void fetchDetails(GooglePlacesSdkModule module, String placeID, ReadableMap options,
+                            final Runnable onDone) {
+    final long calledAt = SystemClock.elapsedRealtimeNanos();
+    module.fetchPlaceByID(placeID, JavaOnlyArray.of(), options, new PromiseImpl(
+      (args) -> {
+        details.resolved((SystemClock.elapsedRealtimeNanos() - calledAt) / 1e6);
+        onDone.run();
+      },
+      (args) -> {
+        details.rejected(((ReadableMap) args[0]).getString("code"));
+        onDone.run();
+      }));
+  }
+}
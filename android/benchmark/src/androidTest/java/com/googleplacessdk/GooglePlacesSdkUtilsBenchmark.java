@@ -0,0 +1,113 @@
+package com.googleplacessdk;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.soloader.SoLoader;
+import com.google.android.libraries.places.api.model.AddressComponents;
+import com.google.android.libraries.places.api.model.AutocompletePrediction;
+import com.google.android.libraries.places.api.model.AutocompleteSessionToken;
+import com.google.android.libraries.places.api.model.PhotoMetadata;
+import com.google.android.libraries.places.api.model.Place;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+/**
+ * Benchmarks the per-keystroke (predictions) and per-detail (place) paths of
+ * {@link GooglePlacesSdkUtils}. The benchmark library reports ns/op and allocations per op.
+ */
+@RunWith(AndroidJUnit4.class)
+public class GooglePlacesSdkUtilsBenchmark {
+  @Rule
+  public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+  // WritableNativeMap and WritableNativeArray are backed by the React Native JNI library
+  @BeforeClass
+  public static void loadNativeLibraries() {
+    SoLoader.init(InstrumentationRegistry.getInstrumentation().getTargetContext(), false);
+  }
+
+  @Test
+  public void parseAutocompletePredictions() {
+    List<AutocompletePrediction> predictions = GooglePlacesSdkFixtures.predictionPage();
+    BenchmarkState state = benchmarkRule.getState();
+    while (state.keepRunning()) {
+      GooglePlacesSdkUtils.ParseAutocompletePredictions(predictions);
+    }
+  }
+
+  @Test
+  public void buildPredictionRequest() {
+    ReadableMap options = GooglePlacesSdkFixtures.predictionOptions();
+    AutocompleteSessionToken sessionToken = AutocompleteSessionToken.newInstance();
+    BenchmarkState state = benchmarkRule.getState();
+    while (state.keepRunning()) {
+      GooglePlacesSdkUtils.buildPredictionRequest("sydney opera", options, sessionToken, null);
+    }
+  }
+
+  @Test
+  public void buildPredictionCacheKey() {
+    ReadableMap options = GooglePlacesSdkFixtures.predictionOptions();
+    AutocompleteSessionToken sessionToken = AutocompleteSessionToken.newInstance();
+    BenchmarkState state = benchmarkRule.getState();
+    while (state.keepRunning()) {
+      GooglePlacesSdkUtils.buildPredictionCacheKey("Sydney  Opera ", options, sessionToken);
+    }
+  }
+
+  @Test
+  public void parsePlaceAllFields() {
+    Place place = GooglePlacesSdkFixtures.fullPlace();
+    List<Place.Field> fields = GooglePlacesSdkFixtures.allFields();
+    BenchmarkState state = benchmarkRule.getState();
+    while (state.keepRunning()) {
+      GooglePlacesSdkUtils.ParsePlace(place, fields);
+    }
+  }
+
+  @Test
+  public void parsePlaceBasicProfile() {
+    Place place = GooglePlacesSdkFixtures.fullPlace();
+    List<Place.Field> fields = new GooglePlacesSdkFieldProfiles().get(GooglePlacesSdkFieldProfiles.BASIC);
+    BenchmarkState state = benchmarkRule.getState();
+    while (state.keepRunning()) {
+      GooglePlacesSdkUtils.ParsePlace(place, fields);
+    }
+  }
+
+  @Test
+  public void parsePhotos() {
+    List<PhotoMetadata> photos = GooglePlacesSdkFixtures.photos();
+    BenchmarkState state = benchmarkRule.getState();
+    while (state.keepRunning()) {
+      GooglePlacesSdkUtils.ParsePhotos(photos);
+    }
+  }
+
+  @Test
+  public void parsePhotoAttributions() {
+    String attributions = GooglePlacesSdkFixtures.photos().get(0).getAttributions();
+    BenchmarkState state = benchmarkRule.getState();
+    while (state.keepRunning()) {
+      GooglePlacesSdkUtils.ParsePhotoAttributions(attributions);
+    }
+  }
+
+  @Test
+  public void parseAddressComponents() {
+    AddressComponents addressComponents = GooglePlacesSdkFixtures.addressComponents();
+    BenchmarkState state = benchmarkRule.getState();
+    while (state.keepRunning()) {
+      GooglePlacesSdkUtils.ParseAddressComponents(addressComponents);
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package com.googleplacessdk;
+
+import android.content.Context;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.libraries.places.api.net.FetchPhotoRequest;
+import com.google.android.libraries.places.api.net.FetchPhotoResponse;
+import com.google.android.libraries.places.api.net.FetchPlaceRequest;
+import com.google.android.libraries.places.api.net.FetchPlaceResponse;
+import com.google.android.libraries.places.api.net.FindAutocompletePredictionsRequest;
+import com.google.android.libraries.places.api.net.FindAutocompletePredictionsResponse;
+
+/**
+ * The subset of {@code PlacesClient} the module calls. Besides the Places SDK itself, a backend can
+ * record the SDK's responses or replay them without a network, so the module's caching,
+ * coalescing and parsing can be load tested offline. Tasks must honor the request's cancellation
+ * token the way the SDK does.
+ */
+interface GooglePlacesSdkBackend {
+  String MODE_SDK = "sdk";
+  String MODE_RECORD = "record";
+  String MODE_REPLAY = "replay";
+
+  // Called on the loader thread, where initializing the SDK does not hold up app startup.
+  interface Factory {
+    GooglePlacesSdkBackend create(Context context, String apiKey);
+  }
+
+  Task<FindAutocompletePredictionsResponse> findAutocompletePredictions(FindAutocompletePredictionsRequest request);
+
+  Task<FetchPlaceResponse> fetchPlace(FetchPlaceRequest request);
+
+  Task<FetchPhotoResponse> fetchPhoto(FetchPhotoRequest request);
+}
@@ -0,0 +1,43 @@
+package com.googleplacessdk;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.libraries.places.api.Places;
+import com.google.android.libraries.places.api.net.FetchPhotoRequest;
+import com.google.android.libraries.places.api.net.FetchPhotoResponse;
+import com.google.android.libraries.places.api.net.FetchPlaceRequest;
+import com.google.android.libraries.places.api.net.FetchPlaceResponse;
+import com.google.android.libraries.places.api.net.FindAutocompletePredictionsRequest;
+import com.google.android.libraries.places.api.net.FindAutocompletePredictionsResponse;
+import com.google.android.libraries.places.api.net.PlacesClient;
+
+/**
+ * Sends requests to Google through the Places SDK.
+ */
+class GooglePlacesSdkClientBackend implements GooglePlacesSdkBackend {
+  static final Factory FACTORY = (context, apiKey) -> {
+    Places.initialize(context, apiKey);
+    return new GooglePlacesSdkClientBackend(Places.createClient(context));
+  };
+
+  private final PlacesClient client;
+
+  GooglePlacesSdkClientBackend(PlacesClient client) {
+    this.client = client;
+  }
+
+  @Override
+  public Task<FindAutocompletePredictionsResponse> findAutocompletePredictions(
+    FindAutocompletePredictionsRequest request) {
+    return client.findAutocompletePredictions(request);
+  }
+
+  @Override
+  public Task<FetchPlaceResponse> fetchPlace(FetchPlaceRequest request) {
+    return client.fetchPlace(request);
+  }
+
+  @Override
+  public Task<FetchPhotoResponse> fetchPhoto(FetchPhotoRequest request) {
+    return client.fetchPhoto(request);
+  }
+}
@@ -0,0 +1,181 @@
+package com.googleplacessdk;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Initializes the Places SDK and creates the client off the calling thread, so {@code initialize}
+ * returns right away during app startup. Calls made before the client is ready wait in a queue and
+ * run, in order, on the loader thread once it is. Initializing again with the same key and backend
+ * does nothing. A new key or backend creates a new client that replaces the old one in a single
+ * write, requests already sent on the old client complete there.
+ */
+class GooglePlacesSdkClientLoader {
+  static final String STATE_UNINITIALIZED = "uninitialized";
+  static final String STATE_INITIALIZING = "initializing";
+  static final String STATE_READY = "ready";
+  static final String STATE_FAILED = "failed";
+
+  private static final String LOG_TAG = "GooglePlacesSdkInit";
+
+  private static class PendingCall {
+    final Runnable call;
+    final Runnable onNotInitialized;
+    final long queuedAt = SystemClock.elapsedRealtime();
+
+    PendingCall(Runnable call, Runnable onNotInitialized) {
+      this.call = call;
+      this.onNotInitialized = onNotInitialized;
+    }
+  }
+
+  private final Context context;
+  private final Executor executor;
+  private volatile GooglePlacesSdkBackend backend;
+  private final List<PendingCall> pendingCalls = new ArrayList<>();
+  private String apiKey;
+  private Object backendConfig;
+  private String state = STATE_UNINITIALIZED;
+  // Incremented per key, a load finishing after a newer key was requested is discarded
+  private long generation;
+  private long requestedAt;
+  private double initMs = -1;
+  private double readyMs = -1;
+  private double callMs = -1;
+  private String error;
+  private long initializations;
+  private long skipped;
+  private long queuedCalls;
+  private long maxQueueWaitMs;
+
+  GooglePlacesSdkClientLoader(Context context, Executor executor) {
+    this.context = context;
+    this.executor = executor;
+  }
+
+  // Returns false when the key and backend config are the ones already in use or being loaded.
+  boolean initialize(final String apiKey, Object backendConfig, final GooglePlacesSdkBackend.Factory factory) {
+    long calledAt = SystemClock.elapsedRealtimeNanos();
+    final long loadGeneration;
+    synchronized (this) {
+      if (apiKey.equals(this.apiKey) && backendConfig.equals(this.backendConfig) && !STATE_FAILED.equals(state)) {
+        skipped++;
+        return false;
+      }
+
+      this.apiKey = apiKey;
+      this.backendConfig = backendConfig;
+      loadGeneration = ++generation;
+      requestedAt = SystemClock.elapsedRealtime();
+      if (backend == null) state = STATE_INITIALIZING;
+      initializations++;
+    }
+
+    executor.execute(() -> load(apiKey, factory, loadGeneration));
+    synchronized (this) {
+      callMs = (SystemClock.elapsedRealtimeNanos() - calledAt) / 1e6;
+    }
+    return true;
+  }
+
+  // Null until the first load completes, the latest backend afterwards.
+  GooglePlacesSdkBackend getBackend() {
+    return backend;
+  }
+
+  synchronized boolean isRequested() {
+    return apiKey != null;
+  }
+
+  // Runs the call now when the client is ready, or queues it while it is being created. Runs
+  // onNotInitialized instead when initialize was never called or failed.
+  void whenReady(Runnable call, Runnable onNotInitialized) {
+    synchronized (this) {
+      if (backend == null && STATE_INITIALIZING.equals(state)) {
+        pendingCalls.add(new PendingCall(call, onNotInitialized));
+        queuedCalls++;
+        return;
+      }
+    }
+
+    if (backend != null) {
+      call.run();
+    } else onNotInitialized.run();
+  }
+
+  // Drops the queued calls, used when the module is torn down.
+  synchronized void clear() {
+    pendingCalls.clear();
+  }
+
+  synchronized WritableMap getStats() {
+    WritableMap stats = Arguments.createMap();
+    stats.putString("state", state);
+    stats.putDouble("initMs", initMs);
+    stats.putDouble("readyMs", readyMs);
+    stats.putDouble("callMs", callMs);
+    stats.putDouble("initializations", initializations);
+    stats.putDouble("skipped", skipped);
+    stats.putDouble("queuedCalls", queuedCalls);
+    stats.putInt("pendingCalls", pendingCalls.size());
+    stats.putDouble("maxQueueWaitMs", maxQueueWaitMs);
+    stats.putString("error", error);
+
+    return stats;
+  }
+
+  private void load(String loadApiKey, GooglePlacesSdkBackend.Factory factory, long loadGeneration) {
+    synchronized (this) {
+      if (loadGeneration != generation) return; // a newer key was requested meanwhile
+    }
+
+    long startedAt = SystemClock.elapsedRealtimeNanos();
+    GooglePlacesSdkBackend loadedBackend = null;
+    RuntimeException loadError = null;
+    try {
+      loadedBackend = factory.create(context, loadApiKey);
+    } catch (RuntimeException e) {
+      Log.e(LOG_TAG, "Failed to initialize Places", e);
+      loadError = e;
+    }
+
+    List<PendingCall> calls;
+    synchronized (this) {
+      if (loadGeneration != generation) return;
+
+      initMs = (SystemClock.elapsedRealtimeNanos() - startedAt) / 1e6;
+      readyMs = SystemClock.elapsedRealtime() - requestedAt;
+      if (loadedBackend != null) {
+        backend = loadedBackend;
+        state = STATE_READY;
+        error = null;
+      } else if (backend == null) {
+        state = STATE_FAILED;
+        error = loadError.getMessage();
+      } else {
+        error = loadError.getMessage(); // keep serving with the previous key's client
+      }
+
+      calls = new ArrayList<>(pendingCalls);
+      pendingCalls.clear();
+      long now = SystemClock.elapsedRealtime();
+      for (PendingCall pendingCall : calls) {
+        maxQueueWaitMs = Math.max(maxQueueWaitMs, now - pendingCall.queuedAt);
+      }
+    }
+
+    for (PendingCall pendingCall : calls) {
+      if (backend != null) {
+        pendingCall.call.run();
+      } else pendingCall.onNotInitialized.run();
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.googleplacessdk;
+
+import android.os.SystemClock;
+
+/**
+ * Milliseconds since boot, the time base of every TTL, idle timeout and token bucket in the
+ * module. Unit tests hand in a clock they advance by hand.
+ */
+interface GooglePlacesSdkClock {
+  GooglePlacesSdkClock SYSTEM = SystemClock::elapsedRealtime;
+
+  long elapsedRealtime();
+}
@@ -0,0 +1,316 @@
+package com.googleplacessdk;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.gms.maps.model.LatLngBounds;
+import com.google.android.libraries.places.api.model.AutocompletePrediction;
+import com.google.android.libraries.places.api.model.Place;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Columnar encoding of prediction and place lists. Instead of one map per result, each attribute is
+ * sent as one array holding the values of every result, and place types as indices into the
+ * {@link #PLACE_TYPES} table, so the number of objects crossing the bridge no longer grows with the
+ * number of results. The JS side rebuilds the regular shape on access, see src/compact.ts.
+ */
+class GooglePlacesSdkCompactEncoder {
+  static final String FORMAT = "columnar";
+
+  // Lower-cased names of Place.Type by ordinal, computed once instead of per result
+  static final String[] PLACE_TYPES = createPlaceTypes();
+  private static final Map<String, Integer> PLACE_TYPE_INDEX = createPlaceTypeIndex();
+  private static final Map<Place.Field, String> FIELD_NAMES = createFieldNames();
+  private static final Map<Place.Field, ColumnWriter> COLUMN_WRITERS = createColumnWriters();
+
+  interface ColumnWriter {
+    void write(Place place, WritableArray column);
+  }
+
+  private static class TypeColumns {
+    final WritableArray types = Arguments.createArray();
+    final WritableArray offsets = Arguments.createArray();
+    int size;
+
+    TypeColumns() {
+      offsets.pushInt(0);
+    }
+
+    void addPlaceTypes(List<Place.Type> placeTypes) {
+      if (placeTypes != null) {
+        for (Place.Type placeType : placeTypes) {
+          types.pushInt(placeType.ordinal());
+          size++;
+        }
+      }
+      offsets.pushInt(size);
+    }
+
+    void addTypeNames(List<String> typeNames) {
+      for (String typeName : typeNames) {
+        Integer index = PLACE_TYPE_INDEX.get(typeName);
+        if (index == null) continue; // saved by an SDK version with other types
+
+        types.pushInt(index);
+        size++;
+      }
+      offsets.pushInt(size);
+    }
+
+    void putInto(WritableMap encoded) {
+      encoded.putArray("types", types);
+      encoded.putArray("typeOffsets", offsets);
+    }
+  }
+
+  static WritableArray GetPlaceTypes() {
+    WritableArray placeTypes = Arguments.createArray();
+    for (String placeType : PLACE_TYPES) {
+      placeTypes.pushString(placeType);
+    }
+
+    return placeTypes;
+  }
+
+  // Local places first, followed by the network predictions that are not already listed, the same
+  // order as GooglePlacesSdkLocalIndex.MergePredictions.
+  static WritableMap EncodePredictions(List<GooglePlacesSdkLocalIndex.LocalPlace> localPlaces,
+                                       List<AutocompletePrediction> predictions) {
+    WritableArray placeIDs = Arguments.createArray();
+    WritableArray descriptions = Arguments.createArray();
+    WritableArray primaryTexts = Arguments.createArray();
+    WritableArray secondaryTexts = Arguments.createArray();
+    WritableArray distances = Arguments.createArray();
+    TypeColumns typeColumns = new TypeColumns();
+
+    Set<String> localPlaceIDs = new HashSet<>();
+    for (GooglePlacesSdkLocalIndex.LocalPlace place : localPlaces) {
+      placeIDs.pushString(place.placeID);
+      descriptions.pushString(place.address != null ? place.name + ", " + place.address : place.name);
+      primaryTexts.pushString(place.name);
+      PushString(secondaryTexts, place.address);
+      distances.pushNull();
+      typeColumns.addTypeNames(place.types);
+      localPlaceIDs.add(place.placeID);
+    }
+
+    int count = localPlaceIDs.size();
+    for (AutocompletePrediction prediction : predictions) {
+      if (localPlaceIDs.contains(prediction.getPlaceId())) continue;
+
+      placeIDs.pushString(prediction.getPlaceId());
+      descriptions.pushString(prediction.getFullText(null).toString());
+      primaryTexts.pushString(prediction.getPrimaryText(null).toString());
+      PushString(secondaryTexts, prediction.getSecondaryText(null));
+      if (prediction.getDistanceMeters() != null) {
+        distances.pushInt(prediction.getDistanceMeters());
+      } else distances.pushNull();
+      typeColumns.addPlaceTypes(prediction.getPlaceTypes());
+      count++;
+    }
+
+    WritableMap columns = Arguments.createMap();
+    columns.putArray("placeID", placeIDs);
+    columns.putArray("description", descriptions);
+    columns.putArray("primaryText", primaryTexts);
+    columns.putArray("secondaryText", secondaryTexts);
+    columns.putArray("distanceMeters", distances);
+
+    WritableMap encoded = Arguments.createMap();
+    encoded.putString("format", FORMAT);
+    encoded.putInt("count", count);
+    encoded.putInt("localCount", localPlaceIDs.size());
+    encoded.putMap("columns", columns);
+    typeColumns.putInto(encoded);
+
+    return encoded;
+  }
+
+  // One entry per place ID, with either a place or an error code, like the regular PlaceResult list.
+  static WritableMap EncodePlaceResults(List<String> placeIDs, Place[] places, Exception[] errors,
+                                        Collection<Place.Field> fields) {
+    WritableArray encodedPlaceIDs = Arguments.createArray();
+    WritableArray errorCodes = Arguments.createArray();
+    WritableArray errorMessages = Arguments.createArray();
+    Map<Place.Field, WritableArray> columns = new EnumMap<>(Place.Field.class);
+    for (Place.Field field : fields) {
+      if (COLUMN_WRITERS.containsKey(field)) columns.put(field, Arguments.createArray());
+    }
+    WritableArray attributions = Arguments.createArray();
+    TypeColumns typeColumns = fields.contains(Place.Field.TYPES) ? new TypeColumns() : null;
+
+    for (int i = 0; i < placeIDs.size(); i++) {
+      Place place = places[i];
+      encodedPlaceIDs.pushString(placeIDs.get(i));
+      if (place != null) {
+        errorCodes.pushNull();
+        errorMessages.pushNull();
+      } else {
+        errorCodes.pushString(GooglePlacesSdkUtils.GetErrorCode(errors[i]));
+        PushString(errorMessages, errors[i] != null ? errors[i].getLocalizedMessage() : null);
+      }
+
+      for (Map.Entry<Place.Field, WritableArray> entry : columns.entrySet()) {
+        Place.Field field = entry.getKey();
+        WritableArray column = entry.getValue();
+        if (place != null) {
+          COLUMN_WRITERS.get(field).write(place, column);
+        } else if (field == Place.Field.LAT_LNG) {
+          column.pushNull();
+          column.pushNull();
+        } else column.pushNull();
+      }
+      PushString(attributions, place != null ? place.getAttributions() : null);
+      if (typeColumns != null) typeColumns.addPlaceTypes(place != null ? place.getTypes() : null);
+    }
+
+    WritableMap encodedColumns = Arguments.createMap();
+    for (Map.Entry<Place.Field, WritableArray> column : columns.entrySet()) {
+      encodedColumns.putArray(FIELD_NAMES.get(column.getKey()), column.getValue());
+    }
+    encodedColumns.putArray("attributions", attributions);
+
+    WritableMap encoded = Arguments.createMap();
+    encoded.putString("format", FORMAT);
+    encoded.putInt("count", placeIDs.size());
+    encoded.putArray("placeIDs", encodedPlaceIDs);
+    encoded.putArray("errorCodes", errorCodes);
+    encoded.putArray("errorMessages", errorMessages);
+    encoded.putMap("columns", encodedColumns);
+    if (typeColumns != null) typeColumns.putInto(encoded);
+
+    return encoded;
+  }
+
+  // Number of results in a regular or columnar list, for metrics.
+  static int Count(Object results) {
+    if (results instanceof ReadableArray) return ((ReadableArray) results).size();
+
+    return ((ReadableMap) results).getInt("count");
+  }
+
+  private static void PushString(WritableArray column, Object value) {
+    if (value != null) {
+      column.pushString(value.toString());
+    } else column.pushNull();
+  }
+
+  private static void PushInteger(WritableArray column, Integer value) {
+    if (value != null) {
+      column.pushInt(value);
+    } else column.pushNull();
+  }
+
+  private static void PushEnum(WritableArray column, Enum<?> value) {
+    column.pushString(value != null ? value.toString() : "UNKNOWN");
+  }
+
+  private static String[] createPlaceTypes() {
+    Place.Type[] types = Place.Type.values();
+    String[] names = new String[types.length];
+    for (Place.Type type : types) {
+      names[type.ordinal()] = type.toString().toLowerCase(Locale.ROOT);
+    }
+
+    return names;
+  }
+
+  private static Map<String, Integer> createPlaceTypeIndex() {
+    Map<String, Integer> index = new HashMap<>();
+    for (int i = 0; i < PLACE_TYPES.length; i++) {
+      index.put(PLACE_TYPES[i], i);
+    }
+
+    return Collections.unmodifiableMap(index);
+  }
+
+  private static Map<Place.Field, String> createFieldNames() {
+    Map<Place.Field, String> fieldNames = new EnumMap<>(Place.Field.class);
+    for (Map.Entry<String, Place.Field> entry : GooglePlacesSdkConstants.PLACE_FIELD_MAP.entrySet()) {
+      fieldNames.put(entry.getValue(), entry.getKey());
+    }
+
+    return Collections.unmodifiableMap(fieldNames);
+  }
+
+  // Types are encoded apart from the other columns, see TypeColumns.
+  private static Map<Place.Field, ColumnWriter> createColumnWriters() {
+    Map<Place.Field, ColumnWriter> writers = new EnumMap<>(Place.Field.class);
+    writers.put(Place.Field.NAME, (place, column) -> PushString(column, place.getName()));
+    writers.put(Place.Field.ID, (place, column) -> PushString(column, place.getId()));
+    writers.put(Place.Field.PHONE_NUMBER, (place, column) -> PushString(column, place.getPhoneNumber()));
+    writers.put(Place.Field.ADDRESS, (place, column) -> PushString(column, place.getAddress()));
+    writers.put(Place.Field.ICON_URL, (place, column) -> PushString(column, place.getIconUrl()));
+    writers.put(Place.Field.WEBSITE_URI, (place, column) -> PushString(column, place.getWebsiteUri()));
+    writers.put(Place.Field.BUSINESS_STATUS, (place, column) -> PushEnum(column, place.getBusinessStatus()));
+    writers.put(Place.Field.TAKEOUT, (place, column) -> PushEnum(column, place.getTakeout()));
+    writers.put(Place.Field.DELIVERY, (place, column) -> PushEnum(column, place.getDelivery()));
+    writers.put(Place.Field.DINE_IN, (place, column) -> PushEnum(column, place.getDineIn()));
+    writers.put(Place.Field.CURBSIDE_PICKUP, (place, column) -> PushEnum(column, place.getCurbsidePickup()));
+    writers.put(Place.Field.USER_RATINGS_TOTAL, (place, column) -> PushInteger(column, place.getUserRatingsTotal()));
+    writers.put(Place.Field.PRICE_LEVEL, (place, column) -> PushInteger(column, place.getPriceLevel()));
+    writers.put(Place.Field.UTC_OFFSET, (place, column) -> PushInteger(column, place.getUtcOffsetMinutes()));
+
+    writers.put(Place.Field.RATING, (place, column) -> {
+      if (place.getRating() != null) {
+        column.pushDouble(place.getRating());
+      } else column.pushNull();
+    });
+
+    writers.put(Place.Field.OPENING_HOURS, (place, column) -> PushString(column,
+      place.getOpeningHours() != null ? place.getOpeningHours().getWeekdayText() : null));
+
+    // Two entries per place, latitude then longitude
+    writers.put(Place.Field.LAT_LNG, (place, column) -> {
+      if (place.getLatLng() != null) {
+        column.pushDouble(place.getLatLng().latitude);
+        column.pushDouble(place.getLatLng().longitude);
+      } else {
+        column.pushNull();
+        column.pushNull();
+      }
+    });
+
+    // Nested values are rare in lists and keep their regular shape
+    writers.put(Place.Field.PHOTO_METADATAS, (place, column) -> {
+      if (place.getPhotoMetadatas() != null) {
+        column.pushArray(GooglePlacesSdkUtils.ParsePhotos(place.getPhotoMetadatas()));
+      } else column.pushNull();
+    });
+
+    writers.put(Place.Field.ADDRESS_COMPONENTS, (place, column) -> {
+      if (place.getAddressComponents() != null) {
+        column.pushArray(GooglePlacesSdkUtils.ParseAddressComponents(place.getAddressComponents()));
+      } else column.pushNull();
+    });
+
+    writers.put(Place.Field.PLUS_CODE, (place, column) -> {
+      if (place.getPlusCode() != null) {
+        column.pushMap(GooglePlacesSdkUtils.ParsePlusCode(place.getPlusCode()));
+      } else column.pushNull();
+    });
+
+    writers.put(Place.Field.VIEWPORT, (place, column) -> {
+      LatLngBounds viewport = place.getViewport();
+      if (viewport != null) {
+        WritableMap viewportMap = Arguments.createMap();
+        viewportMap.putMap("northEast", GooglePlacesSdkUtils.ParseLatLng(viewport.northeast));
+        viewportMap.putMap("southWest", GooglePlacesSdkUtils.ParseLatLng(viewport.southwest));
+        column.pushMap(viewportMap);
+      } else column.pushNull();
+    });
+
+    return Collections.unmodifiableMap(writers);
+  }
+}
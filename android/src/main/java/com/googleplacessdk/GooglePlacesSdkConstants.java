@@ -1,13 +1,72 @@
 package com.googleplacessdk;
 
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.libraries.places.api.model.Place;
 
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
 class GooglePlacesSdkConstants {
+  static final String SUPERSEDED = "SUPERSEDED";
+  static final String INVALID_FIELDS = "INVALID_FIELDS";
+  static final String NOT_INITIALIZED = "NOT_INITIALIZED";
+  static final String TIMEOUT = "TIMEOUT";
+  static final String NETWORK = "NETWORK";
+  static final String CANCELLED = "CANCELLED";
+  static final String INTERNAL = "INTERNAL";
+  static final String API_ERROR_PREFIX = "API_";
+  static final String PLACE_PARTIAL_EVENT = "GooglePlacesSdkPlacePartial";
+
+  static final int DEFAULT_PLACE_CACHE_MAX_ENTRIES = 100;
+  static final long DEFAULT_PLACE_CACHE_TTL_MS = 5 * 60 * 1000;
+  static final long DEFAULT_PLACE_CACHE_MAX_BYTES = 2 * 1024 * 1024;
+  static final int DEFAULT_PREDICTION_CACHE_MAX_ENTRIES = 50;
+  static final long DEFAULT_PREDICTION_CACHE_TTL_MS = 60 * 1000;
+  static final long DEFAULT_PREDICTION_CACHE_MAX_BYTES = 1024 * 1024;
+  static final long DEFAULT_DISK_CACHE_MAX_BYTES = 5 * 1024 * 1024;
+  static final long DEFAULT_DISK_CACHE_TTL_MS = 24 * 60 * 60 * 1000;
+  static final long DEFAULT_PHOTO_CACHE_MAX_BYTES = 16 * 1024 * 1024;
+  static final long DEFAULT_PHOTO_DISK_CACHE_MAX_BYTES = 20 * 1024 * 1024;
+  static final int DEFAULT_BATCH_CONCURRENCY = 4;
+  static final int DEFAULT_PARSE_THREADS = 2;
+  static final int DEFAULT_METRICS_WINDOW_SIZE = 256;
+  static final long DEFAULT_SESSION_IDLE_TIMEOUT_MS = 3 * 60 * 1000;
+  static final int DEFAULT_LOCAL_INDEX_MAX_ENTRIES = 500;
+  static final int DEFAULT_LOCAL_INDEX_MAX_RESULTS = 3;
+  static final long DEFAULT_LOCAL_INDEX_BUDGET_MS = 300;
+  static final double DEFAULT_PREDICTIONS_BURST = 10;
+  static final double DEFAULT_PREDICTIONS_PER_SECOND = 5;
+  static final double DEFAULT_DETAILS_BURST = 10;
+  static final double DEFAULT_DETAILS_PER_SECOND = 5;
+  static final double DEFAULT_PHOTOS_BURST = 10;
+  static final double DEFAULT_PHOTOS_PER_SECOND = 5;
+  static final int DEFAULT_RATE_LIMIT_MAX_QUEUE = 20;
+  static final int DEFAULT_RATE_LIMIT_MAX_RETRIES = 2;
+  static final long DEFAULT_RATE_LIMIT_BASE_BACKOFF_MS = 250;
+  static final long DEFAULT_RATE_LIMIT_MAX_BACKOFF_MS = 4000;
+  static final long DEFAULT_REQUEST_TIMEOUT_MS = 30 * 1000;
+  static final int DEFAULT_PREFETCH_COUNT = 2;
+  static final long DEFAULT_PREFETCH_DELAY_MS = 300;
+  static final long DEFAULT_PREFETCH_TTL_MS = 60 * 1000;
+  static final int DEFAULT_PREFETCH_MAX_ENTRIES = 20;
+  static final long DEFAULT_PREFETCH_MAX_BYTES = 256 * 1024;
+  static final double DEFAULT_REPLAY_PREDICTIONS_MEDIAN_MS = 150;
+  static final double DEFAULT_REPLAY_PREDICTIONS_P99_MS = 600;
+  static final double DEFAULT_REPLAY_DETAILS_MEDIAN_MS = 200;
+  static final double DEFAULT_REPLAY_DETAILS_P99_MS = 800;
+  static final double DEFAULT_REPLAY_PHOTOS_MEDIAN_MS = 400;
+  static final double DEFAULT_REPLAY_PHOTOS_P99_MS = 1500;
+
   static final Map<String, Place.Field> PLACE_FIELD_MAP = createPlaceFieldMap();
+  static final Map<Place.Field, PlaceFieldWriter> PLACE_FIELD_WRITERS = createPlaceFieldWriters();
+
+  interface PlaceFieldWriter {
+    void write(Place place, WritableMap placeInfo);
+  }
 
   private static Map<String, Place.Field> createPlaceFieldMap() {
     Map<String, Place.Field> fieldMap = new HashMap<>();
@@ -36,4 +95,103 @@ class GooglePlacesSdkConstants {
     
     return Collections.unmodifiableMap(fieldMap);
   }
+
+  private static Map<Place.Field, PlaceFieldWriter> createPlaceFieldWriters() {
+    Map<Place.Field, PlaceFieldWriter> writers = new EnumMap<>(Place.Field.class);
+    writers.put(Place.Field.NAME, (place, map) -> map.putString("name", place.getName()));
+    writers.put(Place.Field.ID, (place, map) -> map.putString("placeID", place.getId()));
+    writers.put(Place.Field.PHONE_NUMBER, (place, map) -> map.putString("phoneNumber", place.getPhoneNumber()));
+    writers.put(Place.Field.ADDRESS, (place, map) -> map.putString("formattedAddress", place.getAddress()));
+    writers.put(Place.Field.ICON_URL, (place, map) -> map.putString("iconImageURL", place.getIconUrl()));
+    writers.put(Place.Field.BUSINESS_STATUS, (place, map) -> map.putString(
+      "businessStatus",
+      place.getBusinessStatus() != null ? place.getBusinessStatus().toString() : "UNKNOWN"
+    ));
+    writers.put(Place.Field.TAKEOUT, (place, map) -> map.putString(
+      "takeout", place.getTakeout() != null ? place.getTakeout().toString() : "UNKNOWN"));
+    writers.put(Place.Field.DELIVERY, (place, map) -> map.putString(
+      "delivery", place.getDelivery() != null ? place.getDelivery().toString() : "UNKNOWN"));
+    writers.put(Place.Field.DINE_IN, (place, map) -> map.putString(
+      "dineIn", place.getDineIn() != null ? place.getDineIn().toString() : "UNKNOWN"));
+    writers.put(Place.Field.CURBSIDE_PICKUP, (place, map) -> map.putString(
+      "curbsidePickup", place.getCurbsidePickup() != null ? place.getCurbsidePickup().toString() : "UNKNOWN"));
+
+    writers.put(Place.Field.PHOTO_METADATAS, (place, map) -> {
+      if (place.getPhotoMetadatas() != null) {
+        map.putArray("photos", GooglePlacesSdkUtils.ParsePhotos(place.getPhotoMetadatas()));
+      } else map.putNull("photos");
+    });
+
+    writers.put(Place.Field.PLUS_CODE, (place, map) -> {
+      if (place.getPlusCode() != null) {
+        map.putMap("plusCode", GooglePlacesSdkUtils.ParsePlusCode(place.getPlusCode()));
+      } else map.putNull("plusCode");
+    });
+
+    writers.put(Place.Field.WEBSITE_URI, (place, map) -> {
+      if (place.getWebsiteUri() != null) {
+        map.putString("website", place.getWebsiteUri().toString());
+      } else map.putNull("website");
+    });
+
+    writers.put(Place.Field.RATING, (place, map) -> {
+      if (place.getRating() != null) {
+        map.putDouble("rating", place.getRating());
+      } else map.putNull("rating");
+    });
+
+    writers.put(Place.Field.USER_RATINGS_TOTAL, (place, map) -> {
+      if (place.getUserRatingsTotal() != null) {
+        map.putInt("userRatingsTotal", place.getUserRatingsTotal());
+      } else map.putNull("userRatingsTotal");
+    });
+
+    writers.put(Place.Field.PRICE_LEVEL, (place, map) -> {
+      if (place.getPriceLevel() != null) {
+        map.putInt("priceLevel", place.getPriceLevel());
+      } else map.putNull("priceLevel");
+    });
+
+    writers.put(Place.Field.UTC_OFFSET, (place, map) -> {
+      if (place.getUtcOffsetMinutes() != null) {
+        map.putInt("utcOffsetMinutes", place.getUtcOffsetMinutes());
+      } else map.putNull("utcOffsetMinutes");
+    });
+
+    writers.put(Place.Field.OPENING_HOURS, (place, map) -> {
+      if (place.getOpeningHours() != null) {
+        map.putString("openingHours", place.getOpeningHours().getWeekdayText().toString());
+      } else map.putNull("openingHours");
+    });
+
+    writers.put(Place.Field.TYPES, (place, map) -> {
+      if (place.getTypes() != null) {
+        map.putArray("types", GooglePlacesSdkUtils.ParsePlaceTypes(place.getTypes()));
+      } else map.putNull("types");
+    });
+
+    writers.put(Place.Field.ADDRESS_COMPONENTS, (place, map) -> {
+      if (place.getAddressComponents() != null) {
+        map.putArray("addressComponents", GooglePlacesSdkUtils.ParseAddressComponents(place.getAddressComponents()));
+      } else map.putNull("addressComponents");
+    });
+
+    writers.put(Place.Field.LAT_LNG, (place, map) -> {
+      if (place.getLatLng() != null) {
+        map.putMap("coordinate", GooglePlacesSdkUtils.ParseLatLng(place.getLatLng()));
+      } else map.putNull("coordinate");
+    });
+
+    writers.put(Place.Field.VIEWPORT, (place, map) -> {
+      LatLngBounds viewport = place.getViewport();
+      if (viewport != null) {
+        WritableMap viewportMap = Arguments.createMap();
+        viewportMap.putMap("northEast", GooglePlacesSdkUtils.ParseLatLng(viewport.northeast));
+        viewportMap.putMap("southWest", GooglePlacesSdkUtils.ParseLatLng(viewport.southwest));
+        map.putMap("viewport", viewportMap);
+      } else map.putNull("viewport");
+    });
+
+    return Collections.unmodifiableMap(writers);
+  }
 }
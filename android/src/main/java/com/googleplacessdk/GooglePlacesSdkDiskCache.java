@@ -0,0 +1,240 @@
+package com.googleplacessdk;
+
+import android.util.Log;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.libraries.places.api.model.Place;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Place details cache in the app's cache directory, one file per place ID. Each file holds a
+ * version tag and its expiry, followed by the fetched fields of the {@link Place} as encoded by
+ * {@link GooglePlacesSdkPlaceCodec}, so files stay readable across Places SDK and Android upgrades.
+ * Files with another version tag, past their TTL, that no longer decode or decode into another
+ * place are deleted on read. Apart from {@link #isEnabled()}, callers must use this class from a
+ * single background thread.
+ */
+class GooglePlacesSdkDiskCache {
+  private static final String LOG_TAG = "GooglePlacesSdkDisk";
+  // Bump when the file layout or the place encoding changes.
+  private static final int VERSION = 3;
+  static final String TEMP_SUFFIX = ".tmp";
+  // Temp files this old were left behind by a write that never finished
+  private static final long STALE_TEMP_FILE_MS = 60 * 1000;
+
+  private final File directory;
+  private volatile boolean enabled;
+  private long maxBytes;
+  private long ttlMs;
+  // Bytes of the files on disk, counted from the directory on the first write
+  private long bytes = -1;
+  private long hits;
+  private long misses;
+  private long writes;
+  private long evictions;
+
+  GooglePlacesSdkDiskCache(File directory) {
+    this.directory = directory;
+  }
+
+  void configure(boolean enabled, long maxBytes, long ttlMs) {
+    this.enabled = enabled;
+    this.maxBytes = maxBytes;
+    this.ttlMs = ttlMs;
+    if (enabled) trimToSize(null);
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  GooglePlacesSdkPlaceCache.CachedPlace get(String placeID, Collection<Place.Field> fields) {
+    File file = fileFor(placeID);
+    if (!file.exists()) {
+      misses++;
+      return null;
+    }
+
+    GooglePlacesSdkPlaceCache.CachedPlace cachedPlace = read(file, placeID);
+    if (cachedPlace == null) {
+      delete(file);
+      misses++;
+      return null;
+    }
+
+    if (!cachedPlace.fields.containsAll(fields)) {
+      misses++;
+      return null;
+    }
+
+    file.setLastModified(System.currentTimeMillis()); // size trimming evicts least recently used
+    hits++;
+    return cachedPlace;
+  }
+
+  void put(String placeID, Collection<Place.Field> fields, Place place) {
+    File file = fileFor(placeID);
+    File tempFile = null;
+    try {
+      if (!directory.exists()) directory.mkdirs();
+      if (bytes < 0) bytes = totalBytes(directory.listFiles());
+      long replacedBytes = file.length();
+
+      tempFile = File.createTempFile(file.getName(), TEMP_SUFFIX, directory);
+      DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+      try {
+        output.writeInt(VERSION);
+        output.writeLong(System.currentTimeMillis() + ttlMs);
+        GooglePlacesSdkPlaceCodec.WritePlace(output, place, fields);
+      } finally {
+        output.close();
+      }
+
+      if (!tempFile.renameTo(file)) throw new IOException("Failed to rename " + tempFile.getName());
+      writes++;
+
+      // The directory is only listed when this write takes it over its budget
+      bytes += file.length() - replacedBytes;
+      if (bytes > maxBytes) trimToSize(file);
+    } catch (IOException | RuntimeException e) {
+      if (tempFile != null) tempFile.delete();
+      Log.w(LOG_TAG, "Failed to write place " + placeID, e);
+    }
+  }
+
+  void clear() {
+    bytes = -1;
+    File[] files = directory.listFiles();
+    if (files == null) return;
+
+    for (File file : files) {
+      file.delete();
+    }
+  }
+
+  WritableMap getStats() {
+    WritableMap stats = Arguments.createMap();
+    stats.putBoolean("enabled", enabled);
+    stats.putDouble("bytes", totalBytes(directory.listFiles()));
+    stats.putDouble("maxBytes", maxBytes);
+    stats.putDouble("ttlMs", ttlMs);
+    stats.putDouble("hits", hits);
+    stats.putDouble("misses", misses);
+    stats.putDouble("writes", writes);
+    stats.putDouble("evictions", evictions);
+
+    return stats;
+  }
+
+  private GooglePlacesSdkPlaceCache.CachedPlace read(File file, String placeID) {
+    try {
+      DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+      try {
+        if (input.readInt() != VERSION) return null;
+        if (input.readLong() < System.currentTimeMillis()) return null;
+
+        GooglePlacesSdkPlaceCache.CachedPlace cachedPlace = GooglePlacesSdkPlaceCodec.ReadPlace(input);
+        // Trailing bytes mean the file was not written by this encoding
+        if (input.read() != -1) return null;
+        Place place = cachedPlace.place;
+        if (place.getId() != null ? !placeID.equals(place.getId()) : cachedPlace.fields.contains(Place.Field.ID)) {
+          return null;
+        }
+
+        return cachedPlace;
+      } finally {
+        input.close();
+      }
+    } catch (IOException | RuntimeException e) {
+      // Unknown field or enum names and truncated files end up here.
+      Log.w(LOG_TAG, "Discarding unreadable cache file " + file.getName(), e);
+      return null;
+    }
+  }
+
+  private void trimToSize(File kept) {
+    evictions += trimDirectory(directory, maxBytes, kept);
+    bytes = totalBytes(directory.listFiles());
+  }
+
+  private void delete(File file) {
+    long length = file.length();
+    if (file.delete() && bytes >= 0) bytes -= length;
+  }
+
+  // Deletes the least recently modified files until the directory fits in maxBytes. Files still
+  // being written by another thread and the file just written, kept, are never deleted.
+  static int trimDirectory(File directory, long maxBytes, File kept) {
+    File[] files = directory.listFiles();
+    if (files == null) return 0;
+
+    long bytes = totalBytes(files);
+    if (bytes <= maxBytes) return 0;
+
+    int deleted = 0;
+    long staleBefore = System.currentTimeMillis() - STALE_TEMP_FILE_MS;
+    Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+    for (File file : files) {
+      if (bytes <= maxBytes) break;
+      if (IsTempFile(file)) {
+        if (file.lastModified() < staleBefore) file.delete();
+        continue;
+      }
+      if (file.equals(kept)) continue;
+
+      long length = file.length();
+      if (file.delete()) {
+        bytes -= length;
+        deleted++;
+      }
+    }
+    return deleted;
+  }
+
+  static long totalBytes(File[] files) {
+    long bytes = 0;
+    if (files == null) return bytes;
+
+    for (File file : files) {
+      if (!IsTempFile(file)) bytes += file.length();
+    }
+    return bytes;
+  }
+
+  static boolean IsTempFile(File file) {
+    return file.getName().endsWith(TEMP_SUFFIX);
+  }
+
+  private File fileFor(String placeID) {
+    return new File(directory, toFileName(placeID));
+  }
+
+  // Photo references are several hundred characters long, hashing keeps file names short.
+  static String toFileName(String key) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+      StringBuilder name = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        name.append(String.format("%02x", b));
+      }
+
+      return name.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e); // SHA-1 is always available on Android
+    }
+  }
+}
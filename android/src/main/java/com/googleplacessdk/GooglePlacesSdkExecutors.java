@@ -0,0 +1,54 @@
+package com.googleplacessdk;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class GooglePlacesSdkExecutors {
+  private static final long KEEP_ALIVE_SECONDS = 30;
+
+  static ThreadFactory newThreadFactory(final String name) {
+    final AtomicInteger threadCount = new AtomicInteger(0);
+    return (runnable) -> {
+      Thread thread = new Thread(runnable, "GooglePlacesSdk-" + name + "-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  // Idle threads time out, so an unused pool costs nothing after the first burst of requests. Like
+  // every executor made here, work handed to it after shutdown is dropped: an SDK callback arriving
+  // after a bridge reload is discarded instead of throwing RejectedExecutionException on the SDK's
+  // thread.
+  static ThreadPoolExecutor newFixedPool(String name, int size) {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+      size, size, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+      new LinkedBlockingQueue<Runnable>(), newThreadFactory(name), new ThreadPoolExecutor.DiscardPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  static ThreadPoolExecutor newSingleThread(String name) {
+    return new ThreadPoolExecutor(
+      1, 1, 0, TimeUnit.MILLISECONDS,
+      new LinkedBlockingQueue<Runnable>(), newThreadFactory(name), new ThreadPoolExecutor.DiscardPolicy());
+  }
+
+  static ScheduledThreadPoolExecutor newScheduler(String name) {
+    return new ScheduledThreadPoolExecutor(1, newThreadFactory(name), new ThreadPoolExecutor.DiscardPolicy());
+  }
+
+  static void resize(ThreadPoolExecutor executor, int size) {
+    size = Math.max(size, 1);
+    if (size > executor.getMaximumPoolSize()) {
+      executor.setMaximumPoolSize(size);
+      executor.setCorePoolSize(size);
+    } else {
+      executor.setCorePoolSize(size);
+      executor.setMaximumPoolSize(size);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.googleplacessdk;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.ReadableType;
+import com.google.android.libraries.places.api.model.Place;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Named place field sets. Requests that pass no fields use the default profile instead of every
+ * field, so the common "just the address" lookup does not pay for photos, hours and ratings.
+ */
+class GooglePlacesSdkFieldProfiles {
+  static final String BASIC = "basic";
+  static final String CONTACT = "contact";
+  static final String ATMOSPHERE = "atmosphere";
+  static final String ALL = "all";
+
+  private static final List<String> BASIC_FIELDS = Arrays.asList(
+    "placeID", "name", "formattedAddress", "addressComponents", "coordinate", "viewport", "types", "plusCode");
+
+  // Fields a details screen renders first, fetched ahead of the rest in progressive requests
+  static final List<Place.Field> HEAD_FIELDS = toPlaceFields(Arrays.asList(
+    "placeID", "name", "formattedAddress", "coordinate", "types"));
+
+  private volatile Map<String, List<Place.Field>> profiles = createBuiltInProfiles();
+  // Why each invalid custom profile was rejected, by profile name
+  private volatile Map<String, String> invalidProfiles = Collections.emptyMap();
+  private volatile String defaultProfile = BASIC;
+
+  /**
+   * Registers the custom profiles from the initialize options and sets the default profile. A
+   * profile that is not an array or names unknown fields is not registered, requests that use it
+   * are rejected with the reason, which is also returned here.
+   */
+  List<String> configure(ReadableMap options) {
+    Map<String, List<Place.Field>> newProfiles = createBuiltInProfiles();
+    Map<String, String> newInvalidProfiles = new HashMap<>();
+    ReadableMap customProfiles = GooglePlacesSdkUtils.GetMapOption(options, "fieldProfiles");
+    if (customProfiles != null) {
+      ReadableMapKeySetIterator iterator = customProfiles.keySetIterator();
+      while (iterator.hasNextKey()) {
+        String name = iterator.nextKey();
+        if (customProfiles.getType(name) != ReadableType.Array) {
+          newInvalidProfiles.put(name, "Field profile " + name + " is not an array of place fields");
+          continue;
+        }
+
+        List<String> unknownFields = new ArrayList<>();
+        List<Place.Field> fields = GooglePlacesSdkUtils.ParsePlaceFields(
+          customProfiles.getArray(name), unknownFields);
+        if (!unknownFields.isEmpty()) {
+          newInvalidProfiles.put(name, "Unknown place fields in field profile " + name + ": " + unknownFields);
+          continue;
+        }
+
+        newProfiles.put(name, Collections.unmodifiableList(fields));
+      }
+    }
+
+    String profile = GooglePlacesSdkUtils.GetStringOption(options, "defaultFieldProfile", BASIC);
+    profiles = newProfiles;
+    invalidProfiles = newInvalidProfiles;
+    // An invalid default is kept so that requests relying on it are rejected rather than widened
+    defaultProfile = newProfiles.containsKey(profile) || newInvalidProfiles.containsKey(profile) ? profile : BASIC;
+
+    return new ArrayList<>(newInvalidProfiles.values());
+  }
+
+  // Returns null for an unknown or invalid profile name, see getError.
+  List<Place.Field> get(String name) {
+    return profiles.get(name != null ? name : defaultProfile);
+  }
+
+  // Why get returned null for the profile name.
+  String getError(String name) {
+    String profile = name != null ? name : defaultProfile;
+    String error = invalidProfiles.get(profile);
+
+    return error != null ? error : "Unknown field profile: " + profile;
+  }
+
+  private static Map<String, List<Place.Field>> createBuiltInProfiles() {
+    Map<String, List<Place.Field>> profiles = new HashMap<>();
+    List<String> contactFields = new ArrayList<>(BASIC_FIELDS);
+    contactFields.addAll(Arrays.asList("phoneNumber", "website", "openingHours", "utcOffsetMinutes"));
+
+    List<String> atmosphereFields = new ArrayList<>(BASIC_FIELDS);
+    atmosphereFields.addAll(Arrays.asList(
+      "rating", "userRatingsTotal", "priceLevel", "takeout", "delivery", "dineIn", "curbsidePickup"));
+
+    profiles.put(BASIC, toPlaceFields(BASIC_FIELDS));
+    profiles.put(CONTACT, toPlaceFields(contactFields));
+    profiles.put(ATMOSPHERE, toPlaceFields(atmosphereFields));
+    profiles.put(ALL, Collections.unmodifiableList(
+      new ArrayList<>(GooglePlacesSdkConstants.PLACE_FIELD_MAP.values())));
+
+    return profiles;
+  }
+
+  private static List<Place.Field> toPlaceFields(List<String> names) {
+    List<Place.Field> fields = new ArrayList<>(names.size());
+    for (String name : names) {
+      fields.add(GooglePlacesSdkConstants.PLACE_FIELD_MAP.get(name));
+    }
+
+    return Collections.unmodifiableList(fields);
+  }
+}
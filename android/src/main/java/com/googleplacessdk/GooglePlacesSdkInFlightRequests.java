@@ -0,0 +1,87 @@
+package com.googleplacessdk;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.gms.tasks.CancellationTokenSource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Requests that have not settled yet, with the optional tag JS gave them. Cancelling a request
+ * cancels its SDK tasks, so their results are neither parsed nor sent to JS, and rejects its
+ * promise with {@code CANCELLED}. A request leaves the set once its promise settles.
+ */
+class GooglePlacesSdkInFlightRequests {
+  private static class Request {
+    final String tag;
+    final GooglePlacesSdkPromise promise;
+    final CancellationTokenSource cancellationTokenSource;
+    final GooglePlacesSdkTrace trace;
+
+    Request(String tag, GooglePlacesSdkPromise promise, CancellationTokenSource cancellationTokenSource,
+            GooglePlacesSdkTrace trace) {
+      this.tag = tag;
+      this.promise = promise;
+      this.cancellationTokenSource = cancellationTokenSource;
+      this.trace = trace;
+    }
+  }
+
+  private final Set<Request> requests = new HashSet<>();
+  private long cancelled;
+
+  void track(String tag, GooglePlacesSdkPromise promise, CancellationTokenSource cancellationTokenSource,
+             GooglePlacesSdkTrace trace) {
+    final Request request = new Request(tag, promise, cancellationTokenSource, trace);
+    synchronized (this) {
+      requests.add(request);
+    }
+    promise.addOnSettledListener(() -> remove(request));
+  }
+
+  // Cancels the requests with the tag, or every request for a null tag, and returns how many were
+  // still pending. Their promises are dropped instead of rejected when reject is false, for a torn
+  // down bridge.
+  int cancelAll(String tag, boolean reject) {
+    List<Request> matching = new ArrayList<>();
+    synchronized (this) {
+      for (Request request : requests) {
+        if (tag == null || tag.equals(request.tag)) matching.add(request);
+      }
+      if (!reject) requests.removeAll(matching);
+    }
+
+    int count = 0;
+    for (Request request : matching) {
+      request.cancellationTokenSource.cancel();
+      // Cancelled SDK tasks do not call failure listeners, the promise is rejected here instead
+      boolean settled = reject
+        ? request.promise.reject(GooglePlacesSdkConstants.CANCELLED, "Request cancelled")
+        : request.promise.drop();
+      if (!settled) continue;
+
+      request.trace.failed(GooglePlacesSdkConstants.CANCELLED);
+      count++;
+    }
+    synchronized (this) {
+      cancelled += count;
+    }
+
+    return count;
+  }
+
+  synchronized WritableMap getStats() {
+    WritableMap stats = Arguments.createMap();
+    stats.putInt("inFlight", requests.size());
+    stats.putDouble("cancelled", cancelled);
+
+    return stats;
+  }
+
+  private synchronized void remove(Request request) {
+    requests.remove(request);
+  }
+}
@@ -0,0 +1,382 @@
+package com.googleplacessdk;
+
+import android.util.Log;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.libraries.places.api.model.AutocompletePrediction;
+import com.google.android.libraries.places.api.model.Place;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * On-device index of places the user has fetched, used to answer autocomplete queries without the
+ * network. Words of each place's name and address are kept in a prefix trie, so a query costs one
+ * walk per query word plus a check of the candidates, well under a millisecond for the bounded
+ * number of places kept. The least recently fetched places are evicted first, and the index is
+ * written to app storage in the background shortly after it changes.
+ */
+class GooglePlacesSdkLocalIndex {
+  static final String SOURCE_LOCAL = "local";
+  static final String SOURCE_NETWORK = "network";
+  static final String MODE_MERGE = "merge";
+  static final String MODE_FALLBACK = "fallback";
+
+  private static final String LOG_TAG = "GooglePlacesSdkIndex";
+  // Bump when the file layout changes.
+  private static final int VERSION = 1;
+  private static final long SAVE_DELAY_MS = 2000;
+  // Deeper prefixes are rarely typed, longer query words are checked against the place instead.
+  private static final int MAX_PREFIX_LENGTH = 16;
+
+  static class LocalPlace {
+    final String placeID;
+    final String name;
+    final String address;
+    final List<String> types;
+    final String[] words;
+    long sequence;
+
+    LocalPlace(String placeID, String name, String address, List<String> types) {
+      this.placeID = placeID;
+      this.name = name;
+      this.address = address;
+      this.types = types;
+      this.words = Tokenize(name + " " + (address != null ? address : ""));
+    }
+
+    boolean matches(String[] queryWords) {
+      for (String queryWord : queryWords) {
+        boolean matched = false;
+        for (String word : words) {
+          if (word.startsWith(queryWord)) {
+            matched = true;
+            break;
+          }
+        }
+        if (!matched) return false;
+      }
+
+      return true;
+    }
+  }
+
+  private static class Node {
+    final Map<Character, Node> children = new HashMap<>();
+    final Set<String> placeIDs = new HashSet<>();
+  }
+
+  private final File file;
+  private final ScheduledExecutorService scheduler;
+  private final Executor diskExecutor;
+  // In insertion order, a refreshed place is moved to the end so the first one is the eviction candidate
+  private final LinkedHashMap<String, LocalPlace> places = new LinkedHashMap<>();
+  private final Node root = new Node();
+  private volatile boolean enabled;
+  private volatile String mode = MODE_MERGE;
+  private volatile int maxResults;
+  private int maxEntries;
+  private long nextSequence;
+  private boolean saveScheduled;
+  private long queries;
+  private long hits;
+
+  GooglePlacesSdkLocalIndex(File file, ScheduledExecutorService scheduler, Executor diskExecutor) {
+    this.file = file;
+    this.scheduler = scheduler;
+    this.diskExecutor = diskExecutor;
+  }
+
+  // Loads the persisted index the first time it is enabled. Must run on the disk executor.
+  void configure(boolean enabled, String mode, int maxEntries, int maxResults) {
+    boolean load = enabled && !this.enabled;
+    synchronized (this) {
+      this.mode = MODE_FALLBACK.equals(mode) ? MODE_FALLBACK : MODE_MERGE;
+      this.maxEntries = maxEntries;
+      this.maxResults = maxResults;
+      trimToSize();
+    }
+    if (load) load();
+    this.enabled = enabled;
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  boolean isMergeMode() {
+    return MODE_MERGE.equals(mode);
+  }
+
+  // Returns the most recently fetched places matching every word of the query, newest first.
+  List<LocalPlace> query(String query) {
+    if (!enabled) return Collections.emptyList();
+
+    String[] queryWords = Tokenize(query);
+    if (queryWords.length == 0) return Collections.emptyList();
+
+    List<LocalPlace> results = new ArrayList<>();
+    synchronized (this) {
+      queries++;
+      Set<String> candidates = candidatesFor(queryWords);
+      for (String placeID : candidates) {
+        LocalPlace place = places.get(placeID);
+        if (place != null && place.matches(queryWords)) results.add(place);
+      }
+      if (!results.isEmpty()) hits++;
+    }
+
+    Collections.sort(results, (a, b) -> Long.compare(b.sequence, a.sequence));
+
+    return results.size() > maxResults ? results.subList(0, maxResults) : results;
+  }
+
+  // Adds or refreshes a fetched place. Fields that were not fetched this time keep their old value.
+  void add(Place place) {
+    if (!enabled || place.getId() == null || place.getName() == null) return;
+
+    synchronized (this) {
+      LocalPlace previous = places.get(place.getId());
+      String address = place.getAddress() != null ? place.getAddress()
+        : previous != null ? previous.address : null;
+      List<String> types = place.getTypes() != null ? ParseTypes(place.getTypes())
+        : previous != null ? previous.types : Collections.<String>emptyList();
+
+      LocalPlace localPlace = new LocalPlace(place.getId(), place.getName(), address, types);
+      if (previous != null) {
+        places.remove(previous.placeID);
+        removeFromTrie(previous);
+      }
+      put(localPlace);
+      trimToSize();
+      scheduleSave();
+    }
+  }
+
+  synchronized void clear() {
+    places.clear();
+    root.children.clear();
+    root.placeIDs.clear();
+    scheduleSave();
+  }
+
+  synchronized WritableMap getStats() {
+    WritableMap stats = Arguments.createMap();
+    stats.putBoolean("enabled", enabled);
+    stats.putString("mode", mode);
+    stats.putInt("size", places.size());
+    stats.putInt("maxEntries", maxEntries);
+    stats.putDouble("queries", queries);
+    stats.putDouble("hits", hits);
+
+    return stats;
+  }
+
+  static WritableMap ParseLocalPlace(LocalPlace place) {
+    WritableMap map = Arguments.createMap();
+    map.putString("placeID", place.placeID);
+    map.putString("description", place.address != null ? place.name + ", " + place.address : place.name);
+    map.putString("primaryText", place.name);
+    map.putArray("types", Arguments.fromList(place.types));
+    map.putNull("distanceMeters");
+    if (place.address != null) {
+      map.putString("secondaryText", place.address);
+    } else map.putNull("secondaryText");
+    map.putString("source", SOURCE_LOCAL);
+
+    return map;
+  }
+
+  // Local places first, followed by the network predictions that are not already listed. Only
+  // merged lists tag each prediction with its source.
+  static WritableArray MergePredictions(List<LocalPlace> localPlaces, List<AutocompletePrediction> predictions) {
+    WritableArray merged = Arguments.createArray();
+    Set<String> placeIDs = new HashSet<>();
+    for (LocalPlace place : localPlaces) {
+      merged.pushMap(ParseLocalPlace(place));
+      placeIDs.add(place.placeID);
+    }
+    for (AutocompletePrediction prediction : predictions) {
+      if (placeIDs.contains(prediction.getPlaceId())) continue;
+      WritableMap parsedPrediction = GooglePlacesSdkUtils.ParseAutocompletePrediction(prediction);
+      parsedPrediction.putString("source", SOURCE_NETWORK);
+      merged.pushMap(parsedPrediction);
+    }
+
+    return merged;
+  }
+
+  static String[] Tokenize(String text) {
+    String normalized = text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+  }
+
+  private static List<String> ParseTypes(List<Place.Type> types) {
+    List<String> parsedTypes = new ArrayList<>(types.size());
+    for (Place.Type type : types) {
+      parsedTypes.add(type.toString().toLowerCase(Locale.ROOT));
+    }
+
+    return parsedTypes;
+  }
+
+  // Places with a word starting with the longest query word, the most selective single lookup.
+  private Set<String> candidatesFor(String[] queryWords) {
+    String longestWord = queryWords[0];
+    for (String queryWord : queryWords) {
+      if (queryWord.length() > longestWord.length()) longestWord = queryWord;
+    }
+
+    Node node = root;
+    int depth = Math.min(longestWord.length(), MAX_PREFIX_LENGTH);
+    for (int i = 0; i < depth && node != null; i++) {
+      node = node.children.get(longestWord.charAt(i));
+    }
+
+    return node != null ? node.placeIDs : Collections.<String>emptySet();
+  }
+
+  private void put(LocalPlace place) {
+    place.sequence = nextSequence++;
+    places.put(place.placeID, place);
+    for (String word : place.words) {
+      Node node = root;
+      int depth = Math.min(word.length(), MAX_PREFIX_LENGTH);
+      for (int i = 0; i < depth; i++) {
+        Node child = node.children.get(word.charAt(i));
+        if (child == null) {
+          child = new Node();
+          node.children.put(word.charAt(i), child);
+        }
+        child.placeIDs.add(place.placeID);
+        node = child;
+      }
+    }
+  }
+
+  private void removeFromTrie(LocalPlace place) {
+    for (String word : place.words) {
+      Node node = root;
+      int depth = Math.min(word.length(), MAX_PREFIX_LENGTH);
+      for (int i = 0; i < depth; i++) {
+        Node child = node.children.get(word.charAt(i));
+        if (child == null) break;
+
+        child.placeIDs.remove(place.placeID);
+        if (child.placeIDs.isEmpty()) {
+          node.children.remove(word.charAt(i)); // nothing below an empty node references the place
+          break;
+        }
+        node = child;
+      }
+    }
+  }
+
+  private void trimToSize() {
+    Iterator<LocalPlace> iterator = places.values().iterator();
+    while (places.size() > Math.max(maxEntries, 0) && iterator.hasNext()) {
+      LocalPlace place = iterator.next();
+      iterator.remove();
+      removeFromTrie(place);
+    }
+  }
+
+  // Changes are batched into one write shortly after the first one.
+  private void scheduleSave() {
+    if (saveScheduled) return;
+
+    saveScheduled = true;
+    scheduler.schedule(() -> diskExecutor.execute(this::save), SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+  }
+
+  private void save() {
+    List<LocalPlace> snapshot;
+    synchronized (this) {
+      saveScheduled = false;
+      snapshot = new ArrayList<>(places.values()); // least recently used first
+    }
+
+    File tempFile = new File(file.getPath() + ".tmp");
+    try {
+      file.getParentFile().mkdirs();
+      DataOutputStream output = new DataOutputStream(new FileOutputStream(tempFile));
+      try {
+        output.writeInt(VERSION);
+        output.writeInt(snapshot.size());
+        for (LocalPlace place : snapshot) {
+          output.writeUTF(place.placeID);
+          output.writeUTF(place.name);
+          output.writeBoolean(place.address != null);
+          if (place.address != null) output.writeUTF(place.address);
+          output.writeInt(place.types.size());
+          for (String type : place.types) {
+            output.writeUTF(type);
+          }
+        }
+      } finally {
+        output.close();
+      }
+
+      if (!tempFile.renameTo(file)) throw new IOException("Failed to rename " + tempFile.getName());
+    } catch (IOException e) {
+      tempFile.delete();
+      Log.w(LOG_TAG, "Failed to save local place index", e);
+    }
+  }
+
+  private void load() {
+    if (!file.exists()) return;
+
+    try {
+      DataInputStream input = new DataInputStream(new FileInputStream(file));
+      try {
+        if (input.readInt() != VERSION) return;
+
+        int count = input.readInt();
+        List<LocalPlace> loadedPlaces = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+          String placeID = input.readUTF();
+          String name = input.readUTF();
+          String address = input.readBoolean() ? input.readUTF() : null;
+          int typeCount = input.readInt();
+          List<String> types = new ArrayList<>(typeCount);
+          for (int j = 0; j < typeCount; j++) {
+            types.add(input.readUTF());
+          }
+          loadedPlaces.add(new LocalPlace(placeID, name, address, types));
+        }
+
+        synchronized (this) {
+          for (LocalPlace place : loadedPlaces) {
+            if (!places.containsKey(place.placeID)) put(place);
+          }
+          trimToSize();
+        }
+      } finally {
+        input.close();
+      }
+    } catch (IOException e) {
+      Log.w(LOG_TAG, "Discarding unreadable local place index", e);
+      file.delete();
+    }
+  }
+}
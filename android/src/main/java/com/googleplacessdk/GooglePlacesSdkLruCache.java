@@ -0,0 +1,184 @@
+package com.googleplacessdk;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, thread-safe LRU cache with a per-cache time to live. Every native cache in the module
+ * is built on top of this class so they share eviction semantics and the hit/miss counters
+ * reported to JS.
+ */
+class GooglePlacesSdkLruCache<K, V> implements GooglePlacesSdkMemoryGovernor.Trimmable {
+  interface Matcher<V> {
+    boolean matches(V value);
+  }
+
+  interface Weigher<V> {
+    long weigh(V value);
+  }
+
+  private static class Entry<V> {
+    final V value;
+    final long storedAt;
+    final long bytes;
+
+    Entry(V value, long storedAt, long bytes) {
+      this.value = value;
+      this.storedAt = storedAt;
+      this.bytes = bytes;
+    }
+  }
+
+  private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final Weigher<V> weigher;
+  private final GooglePlacesSdkClock clock;
+  private int maxEntries;
+  private long ttlMs;
+  private long maxBytes;
+  private long bytes;
+  private long hits;
+  private long misses;
+  private long evictions;
+  private long expirations;
+
+  GooglePlacesSdkLruCache(int maxEntries, long ttlMs) {
+    this(maxEntries, ttlMs, null, Long.MAX_VALUE);
+  }
+
+  GooglePlacesSdkLruCache(int maxEntries, long ttlMs, Weigher<V> weigher, long maxBytes) {
+    this(maxEntries, ttlMs, weigher, maxBytes, GooglePlacesSdkClock.SYSTEM);
+  }
+
+  GooglePlacesSdkLruCache(int maxEntries, long ttlMs, Weigher<V> weigher, long maxBytes,
+                          GooglePlacesSdkClock clock) {
+    this.maxEntries = maxEntries;
+    this.ttlMs = ttlMs;
+    this.weigher = weigher;
+    this.maxBytes = maxBytes;
+    this.clock = clock;
+  }
+
+  synchronized void setMaxBytes(long maxBytes) {
+    this.maxBytes = maxBytes;
+    trimToSize();
+  }
+
+  synchronized void configure(int maxEntries, long ttlMs) {
+    this.maxEntries = maxEntries;
+    this.ttlMs = ttlMs;
+    trimToSize();
+  }
+
+  synchronized V get(K key) {
+    return get(key, null);
+  }
+
+  // Returns the cached value only if it is still fresh and accepted by the matcher. A rejected
+  // entry counts as a miss but is left in place, a later put replaces it.
+  synchronized V get(K key, Matcher<V> matcher) {
+    Entry<V> entry = entries.get(key);
+    if (entry == null) {
+      misses++;
+      return null;
+    }
+
+    if (isExpired(entry)) {
+      removeEntry(key);
+      expirations++;
+      misses++;
+      return null;
+    }
+
+    if (matcher != null && !matcher.matches(entry.value)) {
+      misses++;
+      return null;
+    }
+
+    hits++;
+    return entry.value;
+  }
+
+  synchronized void put(K key, V value) {
+    if (maxEntries <= 0) return;
+
+    long entryBytes = weigher != null ? weigher.weigh(value) : 0;
+    Entry<V> previous = entries.put(key, new Entry<>(value, clock.elapsedRealtime(), entryBytes));
+    if (previous != null) bytes -= previous.bytes;
+    bytes += entryBytes;
+    trimToSize();
+  }
+
+  synchronized void remove(K key) {
+    removeEntry(key);
+  }
+
+  synchronized void clear() {
+    entries.clear();
+    bytes = 0;
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  @Override
+  public synchronized long getBytes() {
+    return bytes;
+  }
+
+  @Override
+  public synchronized long getMaxBytes() {
+    return maxBytes;
+  }
+
+  @Override
+  public synchronized void trim(double keepFraction) {
+    int keepEntries = (int) (entries.size() * keepFraction);
+    long keepBytes = (long) (bytes * keepFraction);
+    Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+    while ((entries.size() > keepEntries || bytes > keepBytes) && iterator.hasNext()) {
+      bytes -= iterator.next().getValue().bytes;
+      iterator.remove();
+      evictions++;
+    }
+  }
+
+  synchronized WritableMap getStats() {
+    WritableMap stats = Arguments.createMap();
+    stats.putInt("size", entries.size());
+    stats.putInt("maxEntries", maxEntries);
+    stats.putDouble("ttlMs", ttlMs);
+    if (weigher != null) {
+      stats.putDouble("bytes", bytes);
+      stats.putDouble("maxBytes", maxBytes);
+    }
+    stats.putDouble("hits", hits);
+    stats.putDouble("misses", misses);
+    stats.putDouble("evictions", evictions);
+    stats.putDouble("expirations", expirations);
+
+    return stats;
+  }
+
+  private boolean isExpired(Entry<V> entry) {
+    return ttlMs > 0 && clock.elapsedRealtime() - entry.storedAt > ttlMs;
+  }
+
+  private void removeEntry(K key) {
+    Entry<V> entry = entries.remove(key);
+    if (entry != null) bytes -= entry.bytes;
+  }
+
+  private void trimToSize() {
+    Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+    while ((entries.size() > Math.max(maxEntries, 0) || bytes > maxBytes) && iterator.hasNext()) {
+      bytes -= iterator.next().getValue().bytes;
+      iterator.remove();
+      evictions++;
+    }
+  }
+}
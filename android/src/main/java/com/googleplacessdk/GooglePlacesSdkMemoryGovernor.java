@@ -0,0 +1,166 @@
+package com.googleplacessdk;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.libraries.places.api.model.AddressComponent;
+import com.google.android.libraries.places.api.model.AutocompletePrediction;
+import com.google.android.libraries.places.api.model.PhotoMetadata;
+import com.google.android.libraries.places.api.model.Place;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shrinks the in-memory caches when the system runs low on memory. Caches are registered in the
+ * order they should give memory back, the cheapest to rebuild first. The higher the trim level,
+ * the more caches are purged, and the next one in line is halved. Sizes are estimates of the
+ * retained objects, good enough to budget by, each cache is bounded by its own {@code maxBytes}.
+ */
+class GooglePlacesSdkMemoryGovernor implements ComponentCallbacks2 {
+  interface Trimmable {
+    long getBytes();
+
+    long getMaxBytes();
+
+    // Evicts the least recently used entries until at most keepFraction of the current size is left.
+    void trim(double keepFraction);
+  }
+
+  // Rough retained sizes, Java strings take two bytes per char plus the object headers
+  private static final long OBJECT_BYTES = 16;
+  private static final long STRING_BYTES = 40;
+  private static final long PLACE_BYTES = 400;
+  private static final long PREDICTION_BYTES = 200;
+  private static final long PHOTO_METADATA_BYTES = 150;
+  private static final long OPENING_HOURS_BYTES = 600;
+
+  private final Map<String, Trimmable> caches = new LinkedHashMap<>();
+  private volatile boolean enabled = true;
+  private int lastTrimLevel = -1;
+  private long trims;
+
+  // Later registered caches are trimmed later.
+  synchronized void register(String name, Trimmable cache) {
+    caches.put(name, cache);
+  }
+
+  void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  @Override
+  public void onTrimMemory(int level) {
+    if (!enabled) return;
+
+    int purged;
+    if (level >= TRIM_MEMORY_COMPLETE) {
+      purged = Integer.MAX_VALUE;
+    } else if (level >= TRIM_MEMORY_MODERATE || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+      purged = 3;
+    } else if (level >= TRIM_MEMORY_BACKGROUND || level == TRIM_MEMORY_RUNNING_LOW) {
+      purged = 2;
+    } else {
+      purged = 1; // UI hidden or running moderate
+    }
+    trim(level, purged);
+  }
+
+  @Override
+  public void onLowMemory() {
+    if (enabled) trim(TRIM_MEMORY_COMPLETE, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public void onConfigurationChanged(Configuration newConfig) {}
+
+  synchronized WritableMap getStats() {
+    WritableMap stats = Arguments.createMap();
+    WritableMap cacheStats = Arguments.createMap();
+    long totalBytes = 0;
+    for (Map.Entry<String, Trimmable> entry : caches.entrySet()) {
+      long bytes = entry.getValue().getBytes();
+      WritableMap usage = Arguments.createMap();
+      usage.putDouble("bytes", bytes);
+      usage.putDouble("maxBytes", entry.getValue().getMaxBytes());
+      cacheStats.putMap(entry.getKey(), usage);
+      totalBytes += bytes;
+    }
+    stats.putBoolean("enabled", enabled);
+    stats.putDouble("totalBytes", totalBytes);
+    stats.putMap("caches", cacheStats);
+    stats.putDouble("trims", trims);
+    stats.putInt("lastTrimLevel", lastTrimLevel);
+
+    return stats;
+  }
+
+  static long EstimatePlaceBytes(Place place) {
+    long bytes = PLACE_BYTES
+      + EstimateStringBytes(place.getId())
+      + EstimateStringBytes(place.getName())
+      + EstimateStringBytes(place.getAddress())
+      + EstimateStringBytes(place.getPhoneNumber())
+      + EstimateStringBytes(place.getIconUrl())
+      + EstimateStringBytes(place.getWebsiteUri() != null ? place.getWebsiteUri().toString() : null);
+    if (place.getAttributions() != null) {
+      for (String attribution : place.getAttributions()) {
+        bytes += EstimateStringBytes(attribution);
+      }
+    }
+    if (place.getTypes() != null) bytes += place.getTypes().size() * OBJECT_BYTES;
+    if (place.getOpeningHours() != null) bytes += OPENING_HOURS_BYTES;
+    if (place.getAddressComponents() != null) {
+      for (AddressComponent component : place.getAddressComponents().asList()) {
+        bytes += OBJECT_BYTES + EstimateStringBytes(component.getName())
+          + EstimateStringBytes(component.getShortName()) + component.getTypes().size() * STRING_BYTES;
+      }
+    }
+    if (place.getPhotoMetadatas() != null) {
+      for (PhotoMetadata photo : place.getPhotoMetadatas()) {
+        bytes += PHOTO_METADATA_BYTES + EstimateStringBytes(photo.getAttributions());
+      }
+    }
+
+    return bytes;
+  }
+
+  static long EstimatePredictionsBytes(List<AutocompletePrediction> predictions) {
+    long bytes = OBJECT_BYTES;
+    for (AutocompletePrediction prediction : predictions) {
+      // The primary and secondary texts are spans of the full text
+      bytes += PREDICTION_BYTES
+        + EstimateStringBytes(prediction.getPlaceId())
+        + 2 * EstimateStringBytes(prediction.getFullText(null).toString())
+        + prediction.getPlaceTypes().size() * OBJECT_BYTES;
+    }
+
+    return bytes;
+  }
+
+  private static long EstimateStringBytes(String value) {
+    return value != null ? STRING_BYTES + 2L * value.length() : 0;
+  }
+
+  // Purges the first caches in line and halves the next one.
+  private void trim(int level, int purged) {
+    List<Trimmable> ordered;
+    synchronized (this) {
+      lastTrimLevel = level;
+      trims++;
+      ordered = new ArrayList<>(caches.values());
+    }
+
+    for (int i = 0; i < ordered.size(); i++) {
+      if (i < purged) {
+        ordered.get(i).trim(0);
+      } else if (i == purged) {
+        ordered.get(i).trim(0.5);
+      }
+    }
+  }
+}
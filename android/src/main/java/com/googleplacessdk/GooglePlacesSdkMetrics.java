@@ -0,0 +1,165 @@
+package com.googleplacessdk;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rolling latency, result count and payload size histograms per bridge method, fed by
+ * {@link GooglePlacesSdkTrace}. Each histogram keeps the last {@code windowSize} samples so the
+ * reported percentiles follow recent behaviour rather than the whole app session.
+ */
+class GooglePlacesSdkMetrics {
+  static final String EVENT_NAME = "GooglePlacesSdkMetric";
+
+  interface EventEmitter {
+    void emit(String eventName, WritableMap event);
+  }
+
+  private static class Histogram {
+    private final double[] samples;
+    private int count;
+    private int next;
+
+    Histogram(int windowSize) {
+      samples = new double[windowSize];
+    }
+
+    void add(double value) {
+      samples[next] = value;
+      next = (next + 1) % samples.length;
+      count = Math.min(count + 1, samples.length);
+    }
+
+    WritableMap toWritableMap() {
+      WritableMap map = Arguments.createMap();
+      map.putInt("count", count);
+      if (count == 0) return map;
+
+      double[] sorted = Arrays.copyOf(samples, count);
+      Arrays.sort(sorted);
+      double sum = 0;
+      for (double sample : sorted) {
+        sum += sample;
+      }
+      map.putDouble("mean", sum / count);
+      map.putDouble("p50", percentile(sorted, 0.50));
+      map.putDouble("p95", percentile(sorted, 0.95));
+      map.putDouble("p99", percentile(sorted, 0.99));
+      map.putDouble("max", sorted[count - 1]);
+
+      return map;
+    }
+
+    private static double percentile(double[] sorted, double percentile) {
+      int index = (int) Math.ceil(percentile * sorted.length) - 1;
+      return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+  }
+
+  private static class OperationMetrics {
+    final Histogram[] phases = new Histogram[GooglePlacesSdkTrace.Phase.values().length];
+    final Histogram total;
+    final Histogram results;
+    final Histogram payloadBytes;
+    final Map<String, Long> sources = new HashMap<>();
+    long calls;
+    long errors;
+
+    OperationMetrics(int windowSize) {
+      for (int i = 0; i < phases.length; i++) {
+        phases[i] = new Histogram(windowSize);
+      }
+      total = new Histogram(windowSize);
+      results = new Histogram(windowSize);
+      payloadBytes = new Histogram(windowSize);
+    }
+  }
+
+  private final Map<String, OperationMetrics> operations = new HashMap<>();
+  private final EventEmitter eventEmitter;
+  private volatile boolean enabled = true;
+  private volatile boolean payloadSizes;
+  private volatile boolean emitEvents;
+  private int windowSize = GooglePlacesSdkConstants.DEFAULT_METRICS_WINDOW_SIZE;
+
+  GooglePlacesSdkMetrics(EventEmitter eventEmitter) {
+    this.eventEmitter = eventEmitter;
+  }
+
+  synchronized void configure(boolean enabled, boolean payloadSizes, boolean emitEvents, int windowSize) {
+    this.enabled = enabled;
+    this.payloadSizes = payloadSizes;
+    this.emitEvents = emitEvents;
+    if (windowSize != this.windowSize) {
+      this.windowSize = Math.max(windowSize, 1);
+      operations.clear();
+    }
+  }
+
+  boolean shouldMeasurePayload() {
+    return payloadSizes;
+  }
+
+  GooglePlacesSdkTrace start(String operation) {
+    return new GooglePlacesSdkTrace(enabled ? this : null, operation);
+  }
+
+  void record(GooglePlacesSdkTrace trace) {
+    synchronized (this) {
+      OperationMetrics metrics = operations.get(trace.operation);
+      if (metrics == null) {
+        metrics = new OperationMetrics(windowSize);
+        operations.put(trace.operation, metrics);
+      }
+
+      metrics.calls++;
+      if (trace.errorCode != null) metrics.errors++;
+      Long sourceCount = metrics.sources.get(trace.source);
+      metrics.sources.put(trace.source, sourceCount != null ? sourceCount + 1 : 1);
+      for (GooglePlacesSdkTrace.Phase phase : GooglePlacesSdkTrace.Phase.values()) {
+        if (trace.hasPhase(phase)) metrics.phases[phase.ordinal()].add(trace.getPhaseMs(phase));
+      }
+      metrics.total.add(trace.getTotalMs());
+      if (trace.resultCount >= 0) metrics.results.add(trace.resultCount);
+      if (trace.payloadBytes >= 0) metrics.payloadBytes.add(trace.payloadBytes);
+    }
+
+    if (emitEvents) eventEmitter.emit(EVENT_NAME, trace.toWritableMap());
+  }
+
+  synchronized void reset() {
+    operations.clear();
+  }
+
+  synchronized WritableMap toWritableMap() {
+    WritableMap result = Arguments.createMap();
+    for (Map.Entry<String, OperationMetrics> entry : operations.entrySet()) {
+      OperationMetrics metrics = entry.getValue();
+      WritableMap operation = Arguments.createMap();
+      operation.putDouble("calls", metrics.calls);
+      operation.putDouble("errors", metrics.errors);
+
+      WritableMap sources = Arguments.createMap();
+      for (Map.Entry<String, Long> source : metrics.sources.entrySet()) {
+        sources.putDouble(source.getKey(), source.getValue());
+      }
+      operation.putMap("sources", sources);
+
+      WritableMap phases = Arguments.createMap();
+      for (GooglePlacesSdkTrace.Phase phase : GooglePlacesSdkTrace.Phase.values()) {
+        phases.putMap(phase.key, metrics.phases[phase.ordinal()].toWritableMap());
+      }
+      operation.putMap("phasesMs", phases);
+      operation.putMap("totalMs", metrics.total.toWritableMap());
+      operation.putMap("resultCount", metrics.results.toWritableMap());
+      operation.putMap("payloadBytes", metrics.payloadBytes.toWritableMap());
+      result.putMap(entry.getKey(), operation);
+    }
+
+    return result;
+  }
+}
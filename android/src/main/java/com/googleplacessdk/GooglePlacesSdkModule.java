@@ -1,28 +1,53 @@
 package com.googleplacessdk;
 
+import com.google.android.libraries.places.api.model.AutocompletePrediction;
 import com.google.android.libraries.places.api.model.AutocompleteSessionToken;
-import com.google.android.libraries.places.api.Places;
 import com.google.android.libraries.places.api.model.Place;
+import com.google.android.libraries.places.api.model.PhotoMetadata;
+import com.google.android.libraries.places.api.net.FetchPhotoRequest;
 import com.google.android.libraries.places.api.net.FetchPlaceRequest;
-import com.google.android.libraries.places.api.net.PlacesClient;
 import com.google.android.libraries.places.api.net.FindAutocompletePredictionsRequest;
-import com.google.android.gms.common.api.ApiException;
+import com.google.android.gms.common.api.CommonStatusCodes;
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.gms.tasks.CancellationTokenSource;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 
+import com.facebook.react.bridge.LifecycleEventListener;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
-import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.module.annotations.ReactModule;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
 
+import android.graphics.Bitmap;
 import android.util.Log;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Implements the {@code GooglePlacesSdk} spec. The base class is the codegen generated TurboModule
+ * spec with the new architecture and a bridge module otherwise, see the newarch and oldarch source
+ * sets.
+ */
 @ReactModule(name = GooglePlacesSdkModule.NAME)
-public class GooglePlacesSdkModule extends ReactContextBaseJavaModule {
+public class GooglePlacesSdkModule extends GooglePlacesSdkSpec implements LifecycleEventListener {
   public static final String NAME = "GooglePlacesSdk";
   private String NOT_INITIALIZED_MSG = "Google Places not initialized. Initialize by calling initialize method before calling any other methods";
   private final String SESSION_LOG_TAG = "GooglePlacesSession";
@@ -31,120 +56,1025 @@ public class GooglePlacesSdkModule extends ReactContextBaseJavaModule {
   private final String NO_ACTIVE_SESSION = "NO_ACTIVE_SESSION";
   private ReactApplicationContext reactContext;
   private String TAG = "GooglePlacesSdk";
-  private PlacesClient placesClient;
-  private AutocompleteSessionToken sessionToken;
+  private final ExecutorService initExecutor = GooglePlacesSdkExecutors.newSingleThread("init");
+  private final GooglePlacesSdkSessionRegistry sessions = new GooglePlacesSdkSessionRegistry(
+    GooglePlacesSdkConstants.DEFAULT_SESSION_IDLE_TIMEOUT_MS);
+  private final GooglePlacesSdkPlaceCache placeCache = new GooglePlacesSdkPlaceCache(
+    GooglePlacesSdkConstants.DEFAULT_PLACE_CACHE_MAX_ENTRIES,
+    GooglePlacesSdkConstants.DEFAULT_PLACE_CACHE_TTL_MS,
+    GooglePlacesSdkConstants.DEFAULT_PLACE_CACHE_MAX_BYTES);
+  private final GooglePlacesSdkLruCache<String, List<AutocompletePrediction>> predictionCache =
+    new GooglePlacesSdkLruCache<>(
+      GooglePlacesSdkConstants.DEFAULT_PREDICTION_CACHE_MAX_ENTRIES,
+      GooglePlacesSdkConstants.DEFAULT_PREDICTION_CACHE_TTL_MS,
+      GooglePlacesSdkMemoryGovernor::EstimatePredictionsBytes,
+      GooglePlacesSdkConstants.DEFAULT_PREDICTION_CACHE_MAX_BYTES);
+  private final GooglePlacesSdkMemoryGovernor memoryGovernor = new GooglePlacesSdkMemoryGovernor();
+  private final GooglePlacesSdkFieldProfiles fieldProfiles = new GooglePlacesSdkFieldProfiles();
+  private final GooglePlacesSdkSingleFlight placeFlights = new GooglePlacesSdkSingleFlight();
+  private final GooglePlacesSdkSingleFlight predictionFlights = new GooglePlacesSdkSingleFlight();
+  private final GooglePlacesSdkInFlightRequests inFlightRequests = new GooglePlacesSdkInFlightRequests();
+  private final ScheduledExecutorService scheduler = GooglePlacesSdkExecutors.newScheduler("scheduler");
+  private final ExecutorService diskExecutor = GooglePlacesSdkExecutors.newSingleThread("disk");
+  // Photo encoding and file writes, kept off the parse pool so they do not hold up predictions
+  private final ExecutorService photoExecutor = GooglePlacesSdkExecutors.newSingleThread("photo");
+  // SDK listeners run on the main thread unless given an executor, parsing happens here instead
+  private final ThreadPoolExecutor parseExecutor = GooglePlacesSdkExecutors.newFixedPool(
+    "parse", GooglePlacesSdkConstants.DEFAULT_PARSE_THREADS);
+  private final GooglePlacesSdkPredictionDebouncer predictionDebouncer =
+    new GooglePlacesSdkPredictionDebouncer(scheduler);
+  private final GooglePlacesSdkRateLimiter rateLimiter = new GooglePlacesSdkRateLimiter(scheduler);
+  private final GooglePlacesSdkPrefetcher prefetcher = new GooglePlacesSdkPrefetcher(scheduler, this::prefetchPlace);
+  private volatile long requestTimeoutMs = GooglePlacesSdkConstants.DEFAULT_REQUEST_TIMEOUT_MS;
+  private volatile long localBudgetMs = GooglePlacesSdkConstants.DEFAULT_LOCAL_INDEX_BUDGET_MS;
+  private volatile boolean cancelOnPause;
+  private Map<String, Object> appliedOptions;
+
+  private final GooglePlacesSdkDiskCache diskCache;
+  private final GooglePlacesSdkPhotoCache photoCache;
+  private final GooglePlacesSdkMetrics metrics;
+  private final GooglePlacesSdkLocalIndex localIndex;
+  private final GooglePlacesSdkClientLoader clientLoader;
 
   public GooglePlacesSdkModule(ReactApplicationContext reactContext) {
     super(reactContext);
     this.reactContext = reactContext;
+    this.diskCache = new GooglePlacesSdkDiskCache(new File(reactContext.getCacheDir(), "GooglePlacesSdk/places"));
+    this.photoCache = new GooglePlacesSdkPhotoCache(
+      new File(reactContext.getCacheDir(), "GooglePlacesSdk/photos"),
+      GooglePlacesSdkConstants.DEFAULT_PHOTO_CACHE_MAX_BYTES,
+      GooglePlacesSdkConstants.DEFAULT_PHOTO_DISK_CACHE_MAX_BYTES);
+    this.metrics = new GooglePlacesSdkMetrics(this::emitEvent);
+    this.localIndex = new GooglePlacesSdkLocalIndex(
+      new File(reactContext.getFilesDir(), "GooglePlacesSdk/local_index"), scheduler, diskExecutor);
+    this.clientLoader = new GooglePlacesSdkClientLoader(reactContext, initExecutor);
+    reactContext.addLifecycleEventListener(this);
+
+    // In the order they give memory back, the cheapest to rebuild first
+    memoryGovernor.register("predictionCache", predictionCache);
+    memoryGovernor.register("prefetchCache", prefetcher.getCache());
+    memoryGovernor.register("photoCache", photoCache);
+    memoryGovernor.register("placeCache", placeCache);
+    reactContext.registerComponentCallbacks(memoryGovernor);
+  }
+
+  private void emitEvent(String eventName, WritableMap event) {
+    if (!reactContext.hasActiveReactInstance()) return;
+    reactContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class).emit(eventName, event);
   }
 
   @Override
   public String getName() {
-    return TAG;
+    return NAME;
+  }
+
+  @Override
+  public void onHostResume() {}
+
+  // Leaving the app drops the requests in flight when cancelOnPause is set, their promises are
+  // rejected with CANCELLED.
+  @Override
+  public void onHostPause() {
+    if (cancelOnPause) inFlightRequests.cancelAll(null, true);
+  }
+
+  @Override
+  public void onHostDestroy() {}
+
+  // The JS side is gone, requests in flight are cancelled without settling their promises.
+  @Override
+  public void invalidate() {
+    reactContext.removeLifecycleEventListener(this);
+    reactContext.unregisterComponentCallbacks(memoryGovernor);
+    inFlightRequests.cancelAll(null, false);
+    predictionDebouncer.supersedeAll();
+    sessions.clearAll();
+    prefetcher.clear();
+    clientLoader.clear();
+    initExecutor.shutdownNow();
+    scheduler.shutdownNow();
+    parseExecutor.shutdown();
+    diskExecutor.shutdown();
+    photoExecutor.shutdown();
+    super.invalidate();
   }
 
   @ReactMethod
-  public void initialize(String apiKey) {
-    Places.initialize(reactContext, apiKey);
-    placesClient = Places.createClient(reactContext);
+  public void initialize(String apiKey, ReadableMap options) {
+    // The client is created in the background, calls made meanwhile wait for it
+    ReadableMap backendOptions = GooglePlacesSdkUtils.GetMapOption(options, "backend");
+    boolean keyChanged = clientLoader.initialize(apiKey,
+      backendOptions != null ? backendOptions.toHashMap() : Collections.<String, Object>emptyMap(),
+      createBackendFactory(backendOptions));
+    Map<String, Object> optionsMap = options != null
+      ? options.toHashMap() : Collections.<String, Object>emptyMap();
+    if (!keyChanged && optionsMap.equals(appliedOptions)) return; // repeated call, nothing to apply
+    appliedOptions = optionsMap;
+
+    ReadableMap placeCacheOptions = GooglePlacesSdkUtils.GetMapOption(options, "placeCache");
+    placeCache.configure(
+      GooglePlacesSdkUtils.GetIntOption(placeCacheOptions, "maxEntries",
+        GooglePlacesSdkConstants.DEFAULT_PLACE_CACHE_MAX_ENTRIES),
+      GooglePlacesSdkUtils.GetLongOption(placeCacheOptions, "ttlMs",
+        GooglePlacesSdkConstants.DEFAULT_PLACE_CACHE_TTL_MS),
+      GooglePlacesSdkUtils.GetLongOption(placeCacheOptions, "maxBytes",
+        GooglePlacesSdkConstants.DEFAULT_PLACE_CACHE_MAX_BYTES));
+
+    ReadableMap predictionCacheOptions = GooglePlacesSdkUtils.GetMapOption(options, "predictionCache");
+    predictionCache.configure(
+      GooglePlacesSdkUtils.GetIntOption(predictionCacheOptions, "maxEntries",
+        GooglePlacesSdkConstants.DEFAULT_PREDICTION_CACHE_MAX_ENTRIES),
+      GooglePlacesSdkUtils.GetLongOption(predictionCacheOptions, "ttlMs",
+        GooglePlacesSdkConstants.DEFAULT_PREDICTION_CACHE_TTL_MS));
+    predictionCache.setMaxBytes(GooglePlacesSdkUtils.GetLongOption(predictionCacheOptions, "maxBytes",
+      GooglePlacesSdkConstants.DEFAULT_PREDICTION_CACHE_MAX_BYTES));
+    memoryGovernor.setEnabled(GooglePlacesSdkUtils.GetBooleanOption(
+      GooglePlacesSdkUtils.GetMapOption(options, "memory"), "trimOnPressure", true));
+
+    ReadableMap diskCacheOptions = GooglePlacesSdkUtils.GetMapOption(options, "diskCache");
+    final boolean diskCacheEnabled = GooglePlacesSdkUtils.GetBooleanOption(diskCacheOptions, "enabled", false);
+    final long diskCacheMaxBytes = GooglePlacesSdkUtils.GetLongOption(diskCacheOptions, "maxBytes",
+      GooglePlacesSdkConstants.DEFAULT_DISK_CACHE_MAX_BYTES);
+    final long diskCacheTtlMs = GooglePlacesSdkUtils.GetLongOption(diskCacheOptions, "ttlMs",
+      GooglePlacesSdkConstants.DEFAULT_DISK_CACHE_TTL_MS);
+    diskExecutor.execute(() -> diskCache.configure(diskCacheEnabled, diskCacheMaxBytes, diskCacheTtlMs));
+
+    ReadableMap localIndexOptions = GooglePlacesSdkUtils.GetMapOption(options, "localIndex");
+    final boolean localIndexEnabled = GooglePlacesSdkUtils.GetBooleanOption(localIndexOptions, "enabled", false);
+    final String localIndexMode = GooglePlacesSdkUtils.GetStringOption(localIndexOptions, "mode",
+      GooglePlacesSdkLocalIndex.MODE_MERGE);
+    final int localIndexMaxEntries = GooglePlacesSdkUtils.GetIntOption(localIndexOptions, "maxEntries",
+      GooglePlacesSdkConstants.DEFAULT_LOCAL_INDEX_MAX_ENTRIES);
+    final int localIndexMaxResults = GooglePlacesSdkUtils.GetIntOption(localIndexOptions, "maxResults",
+      GooglePlacesSdkConstants.DEFAULT_LOCAL_INDEX_MAX_RESULTS);
+    diskExecutor.execute(() -> localIndex.configure(localIndexEnabled, localIndexMode, localIndexMaxEntries,
+      localIndexMaxResults));
+    localBudgetMs = GooglePlacesSdkUtils.GetLongOption(localIndexOptions, "budgetMs",
+      GooglePlacesSdkConstants.DEFAULT_LOCAL_INDEX_BUDGET_MS);
+
+    ReadableMap photoCacheOptions = GooglePlacesSdkUtils.GetMapOption(options, "photoCache");
+    photoCache.configure(
+      GooglePlacesSdkUtils.GetLongOption(photoCacheOptions, "maxBytes",
+        GooglePlacesSdkConstants.DEFAULT_PHOTO_CACHE_MAX_BYTES),
+      GooglePlacesSdkUtils.GetLongOption(photoCacheOptions, "diskMaxBytes",
+        GooglePlacesSdkConstants.DEFAULT_PHOTO_DISK_CACHE_MAX_BYTES));
+
+    for (String error : fieldProfiles.configure(options)) {
+      Log.w(TAG, error);
+    }
+
+    ReadableMap prefetchOptions = GooglePlacesSdkUtils.GetMapOption(options, "prefetch");
+    prefetcher.configure(
+      GooglePlacesSdkUtils.GetBooleanOption(prefetchOptions, "enabled", false),
+      GooglePlacesSdkUtils.GetIntOption(prefetchOptions, "count", GooglePlacesSdkConstants.DEFAULT_PREFETCH_COUNT),
+      GooglePlacesSdkUtils.GetLongOption(prefetchOptions, "delayMs",
+        GooglePlacesSdkConstants.DEFAULT_PREFETCH_DELAY_MS),
+      GooglePlacesSdkUtils.GetLongOption(prefetchOptions, "ttlMs", GooglePlacesSdkConstants.DEFAULT_PREFETCH_TTL_MS),
+      resolvePrefetchFields(prefetchOptions));
+
+    predictionDebouncer.setWindowMs(GooglePlacesSdkUtils.GetLongOption(options, "predictionDebounceMs", 0));
+    requestTimeoutMs = GooglePlacesSdkUtils.GetLongOption(options, "requestTimeoutMs",
+      GooglePlacesSdkConstants.DEFAULT_REQUEST_TIMEOUT_MS);
+    cancelOnPause = GooglePlacesSdkUtils.GetBooleanOption(options, "cancelOnPause", false);
+    sessions.setIdleTimeoutMs(GooglePlacesSdkUtils.GetLongOption(options, "sessionIdleTimeoutMs",
+      GooglePlacesSdkConstants.DEFAULT_SESSION_IDLE_TIMEOUT_MS));
+    GooglePlacesSdkExecutors.resize(parseExecutor, GooglePlacesSdkUtils.GetIntOption(options, "parseThreads",
+      GooglePlacesSdkConstants.DEFAULT_PARSE_THREADS));
+
+    ReadableMap rateLimitOptions = GooglePlacesSdkUtils.GetMapOption(options, "rateLimit");
+    rateLimiter.configure(
+      GooglePlacesSdkUtils.GetBooleanOption(rateLimitOptions, "enabled", false),
+      GooglePlacesSdkUtils.GetIntOption(rateLimitOptions, "maxQueue",
+        GooglePlacesSdkConstants.DEFAULT_RATE_LIMIT_MAX_QUEUE),
+      GooglePlacesSdkUtils.GetIntOption(rateLimitOptions, "maxRetries",
+        GooglePlacesSdkConstants.DEFAULT_RATE_LIMIT_MAX_RETRIES),
+      GooglePlacesSdkUtils.GetLongOption(rateLimitOptions, "baseBackoffMs",
+        GooglePlacesSdkConstants.DEFAULT_RATE_LIMIT_BASE_BACKOFF_MS),
+      GooglePlacesSdkUtils.GetLongOption(rateLimitOptions, "maxBackoffMs",
+        GooglePlacesSdkConstants.DEFAULT_RATE_LIMIT_MAX_BACKOFF_MS));
+    configureRateLimitBucket(rateLimitOptions, GooglePlacesSdkRateLimiter.PREDICTIONS,
+      GooglePlacesSdkConstants.DEFAULT_PREDICTIONS_BURST, GooglePlacesSdkConstants.DEFAULT_PREDICTIONS_PER_SECOND);
+    configureRateLimitBucket(rateLimitOptions, GooglePlacesSdkRateLimiter.DETAILS,
+      GooglePlacesSdkConstants.DEFAULT_DETAILS_BURST, GooglePlacesSdkConstants.DEFAULT_DETAILS_PER_SECOND);
+    configureRateLimitBucket(rateLimitOptions, GooglePlacesSdkRateLimiter.PHOTOS,
+      GooglePlacesSdkConstants.DEFAULT_PHOTOS_BURST, GooglePlacesSdkConstants.DEFAULT_PHOTOS_PER_SECOND);
+
+    ReadableMap metricsOptions = GooglePlacesSdkUtils.GetMapOption(options, "metrics");
+    metrics.configure(
+      GooglePlacesSdkUtils.GetBooleanOption(metricsOptions, "enabled", true),
+      GooglePlacesSdkUtils.GetBooleanOption(metricsOptions, "payloadSizes", false),
+      GooglePlacesSdkUtils.GetBooleanOption(metricsOptions, "emitEvents", false),
+      GooglePlacesSdkUtils.GetIntOption(metricsOptions, "windowSize",
+        GooglePlacesSdkConstants.DEFAULT_METRICS_WINDOW_SIZE));
+  }
+
+  // The Places SDK by default. Record mode writes its responses to disk, replay mode serves them
+  // back, or synthetic ones, without initializing the SDK at all.
+  private GooglePlacesSdkBackend.Factory createBackendFactory(ReadableMap backendOptions) {
+    String mode = GooglePlacesSdkUtils.GetStringOption(backendOptions, "mode", GooglePlacesSdkBackend.MODE_SDK);
+    String directory = GooglePlacesSdkUtils.GetStringOption(backendOptions, "directory", null);
+    final GooglePlacesSdkRecordings recordings = new GooglePlacesSdkRecordings(directory != null
+      ? new File(directory) : new File(reactContext.getFilesDir(), "GooglePlacesSdk/recordings"));
+
+    if (GooglePlacesSdkBackend.MODE_RECORD.equals(mode)) {
+      return (context, apiKey) -> new GooglePlacesSdkRecordingBackend(
+        GooglePlacesSdkClientBackend.FACTORY.create(context, apiKey), recordings, diskExecutor);
+    }
+
+    if (GooglePlacesSdkBackend.MODE_REPLAY.equals(mode)) {
+      ReadableMap latencyOptions = GooglePlacesSdkUtils.GetMapOption(backendOptions, "latency");
+      Map<String, GooglePlacesSdkReplayBackend.Latency> latencies = new HashMap<>();
+      putReplayLatency(latencies, latencyOptions, GooglePlacesSdkRateLimiter.PREDICTIONS,
+        GooglePlacesSdkConstants.DEFAULT_REPLAY_PREDICTIONS_MEDIAN_MS,
+        GooglePlacesSdkConstants.DEFAULT_REPLAY_PREDICTIONS_P99_MS);
+      putReplayLatency(latencies, latencyOptions, GooglePlacesSdkRateLimiter.DETAILS,
+        GooglePlacesSdkConstants.DEFAULT_REPLAY_DETAILS_MEDIAN_MS,
+        GooglePlacesSdkConstants.DEFAULT_REPLAY_DETAILS_P99_MS);
+      putReplayLatency(latencies, latencyOptions, GooglePlacesSdkRateLimiter.PHOTOS,
+        GooglePlacesSdkConstants.DEFAULT_REPLAY_PHOTOS_MEDIAN_MS,
+        GooglePlacesSdkConstants.DEFAULT_REPLAY_PHOTOS_P99_MS);
+
+      final GooglePlacesSdkReplayBackend replayBackend = new GooglePlacesSdkReplayBackend(recordings, scheduler,
+        latencies,
+        GooglePlacesSdkUtils.GetDoubleOption(backendOptions, "errorRate", 0),
+        GooglePlacesSdkUtils.GetIntOption(backendOptions, "errorStatusCode", CommonStatusCodes.NETWORK_ERROR),
+        new Random(GooglePlacesSdkUtils.GetLongOption(backendOptions, "seed", System.nanoTime())));
+      return (context, apiKey) -> replayBackend;
+    }
+
+    if (!GooglePlacesSdkBackend.MODE_SDK.equals(mode)) {
+      Log.w(TAG, "Unknown backend mode " + mode + ", using the Places SDK");
+    }
+    return GooglePlacesSdkClientBackend.FACTORY;
+  }
+
+  private static void putReplayLatency(Map<String, GooglePlacesSdkReplayBackend.Latency> latencies,
+                                       ReadableMap latencyOptions, String kind, double defaultMedianMs,
+                                       double defaultP99Ms) {
+    ReadableMap kindOptions = GooglePlacesSdkUtils.GetMapOption(latencyOptions, kind);
+    latencies.put(kind, new GooglePlacesSdkReplayBackend.Latency(
+      GooglePlacesSdkUtils.GetDoubleOption(kindOptions, "medianMs", defaultMedianMs),
+      GooglePlacesSdkUtils.GetDoubleOption(kindOptions, "p99Ms", defaultP99Ms)));
+  }
+
+  private List<Place.Field> resolvePrefetchFields(ReadableMap prefetchOptions) {
+    if (prefetchOptions != null && prefetchOptions.hasKey("fields") && !prefetchOptions.isNull("fields")) {
+      List<String> unknownFields = new ArrayList<>();
+      List<Place.Field> prefetchFields = GooglePlacesSdkUtils.ParsePlaceFields(
+        prefetchOptions.getArray("fields"), unknownFields);
+      if (!unknownFields.isEmpty()) {
+        Log.w(TAG, "Ignoring unknown place fields in prefetch fields: " + unknownFields);
+      }
+      return prefetchFields;
+    }
+
+    String profile = GooglePlacesSdkUtils.GetStringOption(prefetchOptions, "fieldProfile",
+      GooglePlacesSdkFieldProfiles.BASIC);
+    List<Place.Field> profileFields = fieldProfiles.get(profile);
+    if (profileFields == null) {
+      Log.w(TAG, fieldProfiles.getError(profile) + ", prefetching is disabled");
+      return Collections.emptyList();
+    }
+
+    return profileFields;
+  }
+
+  private void configureRateLimitBucket(ReadableMap rateLimitOptions, String kind, double defaultBurst,
+                                        double defaultPerSecond) {
+    ReadableMap bucketOptions = GooglePlacesSdkUtils.GetMapOption(rateLimitOptions, kind);
+    rateLimiter.configureBucket(kind,
+      GooglePlacesSdkUtils.GetDoubleOption(bucketOptions, "burst", defaultBurst),
+      GooglePlacesSdkUtils.GetDoubleOption(bucketOptions, "perSecond", defaultPerSecond));
+  }
+
+  private void whenInitialized(final Promise promise, Runnable call) {
+    clientLoader.whenReady(call, () -> promise.reject(
+      GooglePlacesSdkConstants.NOT_INITIALIZED,
+      new Error(NOT_INITIALIZED_MSG)));
   }
 
   // generate a new session token manually
   @ReactMethod
-  public void startNewSession(final Promise promise) {
-    if (!Places.isInitialized()) {
+  public void startNewSession(String sessionID, final Promise promise) {
+    if (!clientLoader.isRequested()) {
       promise.reject(
-        "-1",
+        GooglePlacesSdkConstants.NOT_INITIALIZED,
         new Error(NOT_INITIALIZED_MSG));
       return;
     }
 
-    sessionToken = AutocompleteSessionToken.newInstance();
+    sessions.start(GooglePlacesSdkSessionRegistry.ParseSessionID(sessionID));
     promise.resolve(NEW_SESSION_STARTED);
   }
 
   @ReactMethod
-  public void clearSession(final Promise promise) {
-    if (!Places.isInitialized()) {
+  public void clearSession(String sessionID, final Promise promise) {
+    if (!clientLoader.isRequested()) {
       promise.reject(
-        "-1",
+        GooglePlacesSdkConstants.NOT_INITIALIZED,
         new Error(NOT_INITIALIZED_MSG));
       return;
     }
 
-    if (sessionToken == null) {
+    if (!sessions.clear(GooglePlacesSdkSessionRegistry.ParseSessionID(sessionID))) {
       promise.resolve(NO_ACTIVE_SESSION);
       return;
     }
 
-    sessionToken = null;
     promise.resolve(SESSION_CLEARED);
   }
 
   @ReactMethod
   public void fetchPredictions(String query, ReadableMap options, final Promise promise) {
-    if (!Places.isInitialized()) {
-      promise.reject(
-        "-1",
-        new Error(NOT_INITIALIZED_MSG));
+    final GooglePlacesSdkTrace trace = metrics.start("fetchPredictions");
+    whenInitialized(promise, () -> fetchPredictions(query, options, promise, trace));
+  }
+
+  private void fetchPredictions(String query, ReadableMap options, Promise promise, GooglePlacesSdkTrace trace) {
+    final String sessionID = GooglePlacesSdkSessionRegistry.ParseSessionID(
+      GooglePlacesSdkUtils.GetStringOption(options, "sessionID", null));
+    final AutocompleteSessionToken requestSessionToken = sessions.getOrStart(sessionID); // Auto-generate if missing
+
+    final List<GooglePlacesSdkLocalIndex.LocalPlace> localPlaces = localIndex.query(query);
+    final boolean compact = GooglePlacesSdkUtils.GetBooleanOption(options, "compact", false);
+    String cacheKey = GooglePlacesSdkUtils.buildPredictionCacheKey(query, options, requestSessionToken);
+    List<AutocompletePrediction> cachedPredictions = predictionCache.get(cacheKey);
+    if (cachedPredictions != null) {
+      predictionDebouncer.supersedeLatest(sessionID);
+      trace.setSource(GooglePlacesSdkTrace.SOURCE_MEMORY).mark(GooglePlacesSdkTrace.Phase.BUILD);
+      Object parsedPredictions = serializePredictions(cachedPredictions, localPlaces, compact);
+      trace.parsed(parsedPredictions, GooglePlacesSdkCompactEncoder.Count(parsedPredictions));
+      promise.resolve(parsedPredictions);
+      trace.resolved();
+      prefetcher.schedule(sessionID, cachedPredictions);
       return;
     }
 
-    if (sessionToken == null) {
-      sessionToken = AutocompleteSessionToken.newInstance(); // Auto-generate if missing
+    // Only callers asking for the same encoding and tag can share a request
+    final String tag = GooglePlacesSdkUtils.GetStringOption(options, "tag", null);
+    String flightKey = (compact ? cacheKey + "|compact" : cacheKey) + "|tag=" + tag;
+    final GooglePlacesSdkPromise predictionPromise = predictionFlights.join(flightKey, promise, trace);
+    if (predictionPromise == null) return; // attached to an identical request in flight
+
+    final CancellationTokenSource cancellationTokenSource = new CancellationTokenSource();
+    // A request that times out is answered with local matches instead. Scheduled ahead of the
+    // deadline, so the local answer wins when both are due at the same time.
+    long timeoutMs = getTimeoutMs(options);
+    if (timeoutMs > 0) scheduleLocalAnswer(localPlaces, compact, timeoutMs, predictionPromise, trace);
+    scheduleDeadline(predictionPromise, getTimeoutMs(options), cancellationTokenSource, trace);
+    inFlightRequests.track(tag, predictionPromise, cancellationTokenSource, trace);
+    if (predictionDebouncer.isEnabled()) {
+      predictionDebouncer.submit(sessionID, predictionPromise, cancellationTokenSource, (cancellationToken) -> {
+        trace.mark(GooglePlacesSdkTrace.Phase.DEBOUNCE);
+        findAutocompletePredictions(query, options, sessionID, requestSessionToken, cacheKey, localPlaces,
+          compact, cancellationToken, predictionPromise, trace);
+      });
+    } else {
+      findAutocompletePredictions(query, options, sessionID, requestSessionToken, cacheKey, localPlaces,
+        compact, cancellationTokenSource.getToken(), predictionPromise, trace);
     }
+  }
 
+  private void findAutocompletePredictions(String query, ReadableMap options, final String sessionID,
+                                           AutocompleteSessionToken requestSessionToken, String cacheKey,
+                                           final List<GooglePlacesSdkLocalIndex.LocalPlace> localPlaces,
+                                           final boolean compact, CancellationToken cancellationToken,
+                                           final GooglePlacesSdkPromise promise,
+                                           final GooglePlacesSdkTrace trace) {
     FindAutocompletePredictionsRequest request = GooglePlacesSdkUtils.buildPredictionRequest(query, options,
-      sessionToken);
-    placesClient.findAutocompletePredictions(request)
-      .addOnSuccessListener((response) -> {
-        WritableArray parsedPredictions = GooglePlacesSdkUtils.ParseAutocompletePredictions(
-          response.getAutocompletePredictions());
-        promise.resolve(parsedPredictions);
+      requestSessionToken, cancellationToken);
+    trace.mark(GooglePlacesSdkTrace.Phase.BUILD);
+    // Merged lists always wait for the network, only fallback mode settles for local matches when
+    // the network is slow. The budget starts once the debounce window has passed.
+    if (!localIndex.isMergeMode()) scheduleLocalAnswer(localPlaces, compact, localBudgetMs, promise, trace);
+    rateLimiter.execute(GooglePlacesSdkRateLimiter.PREDICTIONS, GooglePlacesSdkRateLimiter.PRIORITY_NORMAL,
+        cancellationToken, () -> clientLoader.getBackend().findAutocompletePredictions(request))
+      .addOnSuccessListener(parseExecutor, (response) -> {
+        trace.mark(GooglePlacesSdkTrace.Phase.NETWORK);
+        predictionCache.put(cacheKey, response.getAutocompletePredictions());
+        if (promise.isSettled()) { // superseded, skip serializing stale results
+          trace.failed(GooglePlacesSdkConstants.SUPERSEDED);
+          return;
+        }
+
+        Object parsedPredictions = serializePredictions(response.getAutocompletePredictions(), localPlaces,
+          compact);
+        trace.parsed(parsedPredictions, GooglePlacesSdkCompactEncoder.Count(parsedPredictions));
+        if (promise.resolve(parsedPredictions)) trace.resolved();
+        prefetcher.schedule(sessionID, response.getAutocompletePredictions());
       })
-      .addOnFailureListener((exception) -> {
-        if (exception instanceof ApiException) {
-          ApiException apiException = (ApiException) exception;
-          promise.reject(
-            Integer.toString(apiException.getStatusCode()),
-            apiException.getLocalizedMessage());
+      .addOnFailureListener(parseExecutor, (exception) -> {
+        trace.mark(GooglePlacesSdkTrace.Phase.NETWORK);
+        if (!localPlaces.isEmpty() && GooglePlacesSdkUtils.IsNetworkFailure(exception)) {
+          resolveLocally(localPlaces, compact, promise, trace); // offline, answer from the places fetched before
+        } else {
+          rejectWith(exception, promise, trace);
         }
       });
   }
 
+  // Answers from the local index if the network has not answered after delayMs. The network request
+  // carries on and only refreshes the prediction cache.
+  private void scheduleLocalAnswer(final List<GooglePlacesSdkLocalIndex.LocalPlace> localPlaces,
+                                   final boolean compact, long delayMs, final GooglePlacesSdkPromise promise,
+                                   final GooglePlacesSdkTrace trace) {
+    if (localPlaces.isEmpty() || promise.isSettled()) return;
+
+    final ScheduledFuture<?> localAnswer = scheduler.schedule(
+      () -> resolveLocally(localPlaces, compact, promise, trace), delayMs, TimeUnit.MILLISECONDS);
+    promise.addOnSettledListener(() -> localAnswer.cancel(false));
+  }
+
+  private static void resolveLocally(List<GooglePlacesSdkLocalIndex.LocalPlace> localPlaces, boolean compact,
+                                     GooglePlacesSdkPromise promise, GooglePlacesSdkTrace trace) {
+    if (promise.isSettled()) return;
+
+    List<AutocompletePrediction> noPredictions = Collections.emptyList();
+    Object parsedPredictions = compact
+      ? GooglePlacesSdkCompactEncoder.EncodePredictions(localPlaces, noPredictions)
+      : GooglePlacesSdkLocalIndex.MergePredictions(localPlaces, noPredictions);
+    trace.setSource(GooglePlacesSdkTrace.SOURCE_LOCAL)
+      .parsed(parsedPredictions, GooglePlacesSdkCompactEncoder.Count(parsedPredictions));
+    if (promise.resolve(parsedPredictions)) trace.resolved();
+  }
+
+  // In merge mode places from the local index are listed ahead of the network predictions.
+  private WritableArray parsePredictions(List<AutocompletePrediction> predictions,
+                                         List<GooglePlacesSdkLocalIndex.LocalPlace> localPlaces) {
+    if (localPlaces.isEmpty() || !localIndex.isMergeMode()) {
+      return GooglePlacesSdkUtils.ParseAutocompletePredictions(predictions);
+    }
+
+    return GooglePlacesSdkLocalIndex.MergePredictions(localPlaces, predictions);
+  }
+
+  private Object serializePredictions(List<AutocompletePrediction> predictions,
+                                      List<GooglePlacesSdkLocalIndex.LocalPlace> localPlaces, boolean compact) {
+    if (!compact) return parsePredictions(predictions, localPlaces);
+
+    return GooglePlacesSdkCompactEncoder.EncodePredictions(
+      localIndex.isMergeMode() ? localPlaces : Collections.<GooglePlacesSdkLocalIndex.LocalPlace>emptyList(),
+      predictions);
+  }
+
+  private long getTimeoutMs(ReadableMap options) {
+    return GooglePlacesSdkUtils.GetLongOption(options, "timeoutMs", requestTimeoutMs);
+  }
+
+  // Rejects with TIMEOUT and cancels the SDK task if the promise is still pending at the deadline.
+  // Callers coalesced into the request share its deadline.
+  private void scheduleDeadline(final GooglePlacesSdkPromise promise, final long timeoutMs,
+                                final CancellationTokenSource cancellationTokenSource,
+                                final GooglePlacesSdkTrace trace) {
+    if (timeoutMs <= 0) return;
+
+    promise.setDeadline(scheduler.schedule(() -> {
+      if (!promise.reject(GooglePlacesSdkConstants.TIMEOUT, "Request timed out after " + timeoutMs + " ms")) return;
+
+      cancellationTokenSource.cancel();
+      trace.failed(GooglePlacesSdkConstants.TIMEOUT);
+    }, timeoutMs, TimeUnit.MILLISECONDS));
+  }
+
+  // Nothing is recorded when the promise already settled, e.g. at its deadline.
+  private static void rejectWith(Exception exception, GooglePlacesSdkPromise promise, GooglePlacesSdkTrace trace) {
+    String code = GooglePlacesSdkUtils.GetErrorCode(exception);
+    if (promise.reject(code, exception.getLocalizedMessage())) trace.failed(code);
+  }
+
   @ReactMethod
-  public void fetchPlaceByID(String placeID, ReadableArray fields, final Promise promise) {
-    if (!Places.isInitialized()) {
-      promise.reject(
-        "-1",
-        new Error(NOT_INITIALIZED_MSG));
+  public void fetchPlaceByID(String placeID, ReadableArray fields, ReadableMap options, final Promise promise) {
+    final GooglePlacesSdkTrace trace = metrics.start("fetchPlaceByID");
+    whenInitialized(promise, () -> fetchPlaceByID(placeID, fields, options, promise, trace));
+  }
+
+  private void fetchPlaceByID(String placeID, ReadableArray fields, ReadableMap options, Promise promise,
+                              GooglePlacesSdkTrace trace) {
+    final List<Place.Field> placeFields = resolvePlaceFields(fields, options, promise);
+    if (placeFields == null) return;
+
+    final String sessionID = GooglePlacesSdkSessionRegistry.ParseSessionID(
+      GooglePlacesSdkUtils.GetStringOption(options, "sessionID", null));
+    final AutocompleteSessionToken requestSessionToken = sessions.get(sessionID);
+    if (requestSessionToken == null) {
+      Log.w(SESSION_LOG_TAG, "⚠️ Session Token is null. Place selection might not be billed efficiently.");
+    }
+
+    final String tag = GooglePlacesSdkUtils.GetStringOption(options, "tag", null);
+    String requestID = GooglePlacesSdkUtils.GetStringOption(options, "requestID", null);
+    if (requestID != null) {
+      List<Place.Field> headFields = resolveHeadFields(options, promise);
+      if (headFields == null) return;
+
+      GooglePlacesSdkProgressivePlace progressivePlace = new GooglePlacesSdkProgressivePlace(
+        requestID, placeID, placeFields, headFields, this::emitEvent);
+      if (progressivePlace.canSplit()) {
+        fetchPlaceProgressive(placeID, progressivePlace, new GooglePlacesSdkPromise(promise), getTimeoutMs(options),
+          tag, sessionID, requestSessionToken, trace);
+        return;
+      }
+    }
+
+    String flightKey = placeID + "|" + GooglePlacesSdkPlaceCache.toFieldSet(placeFields) + "|" + requestSessionToken
+      + "|tag=" + tag;
+    final GooglePlacesSdkPromise placePromise = placeFlights.join(flightKey, promise, trace);
+    if (placePromise == null) return; // attached to an identical request in flight
+
+    final CancellationTokenSource cancellationTokenSource = new CancellationTokenSource();
+    scheduleDeadline(placePromise, getTimeoutMs(options), cancellationTokenSource, trace);
+    inFlightRequests.track(tag, placePromise, cancellationTokenSource, trace);
+    final PlaceCallback callback = new PlaceCallback() {
+      @Override
+      public void onSuccess(Place place) {
+        WritableMap parsedPlace = GooglePlacesSdkUtils.ParsePlace(place, placeFields);
+        trace.parsed(parsedPlace, 1);
+        if (placePromise.resolve(parsedPlace)) trace.resolved();
+        // End the session the selection was made in, unless it has been replaced meanwhile
+        if (requestSessionToken != null) sessions.end(sessionID, requestSessionToken);
+      }
+
+      @Override
+      public void onFailure(Exception exception) {
+        rejectWith(exception, placePromise, trace);
+      }
+    };
+
+    Task<Place> prefetchedPlace = prefetcher.get(placeID, placeFields);
+    if (prefetchedPlace == null) {
+      fetchPlace(placeID, placeFields, requestSessionToken, GooglePlacesSdkRateLimiter.PRIORITY_HIGH,
+        cancellationTokenSource.getToken(), trace, callback);
+      return;
+    }
+
+    // Prefetched or still being prefetched, a failed prefetch falls back to a regular fetch
+    trace.setSource(GooglePlacesSdkTrace.SOURCE_PREFETCH);
+    prefetchedPlace.addOnCompleteListener(parseExecutor, (task) -> {
+      if (task.isSuccessful()) {
+        trace.mark(GooglePlacesSdkTrace.Phase.NETWORK);
+        Place place = task.getResult();
+        placeCache.put(placeID, placeFields, place);
+        localIndex.add(place);
+        callback.onSuccess(place);
+        if (requestSessionToken != null) concludeSession(placeID, requestSessionToken);
+      } else {
+        trace.setSource(GooglePlacesSdkTrace.SOURCE_NETWORK);
+        fetchPlace(placeID, placeFields, requestSessionToken, GooglePlacesSdkRateLimiter.PRIORITY_HIGH,
+          cancellationTokenSource.getToken(), trace, callback);
+      }
+    });
+  }
+
+  // A selection served from a prefetch sent no request with the session token. A details request for
+  // the place ID alone concludes the session, so its predictions are still billed as one session.
+  private void concludeSession(String placeID, AutocompleteSessionToken requestSessionToken) {
+    FetchPlaceRequest placeRequest = FetchPlaceRequest.builder(placeID, Collections.singletonList(Place.Field.ID))
+      .setSessionToken(requestSessionToken)
+      .build();
+    rateLimiter.execute(GooglePlacesSdkRateLimiter.DETAILS, GooglePlacesSdkRateLimiter.PRIORITY_LOW, null,
+        () -> clientLoader.getBackend().fetchPlace(placeRequest))
+      .addOnFailureListener(parseExecutor,
+        (exception) -> Log.w(SESSION_LOG_TAG, "Failed to conclude the session of a prefetched place", exception));
+  }
+
+  // Details of a top prediction fetched ahead of a selection, see GooglePlacesSdkPrefetcher.
+  private Task<Place> prefetchPlace(String placeID, List<Place.Field> placeFields,
+                                    CancellationToken cancellationToken) {
+    FetchPlaceRequest placeRequest = FetchPlaceRequest.builder(placeID, placeFields)
+      .setCancellationToken(cancellationToken)
+      .build();
+    return rateLimiter.execute(GooglePlacesSdkRateLimiter.DETAILS, GooglePlacesSdkRateLimiter.PRIORITY_LOW,
+        cancellationToken, () -> clientLoader.getBackend().fetchPlace(placeRequest))
+      .onSuccessTask((response) -> Tasks.forResult(response.getPlace()));
+  }
+
+  @ReactMethod
+  public void fetchPlacesByIDs(ReadableArray placeIDs, ReadableArray fields, ReadableMap options,
+                               final Promise promise) {
+    final GooglePlacesSdkTrace trace = metrics.start("fetchPlacesByIDs");
+    whenInitialized(promise, () -> fetchPlacesByIDs(placeIDs, fields, options, promise, trace));
+  }
+
+  private void fetchPlacesByIDs(ReadableArray placeIDs, ReadableArray fields, ReadableMap options,
+                                Promise promise, GooglePlacesSdkTrace trace) {
+    final List<Place.Field> placeFields = resolvePlaceFields(fields, options, promise);
+    if (placeFields == null) return;
+
+    int concurrency = GooglePlacesSdkUtils.GetIntOption(options, "concurrency",
+      GooglePlacesSdkConstants.DEFAULT_BATCH_CONCURRENCY);
+    final boolean compact = GooglePlacesSdkUtils.GetBooleanOption(options, "compact", false);
+
+    List<String> uniquePlaceIDs = GooglePlacesSdkUtils.ParseUniqueStrings(placeIDs);
+    trace.mark(GooglePlacesSdkTrace.Phase.BUILD);
+    // The deadline covers the whole batch, the places still pending when it passes are cancelled
+    final GooglePlacesSdkPromise batchPromise = new GooglePlacesSdkPromise(promise);
+    final CancellationTokenSource cancellationTokenSource = new CancellationTokenSource();
+    scheduleDeadline(batchPromise, getTimeoutMs(options), cancellationTokenSource, trace);
+    inFlightRequests.track(GooglePlacesSdkUtils.GetStringOption(options, "tag", null), batchPromise,
+      cancellationTokenSource, trace);
+    new GooglePlacesSdkPlaceBatch(
+      uniquePlaceIDs,
+      (placeID, callback) -> fetchPlace(placeID, placeFields, null, GooglePlacesSdkRateLimiter.PRIORITY_LOW,
+        cancellationTokenSource.getToken(), GooglePlacesSdkTrace.untraced(), callback),
+      (batch) -> {
+        if (batchPromise.isSettled()) return;
+
+        trace.mark(GooglePlacesSdkTrace.Phase.NETWORK);
+        Object results = compact ? batch.toCompactMap(placeFields) : batch.toWritableArray(placeFields);
+        trace.parsed(results, uniquePlaceIDs.size());
+        if (batchPromise.resolve(results)) trace.resolved();
+      }
+    ).start(concurrency);
+  }
+
+  // Resolves explicit fields, or the requested or default field profile when none are passed.
+  // Rejects the promise and returns null for unknown field or profile names.
+  private List<Place.Field> resolveHeadFields(ReadableMap options, Promise promise) {
+    ReadableArray headFields = options.hasKey("headFields") && !options.isNull("headFields")
+      ? options.getArray("headFields") : null;
+    if (headFields == null) return GooglePlacesSdkFieldProfiles.HEAD_FIELDS;
+
+    List<String> unknownFields = new ArrayList<>();
+    List<Place.Field> placeFields = GooglePlacesSdkUtils.ParsePlaceFields(headFields, unknownFields);
+    if (!unknownFields.isEmpty()) {
+      promise.reject(GooglePlacesSdkConstants.INVALID_FIELDS, "Unknown place fields: " + unknownFields);
+      return null;
+    }
+
+    return placeFields;
+  }
+
+  // Head and tail are fetched in parallel. Only the tail carries the session token, it is the
+  // request that completes the selection. A head sent with the token would conclude the session
+  // before the tail, so the head is a plain details request, billed on its own. Each part has a
+  // trace of its own, the call's trace covers the two parts and the merge.
+  private void fetchPlaceProgressive(String placeID, final GooglePlacesSdkProgressivePlace progressivePlace,
+                                     final GooglePlacesSdkPromise placePromise, long timeoutMs, String tag,
+                                     final String sessionID, final AutocompleteSessionToken requestSessionToken,
+                                     final GooglePlacesSdkTrace trace) {
+    final GooglePlacesSdkTrace headTrace = metrics.start("fetchPlaceByID.head");
+    final GooglePlacesSdkTrace tailTrace = metrics.start("fetchPlaceByID.tail");
+    PlaceCallback headCallback = new PlaceCallback() {
+      @Override
+      public void onSuccess(Place place) {
+        resolveProgressivePart(progressivePlace, place, progressivePlace.headFields, placePromise, trace, headTrace);
+      }
+
+      @Override
+      public void onFailure(Exception exception) {
+        rejectProgressivePart(exception, placePromise, trace, headTrace);
+      }
+    };
+    PlaceCallback tailCallback = new PlaceCallback() {
+      @Override
+      public void onSuccess(Place place) {
+        resolveProgressivePart(progressivePlace, place, progressivePlace.tailFields, placePromise, trace, tailTrace);
+        if (requestSessionToken != null) sessions.end(sessionID, requestSessionToken);
+      }
+
+      @Override
+      public void onFailure(Exception exception) {
+        rejectProgressivePart(exception, placePromise, trace, tailTrace);
+      }
+    };
+
+    trace.mark(GooglePlacesSdkTrace.Phase.BUILD);
+    CancellationTokenSource cancellationTokenSource = new CancellationTokenSource();
+    scheduleDeadline(placePromise, timeoutMs, cancellationTokenSource, trace);
+    inFlightRequests.track(tag, placePromise, cancellationTokenSource, trace);
+    // A part cancelled by the deadline or cancelAll never calls back, it is recorded with the call
+    placePromise.addOnSettledListener(() -> {
+      String errorCode = placePromise.getErrorCode();
+      if (!GooglePlacesSdkConstants.TIMEOUT.equals(errorCode)
+        && !GooglePlacesSdkConstants.CANCELLED.equals(errorCode)) return;
+
+      headTrace.failed(errorCode);
+      tailTrace.failed(errorCode);
+    });
+    fetchPlace(placeID, progressivePlace.headFields, null, GooglePlacesSdkRateLimiter.PRIORITY_HIGH,
+      cancellationTokenSource.getToken(), headTrace, headCallback);
+    fetchPlace(placeID, progressivePlace.tailFields, requestSessionToken, GooglePlacesSdkRateLimiter.PRIORITY_HIGH,
+      cancellationTokenSource.getToken(), tailTrace, tailCallback);
+  }
+
+  private static void resolveProgressivePart(GooglePlacesSdkProgressivePlace progressivePlace, Place place,
+                                             List<Place.Field> fields, GooglePlacesSdkPromise promise,
+                                             GooglePlacesSdkTrace trace, GooglePlacesSdkTrace partTrace) {
+    if (promise.isSettled()) { // the other part failed or the deadline passed
+      partTrace.resolved();
       return;
     }
 
-    List<Place.Field> placeFields = GooglePlacesSdkUtils.ParsePlaceFields(fields);
+    trace.mark(GooglePlacesSdkTrace.Phase.NETWORK);
+    WritableMap mergedPlace = progressivePlace.onPart(place, fields);
+    partTrace.mark(GooglePlacesSdkTrace.Phase.PARSE);
+    partTrace.resolved();
+    if (mergedPlace == null) return;
+
+    trace.parsed(mergedPlace, 1);
+    if (promise.resolve(mergedPlace)) trace.resolved();
+  }
+
+  private static void rejectProgressivePart(Exception exception, GooglePlacesSdkPromise promise,
+                                            GooglePlacesSdkTrace trace, GooglePlacesSdkTrace partTrace) {
+    partTrace.failed(GooglePlacesSdkUtils.GetErrorCode(exception));
+    rejectWith(exception, promise, trace); // a no-op when the other part already failed
+  }
+
+  private List<Place.Field> resolvePlaceFields(ReadableArray fields, ReadableMap options, Promise promise) {
+    List<String> unknownFields = new ArrayList<>();
+    List<Place.Field> placeFields = GooglePlacesSdkUtils.ParsePlaceFields(fields, unknownFields);
+    if (!unknownFields.isEmpty()) {
+      promise.reject(GooglePlacesSdkConstants.INVALID_FIELDS, "Unknown place fields: " + unknownFields);
+      return null;
+    }
+
+    if (!placeFields.isEmpty()) return placeFields;
+
+    String profile = GooglePlacesSdkUtils.GetStringOption(options, "fieldProfile", null);
+    List<Place.Field> profileFields = fieldProfiles.get(profile);
+    if (profileFields == null) {
+      promise.reject(GooglePlacesSdkConstants.INVALID_FIELDS, fieldProfiles.getError(profile));
+    }
+
+    return profileFields;
+  }
+
+  interface PlaceCallback {
+    void onSuccess(Place place);
+
+    void onFailure(Exception exception);
+  }
+
+  // Looks a place up in memory, then on disk, then over the network.
+  private void fetchPlace(String placeID, List<Place.Field> placeFields,
+                          AutocompleteSessionToken requestSessionToken, int priority,
+                          CancellationToken cancellationToken, final GooglePlacesSdkTrace trace,
+                          final PlaceCallback callback) {
+    Place cachedPlace = placeCache.get(placeID, placeFields);
+    if (cachedPlace != null) {
+      trace.setSource(GooglePlacesSdkTrace.SOURCE_MEMORY).mark(GooglePlacesSdkTrace.Phase.BUILD);
+      callback.onSuccess(cachedPlace);
+      return;
+    }
+
+    if (!diskCache.isEnabled()) {
+      fetchPlaceFromNetwork(placeID, placeFields, requestSessionToken, priority, cancellationToken, trace,
+        callback);
+      return;
+    }
+
+    diskExecutor.execute(() -> {
+      GooglePlacesSdkPlaceCache.CachedPlace diskPlace = diskCache.get(placeID, placeFields);
+      if (diskPlace != null) {
+        trace.setSource(GooglePlacesSdkTrace.SOURCE_DISK).mark(GooglePlacesSdkTrace.Phase.BUILD);
+        placeCache.put(placeID, diskPlace.fields, diskPlace.place);
+        callback.onSuccess(diskPlace.place);
+      } else {
+        fetchPlaceFromNetwork(placeID, placeFields, requestSessionToken, priority, cancellationToken, trace,
+          callback);
+      }
+    });
+  }
+
+  private void fetchPlaceFromNetwork(String placeID, List<Place.Field> placeFields,
+                                     AutocompleteSessionToken requestSessionToken, int priority,
+                                     CancellationToken cancellationToken, final GooglePlacesSdkTrace trace,
+                                     final PlaceCallback callback) {
     FetchPlaceRequest.Builder placeRequestBuilder = FetchPlaceRequest.builder(placeID, placeFields);
-    if (sessionToken != null) {
-      placeRequestBuilder.setSessionToken(sessionToken);
-    } else {
-      Log.w(SESSION_LOG_TAG, "⚠️ Session Token is null. Place selection might not be billed efficiently.");
+    if (requestSessionToken != null) {
+      placeRequestBuilder.setSessionToken(requestSessionToken);
+    }
+    if (cancellationToken != null) {
+      placeRequestBuilder.setCancellationToken(cancellationToken);
     }
     FetchPlaceRequest placeRequest = placeRequestBuilder.build();
+    trace.mark(GooglePlacesSdkTrace.Phase.BUILD);
 
-    placesClient.fetchPlace(placeRequest)
-      .addOnSuccessListener((response) -> {
+    rateLimiter.execute(GooglePlacesSdkRateLimiter.DETAILS, priority, cancellationToken,
+        () -> clientLoader.getBackend().fetchPlace(placeRequest))
+      .addOnSuccessListener(parseExecutor, (response) -> {
+        trace.mark(GooglePlacesSdkTrace.Phase.NETWORK);
         Place place = response.getPlace();
-        promise.resolve(GooglePlacesSdkUtils.ParsePlace((place)));
-        sessionToken = null; // Reset session token after successful fetch
-      })
-      .addOnFailureListener((exception) -> {
-        if (exception instanceof ApiException) {
-          ApiException apiException = (ApiException) exception;
-          promise.reject(
-            Integer.toString(apiException.getStatusCode()),
-            apiException.getLocalizedMessage()
-          );
+        placeCache.put(placeID, placeFields, place);
+        localIndex.add(place);
+        if (diskCache.isEnabled()) {
+          diskExecutor.execute(() -> diskCache.put(placeID, placeFields, place));
         }
+        callback.onSuccess(place);
+      })
+      .addOnFailureListener(parseExecutor, (exception) -> {
+        trace.mark(GooglePlacesSdkTrace.Phase.NETWORK);
+        callback.onFailure(exception);
       });
   }
+
+  @ReactMethod
+  public void fetchPlacePhoto(String reference, double requestedMaxWidth, double requestedMaxHeight,
+                              ReadableMap options, final Promise promise) {
+    final GooglePlacesSdkTrace trace = metrics.start("fetchPlacePhoto");
+    whenInitialized(promise,
+      () -> fetchPlacePhoto(reference, (int) requestedMaxWidth, (int) requestedMaxHeight, options, promise, trace));
+  }
+
+  private void fetchPlacePhoto(String reference, int maxWidth, int maxHeight, ReadableMap options, Promise promise,
+                               GooglePlacesSdkTrace trace) {
+    final GooglePlacesSdkPromise photoPromise = new GooglePlacesSdkPromise(promise);
+    final CancellationTokenSource cancellationTokenSource = new CancellationTokenSource();
+    scheduleDeadline(photoPromise, getTimeoutMs(options), cancellationTokenSource, trace);
+    inFlightRequests.track(GooglePlacesSdkUtils.GetStringOption(options, "tag", null), photoPromise,
+      cancellationTokenSource, trace);
+    photoExecutor.execute(() -> {
+      File file = photoCache.getFile(reference, maxWidth, maxHeight);
+      if (file.exists()) {
+        trace.setSource(GooglePlacesSdkTrace.SOURCE_DISK).mark(GooglePlacesSdkTrace.Phase.BUILD);
+        if (photoPromise.resolve(GooglePlacesSdkPhotoCache.ParsePhotoFile(file))) trace.resolved();
+        return;
+      }
+
+      Bitmap cachedBitmap = photoCache.getBitmap(reference, maxWidth, maxHeight);
+      if (cachedBitmap != null) {
+        trace.setSource(GooglePlacesSdkTrace.SOURCE_MEMORY).mark(GooglePlacesSdkTrace.Phase.BUILD);
+        writePhoto(reference, maxWidth, maxHeight, cachedBitmap, photoPromise, trace);
+        return;
+      }
+
+      // The reference is all fetchPhoto needs, the other metadata is required by the builder only
+      PhotoMetadata photoMetadata = PhotoMetadata.builder(reference)
+        .setAttributions("")
+        .setWidth(maxWidth)
+        .setHeight(maxHeight)
+        .build();
+      FetchPhotoRequest photoRequest = FetchPhotoRequest.builder(photoMetadata)
+        .setMaxWidth(maxWidth)
+        .setMaxHeight(maxHeight)
+        .setCancellationToken(cancellationTokenSource.getToken())
+        .build();
+      trace.mark(GooglePlacesSdkTrace.Phase.BUILD);
+
+      rateLimiter.execute(GooglePlacesSdkRateLimiter.PHOTOS, GooglePlacesSdkRateLimiter.PRIORITY_NORMAL,
+          cancellationTokenSource.getToken(), () -> clientLoader.getBackend().fetchPhoto(photoRequest))
+        .addOnSuccessListener(photoExecutor, (response) -> {
+          trace.mark(GooglePlacesSdkTrace.Phase.NETWORK);
+          photoCache.putBitmap(reference, response.getBitmap());
+          writePhoto(reference, maxWidth, maxHeight, response.getBitmap(), photoPromise, trace);
+        })
+        .addOnFailureListener(photoExecutor, (exception) -> {
+          trace.mark(GooglePlacesSdkTrace.Phase.NETWORK);
+          rejectWith(exception, photoPromise, trace);
+        });
+    });
+  }
+
+  private void writePhoto(String reference, int maxWidth, int maxHeight, Bitmap bitmap,
+                          GooglePlacesSdkPromise promise, GooglePlacesSdkTrace trace) {
+    try {
+      File file = photoCache.write(reference, maxWidth, maxHeight, bitmap);
+      trace.mark(GooglePlacesSdkTrace.Phase.PARSE);
+      if (promise.resolve(GooglePlacesSdkPhotoCache.ParsePhotoFile(file))) trace.resolved();
+    } catch (IOException e) {
+      // Failing to write to app storage is not a network error
+      if (promise.reject(GooglePlacesSdkConstants.INTERNAL, e.getLocalizedMessage())) {
+        trace.failed(GooglePlacesSdkConstants.INTERNAL);
+      }
+    }
+  }
+
+  // Synchronous reads of the in-memory caches for rendering cached results in the same frame. They
+  // run on the JS thread and return null on a miss, they never go to disk or the network.
+  @ReactMethod(isBlockingSynchronousMethod = true)
+  public WritableMap getCachedPlaceSync(String placeID, ReadableArray fields, ReadableMap options) {
+    List<String> unknownFields = new ArrayList<>();
+    List<Place.Field> placeFields = GooglePlacesSdkUtils.ParsePlaceFields(fields, unknownFields);
+    if (!unknownFields.isEmpty()) return null;
+
+    if (placeFields.isEmpty()) {
+      placeFields = fieldProfiles.get(GooglePlacesSdkUtils.GetStringOption(options, "fieldProfile", null));
+      if (placeFields == null) return null;
+    }
+
+    Place cachedPlace = placeCache.get(placeID, placeFields);
+    return cachedPlace != null ? GooglePlacesSdkUtils.ParsePlace(cachedPlace, placeFields) : null;
+  }
+
+  @ReactMethod(isBlockingSynchronousMethod = true)
+  public WritableArray getCachedPredictionsSync(String query, ReadableMap options) {
+    String sessionID = GooglePlacesSdkSessionRegistry.ParseSessionID(
+      GooglePlacesSdkUtils.GetStringOption(options, "sessionID", null));
+    AutocompleteSessionToken requestSessionToken = sessions.get(sessionID);
+    if (requestSessionToken == null) return null; // predictions are cached per session
+
+    String cacheKey = GooglePlacesSdkUtils.buildPredictionCacheKey(query, options, requestSessionToken);
+    List<AutocompletePrediction> cachedPredictions = predictionCache.get(cacheKey);
+    if (cachedPredictions == null) return null;
+
+    return parsePredictions(cachedPredictions, localIndex.query(query));
+  }
+
+  @ReactMethod
+  public void clearPhotoCache() {
+    photoExecutor.execute(photoCache::clear);
+  }
+
+  @ReactMethod
+  public void getPhotoCacheStats(final Promise promise) {
+    promise.resolve(photoCache.getStats());
+  }
+
+  @ReactMethod
+  public void clearPlaceCache() {
+    placeCache.clear();
+    diskExecutor.execute(diskCache::clear);
+  }
+
+  @ReactMethod
+  public void getPlaceCacheStats(final Promise promise) {
+    diskExecutor.execute(() -> {
+      WritableMap stats = placeCache.getStats();
+      stats.putMap("disk", diskCache.getStats());
+      promise.resolve(stats);
+    });
+  }
+
+  @ReactMethod
+  public void clearPredictionCache() {
+    predictionCache.clear();
+  }
+
+  @ReactMethod
+  public void getPredictionCacheStats(final Promise promise) {
+    promise.resolve(predictionCache.getStats());
+  }
+
+  @ReactMethod
+  public void getMetrics(final Promise promise) {
+    promise.resolve(metrics.toWritableMap());
+  }
+
+  @ReactMethod
+  public void resetMetrics() {
+    metrics.reset();
+  }
+
+  // The place type table the type indices of compact results refer to
+  @ReactMethod
+  public void getPlaceTypes(final Promise promise) {
+    promise.resolve(GooglePlacesSdkCompactEncoder.GetPlaceTypes());
+  }
+
+  // Cancels the requests in flight with the tag, or all of them for a null tag, and resolves with
+  // how many were cancelled.
+  @ReactMethod
+  public void cancelAll(String tag, final Promise promise) {
+    promise.resolve(inFlightRequests.cancelAll(tag, true));
+  }
+
+  @ReactMethod
+  public void getInFlightStats(final Promise promise) {
+    promise.resolve(inFlightRequests.getStats());
+  }
+
+  @ReactMethod
+  public void getMemoryStats(final Promise promise) {
+    promise.resolve(memoryGovernor.getStats());
+  }
+
+  @ReactMethod
+  public void getInitStats(final Promise promise) {
+    promise.resolve(clientLoader.getStats());
+  }
+
+  // Promises handed to native calls that have not settled yet
+  @ReactMethod
+  public void getOutstandingPromises(final Promise promise) {
+    promise.resolve(GooglePlacesSdkPromise.getOutstandingCount());
+  }
+
+  // Required by NativeEventEmitter, events are emitted regardless of listener count
+  @ReactMethod
+  public void addListener(String eventName) {
+  }
+
+  @ReactMethod
+  public void removeListeners(double count) {
+  }
+
+  @ReactMethod
+  public void clearLocalIndex() {
+    localIndex.clear();
+  }
+
+  @ReactMethod
+  public void getLocalIndexStats(final Promise promise) {
+    promise.resolve(localIndex.getStats());
+  }
+
+  @ReactMethod
+  public void getRateLimitStats(final Promise promise) {
+    promise.resolve(rateLimiter.getStats());
+  }
+
+  @ReactMethod
+  public void getPrefetchStats(final Promise promise) {
+    promise.resolve(prefetcher.getStats());
+  }
 }
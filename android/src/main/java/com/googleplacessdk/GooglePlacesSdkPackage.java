@@ -1,28 +1,46 @@
 package com.googleplacessdk;
 
-import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
-import com.facebook.react.ReactPackage;
+import com.facebook.react.TurboReactPackage;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactApplicationContext;
-import com.facebook.react.uimanager.ViewManager;
+import com.facebook.react.module.model.ReactModuleInfo;
+import com.facebook.react.module.model.ReactModuleInfoProvider;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
-public class GooglePlacesSdkPackage implements ReactPackage {
-  @NonNull
+/**
+ * Registers {@link GooglePlacesSdkModule} lazily, it is only created the first time JS uses it. With
+ * the new architecture it is exposed as a TurboModule.
+ */
+public class GooglePlacesSdkPackage extends TurboReactPackage {
+  @Nullable
   @Override
-  public List<NativeModule> createNativeModules(@NonNull ReactApplicationContext reactContext) {
-    List<NativeModule> modules = new ArrayList<>();
-    modules.add(new GooglePlacesSdkModule(reactContext));
-    return modules;
+  public NativeModule getModule(String name, ReactApplicationContext reactContext) {
+    if (name.equals(GooglePlacesSdkModule.NAME)) {
+      return new GooglePlacesSdkModule(reactContext);
+    }
+    return null;
   }
 
-  @NonNull
   @Override
-  public List<ViewManager> createViewManagers(@NonNull ReactApplicationContext reactContext) {
-    return Collections.emptyList();
+  public ReactModuleInfoProvider getReactModuleInfoProvider() {
+    return () -> {
+      Map<String, ReactModuleInfo> moduleInfos = new HashMap<>();
+      moduleInfos.put(
+        GooglePlacesSdkModule.NAME,
+        new ReactModuleInfo(
+          GooglePlacesSdkModule.NAME,
+          GooglePlacesSdkModule.NAME,
+          false, // canOverrideExistingModule
+          false, // needsEagerInit
+          false, // hasConstants
+          false, // isCxxModule
+          BuildConfig.IS_NEW_ARCHITECTURE_ENABLED // isTurboModule
+        ));
+      return moduleInfos;
+    };
   }
 }
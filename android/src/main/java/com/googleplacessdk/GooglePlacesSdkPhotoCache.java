@@ -0,0 +1,155 @@
+package com.googleplacessdk;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Two level cache for place photos. Fetched bitmaps are kept in a memory LRU bounded in bytes so
+ * the same photo can be downscaled to other sizes without another request, and every downscaled
+ * size is written as a JPEG file whose URI is handed to JS instead of the image data. Files are
+ * written and cleared from a single I/O thread.
+ */
+class GooglePlacesSdkPhotoCache implements GooglePlacesSdkMemoryGovernor.Trimmable {
+  private static final int JPEG_QUALITY = 90;
+
+  private final File directory;
+  private final GooglePlacesSdkLruCache<String, Bitmap> bitmaps;
+  private volatile long diskMaxBytes;
+  // Bytes of the files on disk, counted from the directory on the first write
+  private long diskBytes = -1;
+
+  GooglePlacesSdkPhotoCache(File directory, long memoryMaxBytes, long diskMaxBytes) {
+    this.directory = directory;
+    this.diskMaxBytes = diskMaxBytes;
+    this.bitmaps = new GooglePlacesSdkLruCache<>(
+      Integer.MAX_VALUE, 0, Bitmap::getByteCount, memoryMaxBytes);
+  }
+
+  void configure(long memoryMaxBytes, long diskMaxBytes) {
+    bitmaps.setMaxBytes(memoryMaxBytes);
+    this.diskMaxBytes = diskMaxBytes;
+  }
+
+  File getFile(String reference, int maxWidth, int maxHeight) {
+    return new File(directory,
+      GooglePlacesSdkDiskCache.toFileName(reference) + "_" + maxWidth + "x" + maxHeight + ".jpg");
+  }
+
+  // Returns a cached bitmap only if it is large enough to be downscaled to the requested size.
+  Bitmap getBitmap(String reference, final int maxWidth, final int maxHeight) {
+    return bitmaps.get(reference, (bitmap) -> ScaleToFit(bitmap, maxWidth, maxHeight) <= 1);
+  }
+
+  void putBitmap(String reference, Bitmap bitmap) {
+    bitmaps.put(reference, bitmap);
+  }
+
+  File write(String reference, int maxWidth, int maxHeight, Bitmap bitmap) throws IOException {
+    File file = getFile(reference, maxWidth, maxHeight);
+    if (!directory.exists()) directory.mkdirs();
+    if (diskBytes < 0) diskBytes = GooglePlacesSdkDiskCache.totalBytes(directory.listFiles());
+    long replacedBytes = file.length();
+
+    // A temp file of its own, so a write never reuses one left behind by an interrupted write
+    File tempFile = File.createTempFile(file.getName(), GooglePlacesSdkDiskCache.TEMP_SUFFIX, directory);
+    Bitmap scaledBitmap = Downscale(bitmap, maxWidth, maxHeight);
+    boolean written = false;
+    try {
+      OutputStream output = new FileOutputStream(tempFile);
+      try {
+        scaledBitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, output);
+      } finally {
+        output.close();
+      }
+      written = true;
+    } finally {
+      if (scaledBitmap != bitmap) scaledBitmap.recycle();
+      if (!written) tempFile.delete();
+    }
+
+    if (!tempFile.renameTo(file)) {
+      tempFile.delete();
+      throw new IOException("Failed to write photo " + file.getName());
+    }
+
+    // The directory is only listed when this write takes it over its budget
+    diskBytes += file.length() - replacedBytes;
+    if (diskBytes > diskMaxBytes) {
+      GooglePlacesSdkDiskCache.trimDirectory(directory, diskMaxBytes, file);
+      diskBytes = GooglePlacesSdkDiskCache.totalBytes(directory.listFiles());
+    }
+    return file;
+  }
+
+  void clear() {
+    bitmaps.clear();
+    diskBytes = -1;
+    File[] files = directory.listFiles();
+    if (files == null) return;
+
+    for (File file : files) {
+      file.delete();
+    }
+  }
+
+  WritableMap getStats() {
+    WritableMap stats = bitmaps.getStats();
+    stats.putDouble("diskBytes", GooglePlacesSdkDiskCache.totalBytes(directory.listFiles()));
+    stats.putDouble("diskMaxBytes", diskMaxBytes);
+
+    return stats;
+  }
+
+  // Only the decoded bitmaps count, the files stay on disk
+  @Override
+  public long getBytes() {
+    return bitmaps.getBytes();
+  }
+
+  @Override
+  public long getMaxBytes() {
+    return bitmaps.getMaxBytes();
+  }
+
+  @Override
+  public void trim(double keepFraction) {
+    bitmaps.trim(keepFraction);
+  }
+
+  static WritableMap ParsePhotoFile(File file) {
+    BitmapFactory.Options options = new BitmapFactory.Options();
+    options.inJustDecodeBounds = true;
+    BitmapFactory.decodeFile(file.getAbsolutePath(), options);
+
+    WritableMap photo = Arguments.createMap();
+    photo.putString("uri", Uri.fromFile(file).toString());
+    photo.putInt("width", options.outWidth);
+    photo.putInt("height", options.outHeight);
+
+    return photo;
+  }
+
+  private static float ScaleToFit(Bitmap bitmap, int maxWidth, int maxHeight) {
+    return Math.min((float) maxWidth / bitmap.getWidth(), (float) maxHeight / bitmap.getHeight());
+  }
+
+  private static Bitmap Downscale(Bitmap bitmap, int maxWidth, int maxHeight) {
+    float scale = ScaleToFit(bitmap, maxWidth, maxHeight);
+    if (scale >= 1) return bitmap;
+
+    return Bitmap.createScaledBitmap(
+      bitmap,
+      Math.max(1, Math.round(bitmap.getWidth() * scale)),
+      Math.max(1, Math.round(bitmap.getHeight() * scale)),
+      true);
+  }
+}
@@ -0,0 +1,109 @@
+package com.googleplacessdk;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.libraries.places.api.model.Place;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetches a list of place IDs with at most {@code concurrency} requests in flight and reports
+ * once, after every ID has either a place or an error.
+ */
+class GooglePlacesSdkPlaceBatch {
+  interface PlaceFetcher {
+    void fetch(String placeID, GooglePlacesSdkModule.PlaceCallback callback);
+  }
+
+  interface CompletionListener {
+    void onComplete(GooglePlacesSdkPlaceBatch batch);
+  }
+
+  private final List<String> placeIDs;
+  private final PlaceFetcher fetcher;
+  private final CompletionListener completionListener;
+  private final Place[] places;
+  private final Exception[] errors;
+  private final AtomicInteger nextIndex = new AtomicInteger(0);
+  private final AtomicInteger remaining;
+
+  GooglePlacesSdkPlaceBatch(List<String> placeIDs, PlaceFetcher fetcher, CompletionListener completionListener) {
+    this.placeIDs = placeIDs;
+    this.fetcher = fetcher;
+    this.completionListener = completionListener;
+    this.places = new Place[placeIDs.size()];
+    this.errors = new Exception[placeIDs.size()];
+    this.remaining = new AtomicInteger(placeIDs.size());
+  }
+
+  void start(int concurrency) {
+    if (placeIDs.isEmpty()) {
+      completionListener.onComplete(this);
+      return;
+    }
+
+    int workers = Math.min(Math.max(concurrency, 1), placeIDs.size());
+    for (int i = 0; i < workers; i++) {
+      fetchNext();
+    }
+  }
+
+  WritableArray toWritableArray(List<Place.Field> fields) {
+    WritableArray results = Arguments.createArray();
+    for (int i = 0; i < placeIDs.size(); i++) {
+      WritableMap result = Arguments.createMap();
+      result.putString("placeID", placeIDs.get(i));
+      if (places[i] != null) {
+        result.putMap("place", GooglePlacesSdkUtils.ParsePlace(places[i], fields));
+        result.putNull("error");
+      } else {
+        result.putNull("place");
+        result.putMap("error", ParseError(errors[i]));
+      }
+      results.pushMap(result);
+    }
+
+    return results;
+  }
+
+  WritableMap toCompactMap(List<Place.Field> fields) {
+    return GooglePlacesSdkCompactEncoder.EncodePlaceResults(placeIDs, places, errors, fields);
+  }
+
+  private static WritableMap ParseError(Exception exception) {
+    WritableMap error = Arguments.createMap();
+    error.putString("code", GooglePlacesSdkUtils.GetErrorCode(exception));
+    error.putString("message", exception != null ? exception.getLocalizedMessage() : null);
+
+    return error;
+  }
+
+  private void fetchNext() {
+    final int index = nextIndex.getAndIncrement();
+    if (index >= placeIDs.size()) return;
+
+    fetcher.fetch(placeIDs.get(index), new GooglePlacesSdkModule.PlaceCallback() {
+      @Override
+      public void onSuccess(Place place) {
+        places[index] = place;
+        onFetched();
+      }
+
+      @Override
+      public void onFailure(Exception exception) {
+        errors[index] = exception;
+        onFetched();
+      }
+    });
+  }
+
+  private void onFetched() {
+    if (remaining.decrementAndGet() == 0) {
+      completionListener.onComplete(this);
+    } else {
+      fetchNext();
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.googleplacessdk;
+
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.libraries.places.api.model.Place;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Caches fetched places by place ID together with the set of fields they were requested with, so
+ * a later request for the same or a smaller field set is answered without a network round trip.
+ */
+class GooglePlacesSdkPlaceCache implements GooglePlacesSdkMemoryGovernor.Trimmable {
+  static class CachedPlace {
+    final Place place;
+    final EnumSet<Place.Field> fields;
+
+    CachedPlace(Place place, EnumSet<Place.Field> fields) {
+      this.place = place;
+      this.fields = fields;
+    }
+  }
+
+  private final GooglePlacesSdkLruCache<String, CachedPlace> cache;
+
+  GooglePlacesSdkPlaceCache(int maxEntries, long ttlMs, long maxBytes) {
+    this(maxEntries, ttlMs, maxBytes, GooglePlacesSdkClock.SYSTEM);
+  }
+
+  GooglePlacesSdkPlaceCache(int maxEntries, long ttlMs, long maxBytes, GooglePlacesSdkClock clock) {
+    cache = new GooglePlacesSdkLruCache<>(maxEntries, ttlMs,
+      (value) -> GooglePlacesSdkMemoryGovernor.EstimatePlaceBytes(value.place), maxBytes, clock);
+  }
+
+  void configure(int maxEntries, long ttlMs, long maxBytes) {
+    cache.configure(maxEntries, ttlMs);
+    cache.setMaxBytes(maxBytes);
+  }
+
+  Place get(String placeID, final List<Place.Field> fields) {
+    CachedPlace cachedPlace = cache.get(placeID, (value) -> value.fields.containsAll(fields));
+    return cachedPlace != null ? cachedPlace.place : null;
+  }
+
+  void put(String placeID, Collection<Place.Field> fields, Place place) {
+    cache.put(placeID, new CachedPlace(place, toFieldSet(fields)));
+  }
+
+  void clear() {
+    cache.clear();
+  }
+
+  WritableMap getStats() {
+    return cache.getStats();
+  }
+
+  @Override
+  public long getBytes() {
+    return cache.getBytes();
+  }
+
+  @Override
+  public long getMaxBytes() {
+    return cache.getMaxBytes();
+  }
+
+  @Override
+  public void trim(double keepFraction) {
+    cache.trim(keepFraction);
+  }
+
+  static EnumSet<Place.Field> toFieldSet(Collection<Place.Field> fields) {
+    EnumSet<Place.Field> fieldSet = EnumSet.noneOf(Place.Field.class);
+    fieldSet.addAll(fields);
+    return fieldSet;
+  }
+}
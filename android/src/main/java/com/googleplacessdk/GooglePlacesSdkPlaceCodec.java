@@ -0,0 +1,377 @@
+package com.googleplacessdk;
+
+import android.net.Uri;
+
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import com.google.android.libraries.places.api.model.AddressComponent;
+import com.google.android.libraries.places.api.model.AddressComponents;
+import com.google.android.libraries.places.api.model.DayOfWeek;
+import com.google.android.libraries.places.api.model.LocalTime;
+import com.google.android.libraries.places.api.model.OpeningHours;
+import com.google.android.libraries.places.api.model.Period;
+import com.google.android.libraries.places.api.model.PhotoMetadata;
+import com.google.android.libraries.places.api.model.Place;
+import com.google.android.libraries.places.api.model.PlusCode;
+import com.google.android.libraries.places.api.model.TimeOfWeek;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Field by field binary encoding of a {@link Place}, for storing places on disk. Unlike a parcel,
+ * the layout is owned by this class and does not change with the Places SDK or Android version.
+ * Each field is written as its name followed by its value, nullable values behind a presence flag
+ * and enums by name. Only the fields in {@link #ENCODED_FIELDS} are stored, a stored place does not
+ * claim any other field. A field or enum name the SDK no longer knows fails the read with an
+ * {@link IllegalArgumentException}, the caller treats it like a corrupt file.
+ */
+class GooglePlacesSdkPlaceCodec {
+  // Every field a request can map to, see GooglePlacesSdkConstants.PLACE_FIELD_MAP
+  static final EnumSet<Place.Field> ENCODED_FIELDS = EnumSet.of(
+    Place.Field.ID, Place.Field.NAME, Place.Field.ADDRESS, Place.Field.ADDRESS_COMPONENTS,
+    Place.Field.PHONE_NUMBER, Place.Field.ICON_URL, Place.Field.WEBSITE_URI, Place.Field.LAT_LNG,
+    Place.Field.VIEWPORT, Place.Field.PLUS_CODE, Place.Field.TYPES, Place.Field.RATING,
+    Place.Field.USER_RATINGS_TOTAL, Place.Field.PRICE_LEVEL, Place.Field.UTC_OFFSET,
+    Place.Field.BUSINESS_STATUS, Place.Field.OPENING_HOURS, Place.Field.PHOTO_METADATAS,
+    Place.Field.TAKEOUT, Place.Field.DELIVERY, Place.Field.DINE_IN, Place.Field.CURBSIDE_PICKUP);
+
+  static void WritePlace(DataOutputStream output, Place place, Collection<Place.Field> fields) throws IOException {
+    EnumSet<Place.Field> encodedFields = GooglePlacesSdkPlaceCache.toFieldSet(fields);
+    encodedFields.retainAll(ENCODED_FIELDS);
+
+    output.writeInt(encodedFields.size());
+    for (Place.Field field : encodedFields) {
+      output.writeUTF(field.name());
+      WriteField(output, place, field);
+    }
+    WriteStrings(output, place.getAttributions());
+  }
+
+  static GooglePlacesSdkPlaceCache.CachedPlace ReadPlace(DataInputStream input) throws IOException {
+    Place.Builder builder = Place.builder();
+    EnumSet<Place.Field> fields = EnumSet.noneOf(Place.Field.class);
+    int fieldCount = input.readInt();
+    for (int i = 0; i < fieldCount; i++) {
+      Place.Field field = Place.Field.valueOf(input.readUTF());
+      ReadField(input, builder, field);
+      fields.add(field);
+    }
+    builder.setAttributions(ReadStrings(input));
+
+    return new GooglePlacesSdkPlaceCache.CachedPlace(builder.build(), fields);
+  }
+
+  private static void WriteField(DataOutputStream output, Place place, Place.Field field) throws IOException {
+    switch (field) {
+      case ID:
+        WriteString(output, place.getId());
+        break;
+      case NAME:
+        WriteString(output, place.getName());
+        break;
+      case ADDRESS:
+        WriteString(output, place.getAddress());
+        break;
+      case PHONE_NUMBER:
+        WriteString(output, place.getPhoneNumber());
+        break;
+      case ICON_URL:
+        WriteString(output, place.getIconUrl());
+        break;
+      case WEBSITE_URI:
+        WriteString(output, place.getWebsiteUri() != null ? place.getWebsiteUri().toString() : null);
+        break;
+      case LAT_LNG:
+        WriteLatLng(output, place.getLatLng());
+        break;
+      case VIEWPORT:
+        LatLngBounds viewport = place.getViewport();
+        output.writeBoolean(viewport != null);
+        if (viewport != null) {
+          WriteLatLng(output, viewport.southwest);
+          WriteLatLng(output, viewport.northeast);
+        }
+        break;
+      case PLUS_CODE:
+        PlusCode plusCode = place.getPlusCode();
+        output.writeBoolean(plusCode != null);
+        if (plusCode != null) {
+          WriteString(output, plusCode.getCompoundCode());
+          WriteString(output, plusCode.getGlobalCode());
+        }
+        break;
+      case TYPES:
+        List<String> typeNames = null;
+        if (place.getTypes() != null) {
+          typeNames = new ArrayList<>(place.getTypes().size());
+          for (Place.Type type : place.getTypes()) {
+            typeNames.add(type.name());
+          }
+        }
+        WriteStrings(output, typeNames);
+        break;
+      case RATING:
+        output.writeBoolean(place.getRating() != null);
+        if (place.getRating() != null) output.writeDouble(place.getRating());
+        break;
+      case USER_RATINGS_TOTAL:
+        WriteInteger(output, place.getUserRatingsTotal());
+        break;
+      case PRICE_LEVEL:
+        WriteInteger(output, place.getPriceLevel());
+        break;
+      case UTC_OFFSET:
+        WriteInteger(output, place.getUtcOffsetMinutes());
+        break;
+      case BUSINESS_STATUS:
+        WriteEnum(output, place.getBusinessStatus());
+        break;
+      case TAKEOUT:
+        WriteEnum(output, place.getTakeout());
+        break;
+      case DELIVERY:
+        WriteEnum(output, place.getDelivery());
+        break;
+      case DINE_IN:
+        WriteEnum(output, place.getDineIn());
+        break;
+      case CURBSIDE_PICKUP:
+        WriteEnum(output, place.getCurbsidePickup());
+        break;
+      case ADDRESS_COMPONENTS:
+        AddressComponents addressComponents = place.getAddressComponents();
+        output.writeBoolean(addressComponents != null);
+        if (addressComponents != null) {
+          output.writeInt(addressComponents.asList().size());
+          for (AddressComponent component : addressComponents.asList()) {
+            output.writeUTF(component.getName());
+            WriteString(output, component.getShortName());
+            WriteStrings(output, component.getTypes());
+          }
+        }
+        break;
+      case OPENING_HOURS:
+        OpeningHours openingHours = place.getOpeningHours();
+        output.writeBoolean(openingHours != null);
+        if (openingHours != null) {
+          WriteStrings(output, openingHours.getWeekdayText());
+          output.writeInt(openingHours.getPeriods().size());
+          for (Period period : openingHours.getPeriods()) {
+            WriteTimeOfWeek(output, period.getOpen());
+            WriteTimeOfWeek(output, period.getClose());
+          }
+        }
+        break;
+      case PHOTO_METADATAS:
+        List<PhotoMetadata> photos = place.getPhotoMetadatas();
+        output.writeBoolean(photos != null);
+        if (photos != null) {
+          output.writeInt(photos.size());
+          for (PhotoMetadata photo : photos) {
+            output.writeUTF(photo.zza()); // the photo reference, see GooglePlacesSdkUtils.ParsePhotos
+            output.writeInt(photo.getWidth());
+            output.writeInt(photo.getHeight());
+            output.writeUTF(photo.getAttributions() != null ? photo.getAttributions() : "");
+          }
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Cannot encode place field " + field);
+    }
+  }
+
+  private static void ReadField(DataInputStream input, Place.Builder builder, Place.Field field) throws IOException {
+    switch (field) {
+      case ID:
+        builder.setId(ReadString(input));
+        break;
+      case NAME:
+        builder.setName(ReadString(input));
+        break;
+      case ADDRESS:
+        builder.setAddress(ReadString(input));
+        break;
+      case PHONE_NUMBER:
+        builder.setPhoneNumber(ReadString(input));
+        break;
+      case ICON_URL:
+        builder.setIconUrl(ReadString(input));
+        break;
+      case WEBSITE_URI:
+        String websiteUri = ReadString(input);
+        builder.setWebsiteUri(websiteUri != null ? Uri.parse(websiteUri) : null);
+        break;
+      case LAT_LNG:
+        builder.setLatLng(ReadLatLng(input));
+        break;
+      case VIEWPORT:
+        if (input.readBoolean()) builder.setViewport(new LatLngBounds(ReadLatLng(input), ReadLatLng(input)));
+        break;
+      case PLUS_CODE:
+        if (input.readBoolean()) {
+          builder.setPlusCode(PlusCode.builder()
+            .setCompoundCode(ReadString(input))
+            .setGlobalCode(ReadString(input))
+            .build());
+        }
+        break;
+      case TYPES:
+        List<String> typeNames = ReadStrings(input);
+        if (typeNames != null) {
+          List<Place.Type> types = new ArrayList<>(typeNames.size());
+          for (String typeName : typeNames) {
+            types.add(Place.Type.valueOf(typeName));
+          }
+          builder.setTypes(types);
+        }
+        break;
+      case RATING:
+        if (input.readBoolean()) builder.setRating(input.readDouble());
+        break;
+      case USER_RATINGS_TOTAL:
+        builder.setUserRatingsTotal(ReadInteger(input));
+        break;
+      case PRICE_LEVEL:
+        builder.setPriceLevel(ReadInteger(input));
+        break;
+      case UTC_OFFSET:
+        builder.setUtcOffsetMinutes(ReadInteger(input));
+        break;
+      case BUSINESS_STATUS:
+        builder.setBusinessStatus(ReadEnum(input, Place.BusinessStatus.class));
+        break;
+      case TAKEOUT:
+        builder.setTakeout(ReadEnum(input, Place.BooleanPlaceAttributeValue.class));
+        break;
+      case DELIVERY:
+        builder.setDelivery(ReadEnum(input, Place.BooleanPlaceAttributeValue.class));
+        break;
+      case DINE_IN:
+        builder.setDineIn(ReadEnum(input, Place.BooleanPlaceAttributeValue.class));
+        break;
+      case CURBSIDE_PICKUP:
+        builder.setCurbsidePickup(ReadEnum(input, Place.BooleanPlaceAttributeValue.class));
+        break;
+      case ADDRESS_COMPONENTS:
+        if (input.readBoolean()) {
+          int componentCount = input.readInt();
+          List<AddressComponent> components = new ArrayList<>(componentCount);
+          for (int i = 0; i < componentCount; i++) {
+            String name = input.readUTF();
+            String shortName = ReadString(input);
+            components.add(AddressComponent.builder(name, ReadStrings(input)).setShortName(shortName).build());
+          }
+          builder.setAddressComponents(AddressComponents.newInstance(components));
+        }
+        break;
+      case OPENING_HOURS:
+        if (input.readBoolean()) {
+          List<String> weekdayText = ReadStrings(input);
+          int periodCount = input.readInt();
+          List<Period> periods = new ArrayList<>(periodCount);
+          for (int i = 0; i < periodCount; i++) {
+            periods.add(Period.builder().setOpen(ReadTimeOfWeek(input)).setClose(ReadTimeOfWeek(input)).build());
+          }
+          builder.setOpeningHours(OpeningHours.builder().setWeekdayText(weekdayText).setPeriods(periods).build());
+        }
+        break;
+      case PHOTO_METADATAS:
+        if (input.readBoolean()) {
+          int photoCount = input.readInt();
+          List<PhotoMetadata> photos = new ArrayList<>(photoCount);
+          for (int i = 0; i < photoCount; i++) {
+            photos.add(PhotoMetadata.builder(input.readUTF())
+              .setWidth(input.readInt())
+              .setHeight(input.readInt())
+              .setAttributions(input.readUTF())
+              .build());
+          }
+          builder.setPhotoMetadatas(photos);
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Cannot decode place field " + field);
+    }
+  }
+
+  private static void WriteString(DataOutputStream output, String value) throws IOException {
+    output.writeBoolean(value != null);
+    if (value != null) output.writeUTF(value);
+  }
+
+  private static String ReadString(DataInputStream input) throws IOException {
+    return input.readBoolean() ? input.readUTF() : null;
+  }
+
+  private static void WriteStrings(DataOutputStream output, List<String> values) throws IOException {
+    output.writeInt(values != null ? values.size() : -1);
+    if (values == null) return;
+
+    for (String value : values) {
+      output.writeUTF(value);
+    }
+  }
+
+  private static List<String> ReadStrings(DataInputStream input) throws IOException {
+    int count = input.readInt();
+    if (count < 0) return null;
+
+    List<String> values = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      values.add(input.readUTF());
+    }
+    return values;
+  }
+
+  private static void WriteInteger(DataOutputStream output, Integer value) throws IOException {
+    output.writeBoolean(value != null);
+    if (value != null) output.writeInt(value);
+  }
+
+  private static Integer ReadInteger(DataInputStream input) throws IOException {
+    return input.readBoolean() ? input.readInt() : null;
+  }
+
+  private static void WriteEnum(DataOutputStream output, Enum<?> value) throws IOException {
+    WriteString(output, value != null ? value.name() : null);
+  }
+
+  private static <E extends Enum<E>> E ReadEnum(DataInputStream input, Class<E> type) throws IOException {
+    String name = ReadString(input);
+    return name != null ? Enum.valueOf(type, name) : null;
+  }
+
+  private static void WriteLatLng(DataOutputStream output, LatLng latLng) throws IOException {
+    output.writeBoolean(latLng != null);
+    if (latLng == null) return;
+
+    output.writeDouble(latLng.latitude);
+    output.writeDouble(latLng.longitude);
+  }
+
+  private static LatLng ReadLatLng(DataInputStream input) throws IOException {
+    return input.readBoolean() ? new LatLng(input.readDouble(), input.readDouble()) : null;
+  }
+
+  private static void WriteTimeOfWeek(DataOutputStream output, TimeOfWeek timeOfWeek) throws IOException {
+    output.writeBoolean(timeOfWeek != null);
+    if (timeOfWeek == null) return;
+
+    output.writeUTF(timeOfWeek.getDay().name());
+    output.writeInt(timeOfWeek.getTime().getHours());
+    output.writeInt(timeOfWeek.getTime().getMinutes());
+  }
+
+  private static TimeOfWeek ReadTimeOfWeek(DataInputStream input) throws IOException {
+    if (!input.readBoolean()) return null;
+
+    DayOfWeek day = DayOfWeek.valueOf(input.readUTF());
+    return TimeOfWeek.newInstance(day, LocalTime.newInstance(input.readInt(), input.readInt()));
+  }
+}
@@ -0,0 +1,87 @@
+package com.googleplacessdk;
+
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.gms.tasks.CancellationTokenSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latest-wins scheduling for autocomplete requests. A submitted request waits for the debounce
+ * window before it is sent, and any newer submission with the same key rejects the previous one
+ * with {@link GooglePlacesSdkConstants#SUPERSEDED} and cancels its SDK task if it already started.
+ * Requests are keyed by session so independent search fields do not supersede each other.
+ */
+class GooglePlacesSdkPredictionDebouncer {
+  interface Request {
+    void execute(CancellationToken cancellationToken);
+  }
+
+  private static class PendingRequest {
+    final GooglePlacesSdkPromise promise;
+    final CancellationTokenSource cancellationTokenSource;
+    ScheduledFuture<?> future;
+
+    PendingRequest(GooglePlacesSdkPromise promise, CancellationTokenSource cancellationTokenSource) {
+      this.promise = promise;
+      this.cancellationTokenSource = cancellationTokenSource;
+    }
+  }
+
+  private final ScheduledExecutorService scheduler;
+  private long windowMs;
+  private final Map<String, PendingRequest> latest = new HashMap<>();
+
+  GooglePlacesSdkPredictionDebouncer(ScheduledExecutorService scheduler) {
+    this.scheduler = scheduler;
+  }
+
+  synchronized void setWindowMs(long windowMs) {
+    this.windowMs = windowMs;
+  }
+
+  synchronized boolean isEnabled() {
+    return windowMs > 0;
+  }
+
+  // The cancellation token source is shared with the request's deadline, either one cancels the SDK task.
+  synchronized void submit(final String key, GooglePlacesSdkPromise promise,
+                           CancellationTokenSource cancellationTokenSource, final Request request) {
+    supersedeLatest(key);
+
+    final PendingRequest pendingRequest = new PendingRequest(promise, cancellationTokenSource);
+    latest.put(key, pendingRequest);
+    pendingRequest.future = scheduler.schedule(
+      () -> execute(key, pendingRequest, request), windowMs, TimeUnit.MILLISECONDS);
+  }
+
+  // Called when a newer query is answered without going through the debouncer, e.g. from cache.
+  synchronized void supersedeLatest(String key) {
+    PendingRequest pendingRequest = latest.remove(key);
+    if (pendingRequest != null) supersede(pendingRequest);
+  }
+
+  synchronized void supersedeAll() {
+    for (PendingRequest pendingRequest : latest.values()) {
+      supersede(pendingRequest);
+    }
+    latest.clear();
+  }
+
+  private static void supersede(PendingRequest pendingRequest) {
+    if (pendingRequest.future != null) pendingRequest.future.cancel(false);
+    pendingRequest.cancellationTokenSource.cancel();
+    pendingRequest.promise.reject(GooglePlacesSdkConstants.SUPERSEDED, "Superseded by a newer prediction request");
+  }
+
+  private void execute(String key, PendingRequest pendingRequest, Request request) {
+    synchronized (this) {
+      if (latest.get(key) != pendingRequest) return;
+    }
+
+    request.execute(pendingRequest.cancellationTokenSource.getToken());
+  }
+}
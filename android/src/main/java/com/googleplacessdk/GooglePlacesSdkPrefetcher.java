@@ -0,0 +1,179 @@
+package com.googleplacessdk;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.gms.tasks.CancellationTokenSource;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.android.libraries.places.api.model.AutocompletePrediction;
+import com.google.android.libraries.places.api.model.Place;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Speculative prefetch of the details of the top predictions. Once a session's predictions have
+ * been stable for {@code delayMs}, the first {@code count} places are fetched in the background
+ * with a light field set and kept for a short time, so a selection among them does not wait for
+ * the network. Prefetches are sent without the session token: a details request carrying it would
+ * conclude the session before the user picked anything. The module concludes the session of a
+ * selection served from a prefetch with a separate request for the place ID.
+ */
+class GooglePlacesSdkPrefetcher {
+  interface PlaceFetcher {
+    Task<Place> fetch(String placeID, List<Place.Field> fields, CancellationToken cancellationToken);
+  }
+
+  private static class PendingPlace {
+    final Task<Place> task;
+    final List<Place.Field> fields;
+    final CancellationTokenSource cancellationTokenSource;
+
+    PendingPlace(Task<Place> task, List<Place.Field> fields, CancellationTokenSource cancellationTokenSource) {
+      this.task = task;
+      this.fields = fields;
+      this.cancellationTokenSource = cancellationTokenSource;
+    }
+  }
+
+  private final ScheduledExecutorService scheduler;
+  private final PlaceFetcher fetcher;
+  private final GooglePlacesSdkPlaceCache cache = new GooglePlacesSdkPlaceCache(
+    GooglePlacesSdkConstants.DEFAULT_PREFETCH_MAX_ENTRIES, GooglePlacesSdkConstants.DEFAULT_PREFETCH_TTL_MS,
+    GooglePlacesSdkConstants.DEFAULT_PREFETCH_MAX_BYTES);
+  // Place IDs waiting for the delay to pass, by session
+  private final Map<String, List<String>> scheduled = new HashMap<>();
+  private final Map<String, PendingPlace> inFlight = new HashMap<>();
+  private volatile boolean enabled;
+  private int count = GooglePlacesSdkConstants.DEFAULT_PREFETCH_COUNT;
+  private long delayMs = GooglePlacesSdkConstants.DEFAULT_PREFETCH_DELAY_MS;
+  private List<Place.Field> fields = Collections.emptyList();
+  private long prefetched;
+  private long failures;
+  private long hits;
+  private long misses;
+
+  GooglePlacesSdkPrefetcher(ScheduledExecutorService scheduler, PlaceFetcher fetcher) {
+    this.scheduler = scheduler;
+    this.fetcher = fetcher;
+  }
+
+  synchronized void configure(boolean enabled, int count, long delayMs, long ttlMs, List<Place.Field> fields) {
+    this.enabled = enabled && count > 0 && !fields.isEmpty();
+    this.count = count;
+    this.delayMs = delayMs;
+    this.fields = fields;
+    cache.configure(GooglePlacesSdkConstants.DEFAULT_PREFETCH_MAX_ENTRIES, ttlMs,
+      GooglePlacesSdkConstants.DEFAULT_PREFETCH_MAX_BYTES);
+    if (!this.enabled) clear();
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  // Replaces the prefetch still waiting for the same session, so only results the user paused on
+  // are prefetched rather than those of every keystroke.
+  synchronized void schedule(final String sessionKey, List<AutocompletePrediction> predictions) {
+    if (!enabled) return;
+
+    final List<String> placeIDs = new ArrayList<>(count);
+    for (int i = 0; i < predictions.size() && placeIDs.size() < count; i++) {
+      placeIDs.add(predictions.get(i).getPlaceId());
+    }
+    if (placeIDs.isEmpty()) {
+      scheduled.remove(sessionKey);
+      return;
+    }
+
+    scheduled.put(sessionKey, placeIDs);
+    scheduler.schedule(() -> start(sessionKey, placeIDs), delayMs, TimeUnit.MILLISECONDS);
+  }
+
+  // Returns the prefetched place, or the prefetch still in flight, if it covers the requested fields.
+  synchronized Task<Place> get(String placeID, List<Place.Field> placeFields) {
+    if (!enabled) return null;
+
+    Place place = cache.get(placeID, placeFields);
+    if (place != null) {
+      hits++;
+      return Tasks.forResult(place);
+    }
+
+    PendingPlace pendingPlace = inFlight.get(placeID);
+    if (pendingPlace != null && pendingPlace.fields.containsAll(placeFields)) {
+      hits++;
+      return pendingPlace.task;
+    }
+
+    misses++;
+    return null;
+  }
+
+  // The short lived prefetched places, for the memory governor.
+  GooglePlacesSdkMemoryGovernor.Trimmable getCache() {
+    return cache;
+  }
+
+  // Also cancels the prefetches in flight. A selection waiting on one falls back to a regular fetch.
+  synchronized void clear() {
+    scheduled.clear();
+    for (PendingPlace pendingPlace : inFlight.values()) {
+      pendingPlace.cancellationTokenSource.cancel();
+    }
+    inFlight.clear();
+    cache.clear();
+  }
+
+  synchronized WritableMap getStats() {
+    WritableMap stats = Arguments.createMap();
+    stats.putBoolean("enabled", enabled);
+    stats.putInt("count", count);
+    stats.putInt("inFlight", inFlight.size());
+    stats.putDouble("prefetched", prefetched);
+    stats.putDouble("failures", failures);
+    stats.putDouble("hits", hits);
+    stats.putDouble("misses", misses);
+    // Share of selections served by a prefetch, and share of prefetches that served a selection
+    stats.putDouble("hitRate", hits + misses > 0 ? (double) hits / (hits + misses) : 0);
+    stats.putDouble("usedRate", prefetched > 0 ? (double) hits / prefetched : 0);
+    stats.putMap("cache", cache.getStats());
+
+    return stats;
+  }
+
+  private synchronized void start(String sessionKey, List<String> placeIDs) {
+    if (!enabled || scheduled.get(sessionKey) != placeIDs) return; // replaced by newer predictions
+
+    scheduled.remove(sessionKey);
+    final List<Place.Field> prefetchFields = fields;
+    for (final String placeID : placeIDs) {
+      if (inFlight.containsKey(placeID) || cache.get(placeID, prefetchFields) != null) continue;
+
+      CancellationTokenSource cancellationTokenSource = new CancellationTokenSource();
+      Task<Place> task = fetcher.fetch(placeID, prefetchFields, cancellationTokenSource.getToken());
+      final PendingPlace pendingPlace = new PendingPlace(task, prefetchFields, cancellationTokenSource);
+      inFlight.put(placeID, pendingPlace);
+      prefetched++;
+      task.addOnCompleteListener(scheduler, (completedTask) -> onComplete(placeID, pendingPlace));
+    }
+  }
+
+  private synchronized void onComplete(String placeID, PendingPlace pendingPlace) {
+    if (inFlight.get(placeID) != pendingPlace) return; // cancelled by clear
+
+    inFlight.remove(placeID);
+    Task<Place> task = pendingPlace.task;
+    if (task.isSuccessful()) {
+      cache.put(placeID, pendingPlace.fields, task.getResult());
+    } else {
+      failures++;
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.googleplacessdk;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.libraries.places.api.model.Place;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Progressive place details. The requested fields are split into a small head set that renders
+ * first and a tail with everything else, both fetched at once. Whichever part arrives first is
+ * emitted as a {@link GooglePlacesSdkConstants#PLACE_PARTIAL_EVENT} tagged with the request ID, and
+ * the merged place resolves the promise once both parts are in.
+ */
+class GooglePlacesSdkProgressivePlace {
+  final List<Place.Field> headFields = new ArrayList<>();
+  final List<Place.Field> tailFields = new ArrayList<>();
+
+  private final String requestID;
+  private final String placeID;
+  private final GooglePlacesSdkMetrics.EventEmitter eventEmitter;
+  private final WritableMap place = Arguments.createMap();
+  private int pendingParts = 2;
+
+  GooglePlacesSdkProgressivePlace(String requestID, String placeID, List<Place.Field> fields,
+                                  Collection<Place.Field> headFieldSet,
+                                  GooglePlacesSdkMetrics.EventEmitter eventEmitter) {
+    this.requestID = requestID;
+    this.placeID = placeID;
+    this.eventEmitter = eventEmitter;
+    for (Place.Field field : fields) {
+      (headFieldSet.contains(field) ? headFields : tailFields).add(field);
+    }
+  }
+
+  // A request with nothing to split is cheaper as a single regular request.
+  boolean canSplit() {
+    return !headFields.isEmpty() && !tailFields.isEmpty();
+  }
+
+  // Returns the merged place once both parts have arrived, null while one is still pending.
+  synchronized WritableMap onPart(Place partPlace, List<Place.Field> fields) {
+    WritableMap part = GooglePlacesSdkUtils.ParsePlace(partPlace, fields);
+    place.merge(part);
+    if (--pendingParts == 0) return place;
+
+    WritableMap event = Arguments.createMap();
+    event.putString("requestID", requestID);
+    event.putString("placeID", placeID);
+    event.putMap("place", part);
+    eventEmitter.emit(GooglePlacesSdkConstants.PLACE_PARTIAL_EVENT, event);
+
+    return null;
+  }
+}
@@ -0,0 +1,146 @@
+package com.googleplacessdk;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Settle-once wrapper around one or more bridge {@link Promise}s. A request can be resolved by its
+ * SDK task and rejected by a newer request that supersedes it, whichever happens first wins and
+ * the other is dropped. Callers that join an identical in-flight request are attached to the same
+ * instance and receive copies of the one parsed result. Every bridge promise handed in is counted
+ * as outstanding until it is settled, a count that keeps growing under load points at a leak.
+ */
+class GooglePlacesSdkPromise {
+  private static final AtomicInteger outstanding = new AtomicInteger();
+
+  private final List<Promise> promises = new ArrayList<>(1);
+  private boolean settled;
+  private String errorCode;
+  private final List<Runnable> onSettledListeners = new ArrayList<>(1);
+  private ScheduledFuture<?> deadline;
+
+  GooglePlacesSdkPromise(Promise promise) {
+    promises.add(promise);
+    outstanding.incrementAndGet();
+  }
+
+  static int getOutstandingCount() {
+    return outstanding.get();
+  }
+
+  synchronized boolean isSettled() {
+    return settled;
+  }
+
+  // The code the promise was rejected with, null while pending and once resolved.
+  synchronized String getErrorCode() {
+    return errorCode;
+  }
+
+  synchronized boolean attach(Promise promise) {
+    if (settled) return false;
+
+    promises.add(promise);
+    outstanding.incrementAndGet();
+    return true;
+  }
+
+  // Runs the listener once the promise settles, or right away if it already has.
+  void addOnSettledListener(Runnable onSettledListener) {
+    synchronized (this) {
+      if (!settled) {
+        onSettledListeners.add(onSettledListener);
+        return;
+      }
+    }
+
+    onSettledListener.run();
+  }
+
+  // The scheduled timeout is cancelled once the promise settles, or right away if it already has.
+  void setDeadline(ScheduledFuture<?> deadline) {
+    synchronized (this) {
+      if (!settled) {
+        this.deadline = deadline;
+        return;
+      }
+    }
+
+    deadline.cancel(false);
+  }
+
+  boolean resolve(Object value) {
+    List<Promise> waiters = settle(null);
+    if (waiters == null) return false;
+
+    // A native map or array is consumed when it crosses the bridge, so every extra waiter gets a
+    // copy made before the original is handed over.
+    List<Object> values = new ArrayList<>(waiters.size());
+    values.add(value);
+    for (int i = 1; i < waiters.size(); i++) {
+      values.add(copy(value));
+    }
+    for (int i = 0; i < waiters.size(); i++) {
+      waiters.get(i).resolve(values.get(i));
+    }
+    return true;
+  }
+
+  boolean reject(String code, String message) {
+    List<Promise> waiters = settle(code);
+    if (waiters == null) return false;
+
+    for (Promise promise : waiters) {
+      promise.reject(code, message);
+    }
+    return true;
+  }
+
+  // Settles without calling back into JS, for a bridge that is being torn down. The bridge promises
+  // are no longer counted as outstanding, and listeners see a cancelled request.
+  boolean drop() {
+    return settle(GooglePlacesSdkConstants.CANCELLED) != null;
+  }
+
+  private List<Promise> settle(String code) {
+    List<Runnable> listeners;
+    ScheduledFuture<?> pendingDeadline;
+    List<Promise> waiters;
+    synchronized (this) {
+      if (settled) return null;
+
+      settled = true;
+      errorCode = code;
+      listeners = new ArrayList<>(onSettledListeners);
+      onSettledListeners.clear();
+      pendingDeadline = deadline;
+      waiters = new ArrayList<>(promises);
+    }
+
+    outstanding.addAndGet(-waiters.size());
+    if (pendingDeadline != null) pendingDeadline.cancel(false);
+    for (Runnable listener : listeners) {
+      listener.run();
+    }
+    return waiters;
+  }
+
+  private static Object copy(Object value) {
+    if (value instanceof WritableMap) {
+      return ((WritableMap) value).copy();
+    }
+
+    if (value instanceof WritableArray) {
+      return Arguments.makeNativeArray(((WritableArray) value).toArrayList());
+    }
+
+    return value;
+  }
+}
@@ -0,0 +1,283 @@
+package com.googleplacessdk;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.gms.common.api.ApiException;
+import com.google.android.gms.common.api.CommonStatusCodes;
+import com.google.android.gms.common.api.Status;
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.libraries.places.api.net.PlacesStatusCodes;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client side quota guard in front of {@code PlacesClient}. Each kind of request draws from its own
+ * token bucket. Requests that find their bucket empty wait in a priority queue, and once the queue
+ * is full the lowest priority request is shed with {@link PlacesStatusCodes#OVER_QUERY_LIMIT}.
+ * Attempts failing with a retryable status are retried with exponential backoff and full jitter.
+ * The returned tasks behave like the SDK's own: they are cancelled with their cancellation token.
+ */
+class GooglePlacesSdkRateLimiter {
+  static final String PREDICTIONS = "predictions";
+  static final String DETAILS = "details";
+  static final String PHOTOS = "photos";
+
+  static final int PRIORITY_LOW = 0;
+  static final int PRIORITY_NORMAL = 1;
+  static final int PRIORITY_HIGH = 2;
+
+  interface TaskFactory<T> {
+    Task<T> create();
+  }
+
+  private static class Bucket {
+    final GooglePlacesSdkClock clock;
+    double capacity;
+    double refillPerSecond;
+    double tokens;
+    long lastRefillAt;
+    boolean drainScheduled;
+    final PriorityQueue<PendingCall<?>> queue = new PriorityQueue<>();
+    long executed;
+    long queued;
+    long shed;
+    long retries;
+
+    Bucket(GooglePlacesSdkClock clock, double capacity, double refillPerSecond) {
+      this.clock = clock;
+      this.capacity = capacity;
+      this.refillPerSecond = refillPerSecond;
+      this.tokens = capacity;
+      this.lastRefillAt = clock.elapsedRealtime();
+    }
+
+    void refill() {
+      long now = clock.elapsedRealtime();
+      tokens = Math.min(capacity, tokens + (now - lastRefillAt) * refillPerSecond / 1000);
+      lastRefillAt = now;
+    }
+
+    boolean tryAcquire() {
+      refill();
+      if (tokens < 1) return false;
+
+      tokens--;
+      executed++;
+      return true;
+    }
+  }
+
+  private static class PendingCall<T> implements Comparable<PendingCall<?>> {
+    private static long nextSequence;
+
+    final String kind;
+    final int priority;
+    final long sequence;
+    final TaskCompletionSource<T> taskSource;
+    final TaskFactory<T> factory;
+    int attempt;
+
+    PendingCall(String kind, int priority, TaskCompletionSource<T> taskSource, TaskFactory<T> factory) {
+      this.kind = kind;
+      this.priority = priority;
+      this.taskSource = taskSource;
+      this.factory = factory;
+      synchronized (PendingCall.class) {
+        this.sequence = nextSequence++;
+      }
+    }
+
+    // Highest priority first, then first come first served
+    @Override
+    public int compareTo(PendingCall<?> other) {
+      if (priority != other.priority) return other.priority - priority;
+      return Long.compare(sequence, other.sequence);
+    }
+  }
+
+  private final ScheduledExecutorService scheduler;
+  private final Map<String, Bucket> buckets = new HashMap<>();
+  private final Random random = new Random();
+  private volatile boolean enabled;
+  private int maxQueue = GooglePlacesSdkConstants.DEFAULT_RATE_LIMIT_MAX_QUEUE;
+  private int maxRetries = GooglePlacesSdkConstants.DEFAULT_RATE_LIMIT_MAX_RETRIES;
+  private long baseBackoffMs = GooglePlacesSdkConstants.DEFAULT_RATE_LIMIT_BASE_BACKOFF_MS;
+  private long maxBackoffMs = GooglePlacesSdkConstants.DEFAULT_RATE_LIMIT_MAX_BACKOFF_MS;
+
+  GooglePlacesSdkRateLimiter(ScheduledExecutorService scheduler) {
+    this(scheduler, GooglePlacesSdkClock.SYSTEM);
+  }
+
+  GooglePlacesSdkRateLimiter(ScheduledExecutorService scheduler, GooglePlacesSdkClock clock) {
+    this.scheduler = scheduler;
+    buckets.put(PREDICTIONS, new Bucket(clock, GooglePlacesSdkConstants.DEFAULT_PREDICTIONS_BURST,
+      GooglePlacesSdkConstants.DEFAULT_PREDICTIONS_PER_SECOND));
+    buckets.put(DETAILS, new Bucket(clock, GooglePlacesSdkConstants.DEFAULT_DETAILS_BURST,
+      GooglePlacesSdkConstants.DEFAULT_DETAILS_PER_SECOND));
+    buckets.put(PHOTOS, new Bucket(clock, GooglePlacesSdkConstants.DEFAULT_PHOTOS_BURST,
+      GooglePlacesSdkConstants.DEFAULT_PHOTOS_PER_SECOND));
+  }
+
+  synchronized void configure(boolean enabled, int maxQueue, int maxRetries, long baseBackoffMs,
+                              long maxBackoffMs) {
+    this.enabled = enabled;
+    this.maxQueue = maxQueue;
+    this.maxRetries = maxRetries;
+    this.baseBackoffMs = baseBackoffMs;
+    this.maxBackoffMs = maxBackoffMs;
+  }
+
+  synchronized void configureBucket(String kind, double burst, double perSecond) {
+    Bucket bucket = buckets.get(kind);
+    bucket.refill();
+    bucket.capacity = Math.max(burst, 1);
+    bucket.refillPerSecond = Math.max(perSecond, 0.001);
+    bucket.tokens = Math.min(bucket.tokens, bucket.capacity);
+  }
+
+  <T> Task<T> execute(String kind, int priority, CancellationToken cancellationToken, TaskFactory<T> factory) {
+    if (!enabled) return factory.create();
+
+    TaskCompletionSource<T> taskSource = cancellationToken != null
+      ? new TaskCompletionSource<T>(cancellationToken)
+      : new TaskCompletionSource<T>();
+    submit(new PendingCall<>(kind, priority, taskSource, factory));
+
+    return taskSource.getTask();
+  }
+
+  synchronized WritableMap getStats() {
+    WritableMap stats = Arguments.createMap();
+    stats.putBoolean("enabled", enabled);
+    for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+      Bucket bucket = entry.getValue();
+      bucket.refill();
+      WritableMap bucketStats = Arguments.createMap();
+      bucketStats.putDouble("tokens", bucket.tokens);
+      bucketStats.putDouble("burst", bucket.capacity);
+      bucketStats.putDouble("perSecond", bucket.refillPerSecond);
+      bucketStats.putInt("waiting", bucket.queue.size());
+      bucketStats.putDouble("executed", bucket.executed);
+      bucketStats.putDouble("queued", bucket.queued);
+      bucketStats.putDouble("shed", bucket.shed);
+      bucketStats.putDouble("retries", bucket.retries);
+      stats.putMap(entry.getKey(), bucketStats);
+    }
+
+    return stats;
+  }
+
+  static boolean IsRetryable(Exception exception) {
+    if (!(exception instanceof ApiException)) return false;
+
+    int statusCode = ((ApiException) exception).getStatusCode();
+    return statusCode == PlacesStatusCodes.OVER_QUERY_LIMIT
+      || statusCode == CommonStatusCodes.NETWORK_ERROR
+      || statusCode == CommonStatusCodes.TIMEOUT;
+  }
+
+  private <T> void submit(PendingCall<T> call) {
+    PendingCall<?> shedCall = null;
+    boolean start = false;
+    synchronized (this) {
+      Bucket bucket = buckets.get(call.kind);
+      if (bucket.queue.isEmpty() && bucket.tryAcquire()) {
+        start = true;
+      } else {
+        bucket.queue.add(call);
+        bucket.queued++;
+        if (bucket.queue.size() > maxQueue) {
+          shedCall = removeLowestPriority(bucket.queue);
+          bucket.shed++;
+        }
+        scheduleDrain(call.kind, bucket);
+      }
+    }
+
+    if (start) start(call);
+    if (shedCall != null) {
+      shedCall.taskSource.trySetException(new ApiException(new Status(
+        PlacesStatusCodes.OVER_QUERY_LIMIT, "Request shed by the client rate limiter")));
+    }
+  }
+
+  private <T> void start(final PendingCall<T> call) {
+    if (call.taskSource.getTask().isComplete()) return; // cancelled while waiting
+
+    // Settled on the scheduler rather than the main thread, like the retries it may schedule
+    call.factory.create().addOnCompleteListener(scheduler, (task) -> {
+      if (task.isSuccessful()) {
+        call.taskSource.trySetResult(task.getResult());
+      } else if (task.isCanceled()) {
+        call.taskSource.trySetException(new ApiException(Status.RESULT_CANCELED));
+      } else if (call.attempt < maxRetries && IsRetryable(task.getException())
+        && !call.taskSource.getTask().isComplete()) {
+        retry(call);
+      } else {
+        call.taskSource.trySetException(task.getException());
+      }
+    });
+  }
+
+  private <T> void retry(final PendingCall<T> call) {
+    long delayMs;
+    synchronized (this) {
+      buckets.get(call.kind).retries++;
+      // Full jitter keeps clients that failed together from retrying together
+      long ceilingMs = Math.min(maxBackoffMs, baseBackoffMs << Math.min(call.attempt, 20));
+      delayMs = (long) (random.nextDouble() * ceilingMs);
+    }
+
+    call.attempt++;
+    scheduler.schedule(() -> submit(call), delayMs, TimeUnit.MILLISECONDS);
+  }
+
+  // Starts queued calls as tokens become available, one scheduled drain per bucket at a time.
+  private void scheduleDrain(final String kind, Bucket bucket) {
+    if (bucket.drainScheduled) return;
+
+    bucket.drainScheduled = true;
+    long delayMs = (long) Math.ceil(Math.max(0, 1 - bucket.tokens) * 1000 / bucket.refillPerSecond);
+    scheduler.schedule(() -> drain(kind), delayMs, TimeUnit.MILLISECONDS);
+  }
+
+  private void drain(String kind) {
+    while (true) {
+      PendingCall<?> call;
+      synchronized (this) {
+        Bucket bucket = buckets.get(kind);
+        bucket.drainScheduled = false;
+        // Drop calls cancelled while they waited without spending a token on them
+        while (!bucket.queue.isEmpty() && bucket.queue.peek().taskSource.getTask().isComplete()) {
+          bucket.queue.poll();
+        }
+        if (bucket.queue.isEmpty()) return;
+
+        if (!bucket.tryAcquire()) {
+          scheduleDrain(kind, bucket);
+          return;
+        }
+        call = bucket.queue.poll();
+      }
+
+      start(call);
+    }
+  }
+
+  private static PendingCall<?> removeLowestPriority(PriorityQueue<PendingCall<?>> queue) {
+    PendingCall<?> lowest = null;
+    for (PendingCall<?> call : queue) {
+      if (lowest == null || call.compareTo(lowest) > 0) lowest = call;
+    }
+    queue.remove(lowest);
+
+    return lowest;
+  }
+}
@@ -0,0 +1,52 @@
+package com.googleplacessdk;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.libraries.places.api.model.PhotoMetadata;
+import com.google.android.libraries.places.api.net.FetchPhotoRequest;
+import com.google.android.libraries.places.api.net.FetchPhotoResponse;
+import com.google.android.libraries.places.api.net.FetchPlaceRequest;
+import com.google.android.libraries.places.api.net.FetchPlaceResponse;
+import com.google.android.libraries.places.api.net.FindAutocompletePredictionsRequest;
+import com.google.android.libraries.places.api.net.FindAutocompletePredictionsResponse;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Passes requests on to another backend and writes its successful responses to disk on the given
+ * executor, for {@link GooglePlacesSdkReplayBackend} to serve later. Failures are not recorded,
+ * replay simulates them with its own error rate.
+ */
+class GooglePlacesSdkRecordingBackend implements GooglePlacesSdkBackend {
+  private final GooglePlacesSdkBackend backend;
+  private final GooglePlacesSdkRecordings recordings;
+  private final Executor executor;
+
+  GooglePlacesSdkRecordingBackend(GooglePlacesSdkBackend backend, GooglePlacesSdkRecordings recordings,
+                                  Executor executor) {
+    this.backend = backend;
+    this.recordings = recordings;
+    this.executor = executor;
+  }
+
+  @Override
+  public Task<FindAutocompletePredictionsResponse> findAutocompletePredictions(
+    FindAutocompletePredictionsRequest request) {
+    final String query = request.getQuery();
+    return backend.findAutocompletePredictions(request).addOnSuccessListener(executor,
+      (response) -> recordings.putPredictions(query, response.getAutocompletePredictions()));
+  }
+
+  @Override
+  public Task<FetchPlaceResponse> fetchPlace(FetchPlaceRequest request) {
+    final String placeID = request.getPlaceId();
+    return backend.fetchPlace(request).addOnSuccessListener(executor,
+      (response) -> recordings.putPlace(placeID, response.getPlace()));
+  }
+
+  @Override
+  public Task<FetchPhotoResponse> fetchPhoto(FetchPhotoRequest request) {
+    final PhotoMetadata photoMetadata = request.getPhotoMetadata();
+    return backend.fetchPhoto(request).addOnSuccessListener(executor,
+      (response) -> recordings.putPhoto(photoMetadata, response.getBitmap()));
+  }
+}
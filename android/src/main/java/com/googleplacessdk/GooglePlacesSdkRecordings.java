@@ -0,0 +1,172 @@
+package com.googleplacessdk;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Build;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.util.Log;
+
+import com.google.android.libraries.places.api.model.AutocompletePrediction;
+import com.google.android.libraries.places.api.model.PhotoMetadata;
+import com.google.android.libraries.places.api.model.Place;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SDK responses recorded to disk, for replaying them later without a network. Predictions are
+ * stored per normalized query, places per place ID and photos per photo metadata, one file each.
+ * Predictions and places are parcelled, so they are only replayed on the Places SDK and Android
+ * versions that recorded them, photos are stored as JPEG. Recording again overwrites the previous response.
+ */
+class GooglePlacesSdkRecordings {
+  private static final String LOG_TAG = "GooglePlacesSdkRecord";
+  // Bump when the file layout changes or parcelled SDK objects are no longer compatible.
+  private static final int VERSION = 2;
+  // An upgrade of either the Places SDK or Android invalidates the parcelled recordings
+  private static final String PARCEL_FORMAT =
+    "places-" + BuildConfig.PLACES_SDK_VERSION + "/android-" + Build.VERSION.SDK_INT;
+  private static final int JPEG_QUALITY = 90;
+
+  private final File predictionsDirectory;
+  private final File placesDirectory;
+  private final File photosDirectory;
+
+  GooglePlacesSdkRecordings(File directory) {
+    this.predictionsDirectory = new File(directory, "predictions");
+    this.placesDirectory = new File(directory, "places");
+    this.photosDirectory = new File(directory, "photos");
+  }
+
+  void putPredictions(String query, List<AutocompletePrediction> predictions) {
+    write(predictionsDirectory, GooglePlacesSdkUtils.NormalizeQuery(query), predictions);
+  }
+
+  // Null when the query was not recorded.
+  List<AutocompletePrediction> getPredictions(String query) {
+    return read(predictionsDirectory, GooglePlacesSdkUtils.NormalizeQuery(query), AutocompletePrediction.class);
+  }
+
+  void putPlace(String placeID, Place place) {
+    write(placesDirectory, placeID, Collections.singletonList(place));
+  }
+
+  Place getPlace(String placeID) {
+    List<Place> places = read(placesDirectory, placeID, Place.class);
+    return places != null && !places.isEmpty() ? places.get(0) : null;
+  }
+
+  void putPhoto(PhotoMetadata photoMetadata, Bitmap bitmap) {
+    File file = new File(photosDirectory, toPhotoKey(photoMetadata));
+    try {
+      if (!photosDirectory.exists()) photosDirectory.mkdirs();
+      File tempFile = new File(photosDirectory, file.getName() + ".tmp");
+      OutputStream output = new FileOutputStream(tempFile);
+      try {
+        bitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, output);
+      } finally {
+        output.close();
+      }
+
+      if (!tempFile.renameTo(file)) tempFile.delete();
+    } catch (IOException e) {
+      Log.w(LOG_TAG, "Failed to record photo", e);
+    }
+  }
+
+  Bitmap getPhoto(PhotoMetadata photoMetadata) {
+    File file = new File(photosDirectory, toPhotoKey(photoMetadata));
+    return file.exists() ? BitmapFactory.decodeFile(file.getPath()) : null;
+  }
+
+  private void write(File directory, String key, List<? extends Parcelable> values) {
+    File file = new File(directory, GooglePlacesSdkDiskCache.toFileName(key));
+    Parcel parcel = Parcel.obtain();
+    try {
+      for (Parcelable value : values) {
+        parcel.writeParcelable(value, 0);
+      }
+      byte[] bytes = parcel.marshall();
+
+      if (!directory.exists()) directory.mkdirs();
+      File tempFile = new File(directory, file.getName() + ".tmp");
+      DataOutputStream output = new DataOutputStream(new FileOutputStream(tempFile));
+      try {
+        output.writeInt(VERSION);
+        output.writeUTF(PARCEL_FORMAT);
+        output.writeInt(values.size());
+        output.writeInt(bytes.length);
+        output.write(bytes);
+      } finally {
+        output.close();
+      }
+
+      if (!tempFile.renameTo(file)) tempFile.delete();
+    } catch (IOException e) {
+      Log.w(LOG_TAG, "Failed to record " + key, e);
+    } finally {
+      parcel.recycle();
+    }
+  }
+
+  private <T extends Parcelable> List<T> read(File directory, String key, Class<T> type) {
+    File file = new File(directory, GooglePlacesSdkDiskCache.toFileName(key));
+    if (!file.exists()) return null;
+
+    Parcel parcel = Parcel.obtain();
+    try {
+      DataInputStream input = new DataInputStream(new FileInputStream(file));
+      try {
+        if (input.readInt() != VERSION) return null;
+        if (!PARCEL_FORMAT.equals(input.readUTF())) {
+          Log.w(LOG_TAG, "Ignoring recording " + file.getName() + " made with another Places SDK or Android version");
+          return null;
+        }
+
+        int count = input.readInt();
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        parcel.unmarshall(bytes, 0, bytes.length);
+        parcel.setDataPosition(0);
+
+        List<T> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+          T value = parcel.readParcelable(type.getClassLoader());
+          if (value == null) return null;
+          values.add(value);
+        }
+        return values;
+      } finally {
+        input.close();
+      }
+    } catch (IOException | RuntimeException e) {
+      Log.w(LOG_TAG, "Ignoring unreadable recording " + file.getName(), e);
+      return null;
+    } finally {
+      parcel.recycle();
+    }
+  }
+
+  // The SDK exposes no getter for the photo reference, the parcelled metadata carries it along
+  // with the requested size.
+  private static String toPhotoKey(PhotoMetadata photoMetadata) {
+    Parcel parcel = Parcel.obtain();
+    try {
+      parcel.writeParcelable(photoMetadata, 0);
+      String metadata = new String(parcel.marshall(), StandardCharsets.ISO_8859_1);
+      return GooglePlacesSdkDiskCache.toFileName(metadata) + ".jpg";
+    } finally {
+      parcel.recycle();
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package com.googleplacessdk;
+
+import android.graphics.Bitmap;
+
+import com.google.android.gms.common.api.ApiException;
+import com.google.android.gms.common.api.Status;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.libraries.places.api.model.AutocompletePrediction;
+import com.google.android.libraries.places.api.model.PhotoMetadata;
+import com.google.android.libraries.places.api.model.Place;
+import com.google.android.libraries.places.api.net.FetchPhotoRequest;
+import com.google.android.libraries.places.api.net.FetchPhotoResponse;
+import com.google.android.libraries.places.api.net.FetchPlaceRequest;
+import com.google.android.libraries.places.api.net.FetchPlaceResponse;
+import com.google.android.libraries.places.api.net.FindAutocompletePredictionsRequest;
+import com.google.android.libraries.places.api.net.FindAutocompletePredictionsResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers requests without a network, from {@link GooglePlacesSdkRecordings} when the request was
+ * recorded and with synthetic results otherwise. Each response is delayed by a latency drawn from
+ * the distribution of its kind of request, and a share of the requests fails with the configured
+ * status code instead. Responses are built on the scheduler once the latency has elapsed, reading
+ * a recording takes a few milliseconds at most.
+ */
+class GooglePlacesSdkReplayBackend implements GooglePlacesSdkBackend {
+  private static final int SYNTHETIC_PREDICTIONS = 5;
+  private static final List<Place.Type> SYNTHETIC_TYPES = Arrays.asList(
+    Place.Type.POINT_OF_INTEREST, Place.Type.ESTABLISHMENT);
+
+  // Log-normal, the usual shape of network latencies, fitted to a median and a 99th percentile.
+  static class Latency {
+    // 99th percentile of the standard normal distribution
+    private static final double P99_Z = 2.326;
+
+    private final double medianMs;
+    private final double sigma;
+
+    Latency(double medianMs, double p99Ms) {
+      this.medianMs = Math.max(medianMs, 0);
+      this.sigma = medianMs > 0 && p99Ms > medianMs ? Math.log(p99Ms / medianMs) / P99_Z : 0;
+    }
+
+    long sampleMs(Random random) {
+      return Math.round(medianMs * Math.exp(sigma * random.nextGaussian()));
+    }
+  }
+
+  private interface ResponseFactory<T> {
+    T create();
+  }
+
+  private final GooglePlacesSdkRecordings recordings;
+  private final ScheduledExecutorService scheduler;
+  // By rate limiter kind
+  private final Map<String, Latency> latencies;
+  private final double errorRate;
+  private final int errorStatusCode;
+  private final Random random;
+
+  GooglePlacesSdkReplayBackend(GooglePlacesSdkRecordings recordings, ScheduledExecutorService scheduler,
+                               Map<String, Latency> latencies, double errorRate, int errorStatusCode,
+                               Random random) {
+    this.recordings = recordings;
+    this.scheduler = scheduler;
+    this.latencies = latencies;
+    this.errorRate = errorRate;
+    this.errorStatusCode = errorStatusCode;
+    this.random = random;
+  }
+
+  @Override
+  public Task<FindAutocompletePredictionsResponse> findAutocompletePredictions(
+    final FindAutocompletePredictionsRequest request) {
+    return respond(GooglePlacesSdkRateLimiter.PREDICTIONS, request.getCancellationToken(), () -> {
+      List<AutocompletePrediction> predictions = recordings.getPredictions(request.getQuery());
+      return FindAutocompletePredictionsResponse.newInstance(
+        predictions != null ? predictions : SyntheticPredictions(request.getQuery()));
+    });
+  }
+
+  @Override
+  public Task<FetchPlaceResponse> fetchPlace(final FetchPlaceRequest request) {
+    return respond(GooglePlacesSdkRateLimiter.DETAILS, request.getCancellationToken(), () -> {
+      Place place = recordings.getPlace(request.getPlaceId());
+      return FetchPlaceResponse.newInstance(place != null ? place : SyntheticPlace(request.getPlaceId()));
+    });
+  }
+
+  @Override
+  public Task<FetchPhotoResponse> fetchPhoto(final FetchPhotoRequest request) {
+    return respond(GooglePlacesSdkRateLimiter.PHOTOS, request.getCancellationToken(), () -> {
+      Bitmap bitmap = recordings.getPhoto(request.getPhotoMetadata());
+      return FetchPhotoResponse.newInstance(bitmap != null ? bitmap : SyntheticPhoto(request));
+    });
+  }
+
+  private <T> Task<T> respond(String kind, CancellationToken cancellationToken, final ResponseFactory<T> factory) {
+    final TaskCompletionSource<T> taskSource = cancellationToken != null
+      ? new TaskCompletionSource<T>(cancellationToken)
+      : new TaskCompletionSource<T>();
+    final boolean fail = random.nextDouble() < errorRate;
+    long latencyMs = latencies.get(kind).sampleMs(random);
+
+    scheduler.schedule(() -> {
+      if (taskSource.getTask().isComplete()) return; // cancelled while waiting
+
+      if (fail) {
+        taskSource.trySetException(new ApiException(new Status(errorStatusCode, "Simulated failure")));
+        return;
+      }
+      try {
+        taskSource.trySetResult(factory.create());
+      } catch (RuntimeException e) {
+        taskSource.trySetException(e);
+      }
+    }, latencyMs, TimeUnit.MILLISECONDS);
+    return taskSource.getTask();
+  }
+
+  // Place IDs depend on the query only, typing the same query again finds the same places.
+  private static List<AutocompletePrediction> SyntheticPredictions(String query) {
+    String normalizedQuery = GooglePlacesSdkUtils.NormalizeQuery(query);
+    List<AutocompletePrediction> predictions = new ArrayList<>(SYNTHETIC_PREDICTIONS);
+    for (int i = 0; i < SYNTHETIC_PREDICTIONS; i++) {
+      String primaryText = query.trim() + " " + (i + 1);
+      String secondaryText = "Replay Street " + (i + 1) + ", Replay City";
+      predictions.add(AutocompletePrediction.builder(
+          "replay_" + Integer.toHexString((normalizedQuery + "#" + i).hashCode()))
+        .setPrimaryText(primaryText)
+        .setSecondaryText(secondaryText)
+        .setFullText(primaryText + ", " + secondaryText)
+        .setPlaceTypes(SYNTHETIC_TYPES)
+        .setDistanceMeters(250 * (i + 1))
+        .build());
+    }
+
+    return predictions;
+  }
+
+  private static Place SyntheticPlace(String placeID) {
+    int hash = placeID.hashCode();
+    return Place.builder()
+      .setId(placeID)
+      .setName("Place " + placeID)
+      .setAddress("1 Replay Street, Replay City")
+      .setLatLng(new LatLng((hash % 9000) / 100.0, ((hash / 9000) % 18000) / 100.0))
+      .setTypes(SYNTHETIC_TYPES)
+      .setRating(4.2)
+      .setUserRatingsTotal(100)
+      .build();
+  }
+
+  // A plain bitmap of the requested size, coloured after the photo metadata.
+  private static Bitmap SyntheticPhoto(FetchPhotoRequest request) {
+    PhotoMetadata photoMetadata = request.getPhotoMetadata();
+    int width = request.getMaxWidth() != null ? request.getMaxWidth() : photoMetadata.getWidth();
+    int height = request.getMaxHeight() != null ? request.getMaxHeight() : photoMetadata.getHeight();
+    Bitmap bitmap = Bitmap.createBitmap(Math.max(width, 1), Math.max(height, 1), Bitmap.Config.RGB_565);
+    bitmap.eraseColor(0xFF000000 | photoMetadata.hashCode());
+
+    return bitmap;
+  }
+}
@@ -0,0 +1,119 @@
+package com.googleplacessdk;
+
+import com.google.android.libraries.places.api.model.AutocompleteSessionToken;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Autocomplete session tokens keyed by caller supplied session IDs, so independent search fields
+ * keep their own billing sessions. Sessions idle for longer than the timeout are dropped, and a
+ * place selection only ends the session it was made in, never one started after it.
+ */
+class GooglePlacesSdkSessionRegistry {
+  static final String DEFAULT_SESSION_ID = "default";
+
+  private static class Session {
+    final AutocompleteSessionToken token = AutocompleteSessionToken.newInstance();
+    volatile long lastUsedAt;
+
+    Session(long now) {
+      lastUsedAt = now;
+    }
+  }
+
+  private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+  private final GooglePlacesSdkClock clock;
+  private volatile long idleTimeoutMs;
+
+  GooglePlacesSdkSessionRegistry(long idleTimeoutMs) {
+    this(idleTimeoutMs, GooglePlacesSdkClock.SYSTEM);
+  }
+
+  GooglePlacesSdkSessionRegistry(long idleTimeoutMs, GooglePlacesSdkClock clock) {
+    this.idleTimeoutMs = idleTimeoutMs;
+    this.clock = clock;
+  }
+
+  void setIdleTimeoutMs(long idleTimeoutMs) {
+    this.idleTimeoutMs = idleTimeoutMs;
+  }
+
+  static String ParseSessionID(String sessionID) {
+    return sessionID != null && !sessionID.isEmpty() ? sessionID : DEFAULT_SESSION_ID;
+  }
+
+  // Replaces any session with the same ID.
+  AutocompleteSessionToken start(String sessionID) {
+    evictIdle();
+    Session session = new Session(clock.elapsedRealtime());
+    sessions.put(sessionID, session);
+
+    return session.token;
+  }
+
+  // Returns the active token for the session, starting a new one if it is missing or idle.
+  AutocompleteSessionToken getOrStart(String sessionID) {
+    while (true) {
+      Session session = sessions.get(sessionID);
+      if (session != null && !isIdle(session)) {
+        session.lastUsedAt = clock.elapsedRealtime();
+        return session.token;
+      }
+
+      Session newSession = new Session(clock.elapsedRealtime());
+      boolean stored = session == null
+        ? sessions.putIfAbsent(sessionID, newSession) == null
+        : sessions.replace(sessionID, session, newSession);
+      if (stored) {
+        evictIdle();
+        return newSession.token;
+      }
+      // Lost a race with another caller for this session ID, use whatever they stored
+    }
+  }
+
+  // Returns the active token for the session or null if there is none.
+  AutocompleteSessionToken get(String sessionID) {
+    Session session = sessions.get(sessionID);
+    if (session == null) return null;
+
+    if (isIdle(session)) {
+      sessions.remove(sessionID, session);
+      return null;
+    }
+
+    session.lastUsedAt = clock.elapsedRealtime();
+    return session.token;
+  }
+
+  // Ends the session only if it still holds the given token.
+  boolean end(String sessionID, AutocompleteSessionToken token) {
+    Session session = sessions.get(sessionID);
+    return session != null && session.token == token && sessions.remove(sessionID, session);
+  }
+
+  boolean clear(String sessionID) {
+    return sessions.remove(sessionID) != null;
+  }
+
+  void clearAll() {
+    sessions.clear();
+  }
+
+  int size() {
+    return sessions.size();
+  }
+
+  private boolean isIdle(Session session) {
+    return idleTimeoutMs > 0 && clock.elapsedRealtime() - session.lastUsedAt > idleTimeoutMs;
+  }
+
+  private void evictIdle() {
+    Iterator<Map.Entry<String, Session>> iterator = sessions.entrySet().iterator();
+    while (iterator.hasNext()) {
+      if (isIdle(iterator.next().getValue())) iterator.remove();
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.googleplacessdk;
+
+import com.facebook.react.bridge.Promise;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Coalesces concurrent identical requests. The first caller for a key becomes the leader and
+ * issues the SDK call, later callers with the same key attach to the leader until it settles.
+ */
+class GooglePlacesSdkSingleFlight {
+  private final Map<String, GooglePlacesSdkPromise> inFlight = new HashMap<>();
+
+  /**
+   * Returns a new leader promise the caller must settle, or null if the promise was attached to an
+   * identical request that is already in flight. The trace of an attached caller is finished as
+   * coalesced once the leader settles, with the leader's outcome.
+   */
+  GooglePlacesSdkPromise join(final String key, Promise promise, final GooglePlacesSdkTrace trace) {
+    final GooglePlacesSdkPromise existing;
+    final GooglePlacesSdkPromise leader;
+    synchronized (this) {
+      GooglePlacesSdkPromise inFlightPromise = inFlight.get(key);
+      if (inFlightPromise != null && inFlightPromise.attach(promise)) {
+        existing = inFlightPromise;
+        leader = null;
+      } else {
+        existing = null;
+        leader = new GooglePlacesSdkPromise(promise);
+        inFlight.put(key, leader);
+      }
+    }
+
+    if (existing != null) {
+      existing.addOnSettledListener(() -> {
+        String errorCode = existing.getErrorCode();
+        trace.setSource(GooglePlacesSdkTrace.SOURCE_COALESCED);
+        if (errorCode == null) {
+          trace.resolved();
+        } else trace.failed(errorCode);
+      });
+      return null;
+    }
+
+    leader.addOnSettledListener(() -> {
+      synchronized (GooglePlacesSdkSingleFlight.this) {
+        if (inFlight.get(key) == leader) inFlight.remove(key);
+      }
+    });
+    return leader;
+  }
+}
@@ -0,0 +1,210 @@
+package com.googleplacessdk;
+
+import android.os.SystemClock;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Timing of a single bridge call. Each {@link #mark(Phase)} attributes the time since the previous
+ * mark to a phase. A trace is handed from thread to thread along with its request, and a deadline,
+ * a cancellation and the SDK task can race to finish it. Only the first to finish it is recorded,
+ * and later marks or changes of source are ignored. Traces created while metrics are disabled
+ * record nothing.
+ */
+class GooglePlacesSdkTrace {
+  enum Phase {
+    BUILD("build"),
+    DEBOUNCE("debounce"),
+    NETWORK("network"),
+    PARSE("parse"),
+    RESOLVE("resolve");
+
+    final String key;
+
+    Phase(String key) {
+      this.key = key;
+    }
+  }
+
+  static final String SOURCE_NETWORK = "network";
+  static final String SOURCE_MEMORY = "memory";
+  static final String SOURCE_DISK = "disk";
+  static final String SOURCE_COALESCED = "coalesced";
+  static final String SOURCE_LOCAL = "local";
+  static final String SOURCE_PREFETCH = "prefetch";
+
+  final String operation;
+  private final GooglePlacesSdkMetrics metrics;
+  private final long startNanos;
+  private final long[] phaseNanos = new long[Phase.values().length];
+  private long lastMarkNanos;
+  private final AtomicBoolean finished = new AtomicBoolean();
+  volatile String source = SOURCE_NETWORK;
+  volatile String errorCode;
+  volatile int resultCount = -1;
+  volatile long payloadBytes = -1;
+
+  GooglePlacesSdkTrace(GooglePlacesSdkMetrics metrics, String operation) {
+    this.metrics = metrics;
+    this.operation = operation;
+    this.startNanos = SystemClock.elapsedRealtimeNanos();
+    this.lastMarkNanos = startNanos;
+    for (int i = 0; i < phaseNanos.length; i++) {
+      phaseNanos[i] = -1;
+    }
+  }
+
+  // For internal sub-requests whose timing is already covered by the caller's trace.
+  static GooglePlacesSdkTrace untraced() {
+    return new GooglePlacesSdkTrace(null, "");
+  }
+
+  synchronized GooglePlacesSdkTrace setSource(String source) {
+    if (!finished.get()) this.source = source;
+    return this;
+  }
+
+  synchronized void mark(Phase phase) {
+    if (metrics == null || finished.get()) return;
+
+    addPhase(phase);
+  }
+
+  // Marks the end of the parse phase and records the size of what is about to cross the bridge.
+  void parsed(Object value, int resultCount) {
+    if (metrics == null) return;
+
+    long bytes = metrics.shouldMeasurePayload() ? EstimatePayloadBytes(value) : -1;
+    synchronized (this) {
+      if (finished.get()) return;
+
+      addPhase(Phase.PARSE);
+      this.resultCount = resultCount;
+      payloadBytes = bytes;
+    }
+  }
+
+  void resolved() {
+    finish(null, Phase.RESOLVE);
+  }
+
+  void failed(String errorCode) {
+    finish(errorCode, null);
+  }
+
+  synchronized boolean hasPhase(Phase phase) {
+    return phaseNanos[phase.ordinal()] >= 0;
+  }
+
+  synchronized double getPhaseMs(Phase phase) {
+    return phaseNanos[phase.ordinal()] / 1e6;
+  }
+
+  synchronized double getTotalMs() {
+    return (lastMarkNanos - startNanos) / 1e6;
+  }
+
+  WritableMap toWritableMap() {
+    WritableMap event = Arguments.createMap();
+    event.putString("operation", operation);
+    event.putString("source", source);
+    event.putString("errorCode", errorCode);
+    event.putDouble("totalMs", getTotalMs());
+    WritableMap phases = Arguments.createMap();
+    for (Phase phase : Phase.values()) {
+      if (hasPhase(phase)) phases.putDouble(phase.key, getPhaseMs(phase));
+    }
+    event.putMap("phasesMs", phases);
+    if (resultCount >= 0) event.putInt("resultCount", resultCount);
+    if (payloadBytes >= 0) event.putDouble("payloadBytes", payloadBytes);
+
+    return event;
+  }
+
+  // Records the trace once, whichever of success, failure, timeout or cancellation comes first.
+  private void finish(String errorCode, Phase lastPhase) {
+    if (metrics == null || !finished.compareAndSet(false, true)) return;
+
+    synchronized (this) {
+      if (lastPhase != null) addPhase(lastPhase);
+      this.errorCode = errorCode;
+      lastMarkNanos = Math.max(lastMarkNanos, SystemClock.elapsedRealtimeNanos());
+    }
+    metrics.record(this);
+  }
+
+  private void addPhase(Phase phase) {
+    long now = SystemClock.elapsedRealtimeNanos();
+    int index = phase.ordinal();
+    phaseNanos[index] = Math.max(phaseNanos[index], 0) + now - lastMarkNanos;
+    lastMarkNanos = now;
+  }
+
+  // Rough size of the JSON the value serializes to, good enough to spot payload regressions.
+  static long EstimatePayloadBytes(Object value) {
+    if (value instanceof ReadableMap) {
+      ReadableMap map = (ReadableMap) value;
+      long bytes = 2;
+      ReadableMapKeySetIterator iterator = map.keySetIterator();
+      while (iterator.hasNextKey()) {
+        String key = iterator.nextKey();
+        bytes += key.length() + 4;
+        switch (map.getType(key)) {
+          case String:
+            bytes += map.getString(key).length() + 2;
+            break;
+          case Number:
+            bytes += 8;
+            break;
+          case Boolean:
+            bytes += 5;
+            break;
+          case Map:
+            bytes += EstimatePayloadBytes(map.getMap(key));
+            break;
+          case Array:
+            bytes += EstimatePayloadBytes(map.getArray(key));
+            break;
+          default:
+            bytes += 4;
+        }
+      }
+      return bytes;
+    }
+
+    if (value instanceof ReadableArray) {
+      ReadableArray array = (ReadableArray) value;
+      long bytes = 2;
+      for (int i = 0; i < array.size(); i++) {
+        switch (array.getType(i)) {
+          case String:
+            bytes += array.getString(i).length() + 3;
+            break;
+          case Number:
+            bytes += 9;
+            break;
+          case Boolean:
+            bytes += 6;
+            break;
+          case Map:
+            bytes += EstimatePayloadBytes(array.getMap(i)) + 1;
+            break;
+          case Array:
+            bytes += EstimatePayloadBytes(array.getArray(i)) + 1;
+            break;
+          default:
+            bytes += 5;
+        }
+      }
+      return bytes;
+    }
+
+    return 0;
+  }
+}
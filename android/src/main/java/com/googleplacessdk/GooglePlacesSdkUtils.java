@@ -7,8 +7,10 @@ import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
+import com.google.android.gms.common.api.ApiException;
+import com.google.android.gms.common.api.CommonStatusCodes;
 import com.google.android.gms.maps.model.LatLng;
-import com.google.android.gms.maps.model.LatLngBounds;
+import com.google.android.gms.tasks.CancellationToken;
 import com.google.android.libraries.places.api.model.AutocompleteSessionToken;
 import com.google.android.libraries.places.api.model.AddressComponent;
 import com.google.android.libraries.places.api.model.AddressComponents;
@@ -19,12 +21,52 @@ import com.google.android.libraries.places.api.model.PlusCode;
 import com.google.android.libraries.places.api.model.RectangularBounds;
 import com.google.android.libraries.places.api.net.FindAutocompletePredictionsRequest;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CancellationException;
 import java.util.regex.Matcher;
 
 class GooglePlacesSdkUtils {
+  static ReadableMap GetMapOption(ReadableMap options, String key) {
+    if (options == null || !options.hasKey(key) || options.isNull(key)) return null;
+
+    return options.getMap(key);
+  }
+
+  static boolean GetBooleanOption(ReadableMap options, String key, boolean defaultValue) {
+    if (options == null || !options.hasKey(key) || options.isNull(key)) return defaultValue;
+
+    return options.getBoolean(key);
+  }
+
+  static String GetStringOption(ReadableMap options, String key, String defaultValue) {
+    if (options == null || !options.hasKey(key) || options.isNull(key)) return defaultValue;
+
+    return options.getString(key);
+  }
+
+  static int GetIntOption(ReadableMap options, String key, int defaultValue) {
+    if (options == null || !options.hasKey(key) || options.isNull(key)) return defaultValue;
+
+    return options.getInt(key);
+  }
+
+  static long GetLongOption(ReadableMap options, String key, long defaultValue) {
+    if (options == null || !options.hasKey(key) || options.isNull(key)) return defaultValue;
+
+    return (long) options.getDouble(key);
+  }
+
+  static double GetDoubleOption(ReadableMap options, String key, double defaultValue) {
+    if (options == null || !options.hasKey(key) || options.isNull(key)) return defaultValue;
+
+    return options.getDouble(key);
+  }
+
   static LatLng ParseCoordinates(ReadableMap coordinates) {
     if (!coordinates.hasKey("latitude") || !coordinates.hasKey("longitude")) {
       return null;
@@ -47,7 +89,8 @@ class GooglePlacesSdkUtils {
   }
 
   static FindAutocompletePredictionsRequest buildPredictionRequest(String query, ReadableMap options,
-                                                                   AutocompleteSessionToken sessionToken) {
+                                                                   AutocompleteSessionToken sessionToken,
+                                                                   CancellationToken cancellationToken) {
     FindAutocompletePredictionsRequest.Builder builder = FindAutocompletePredictionsRequest.builder();
     if (options.hasKey("types")) {
       ArrayList types = options.getArray("types").toArrayList();
@@ -78,11 +121,59 @@ class GooglePlacesSdkUtils {
       builder.setSessionToken(sessionToken);
     }
 
+    if (cancellationToken != null) {
+      builder.setCancellationToken(cancellationToken);
+    }
+
     return builder
       .setQuery(query)
       .build();
   }
 
+  static String NormalizeQuery(String query) {
+    return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+  }
+
+  private static void AppendArrayKey(StringBuilder key, ReadableMap options, String name) {
+    key.append('|').append(name).append('=');
+    if (options.hasKey(name) && !options.isNull(name)) {
+      key.append(options.getArray(name).toArrayList());
+    }
+  }
+
+  private static void AppendCoordinatesKey(StringBuilder key, LatLng coordinates) {
+    if (coordinates == null) return;
+
+    key.append(coordinates.latitude).append(',').append(coordinates.longitude).append(';');
+  }
+
+  private static void AppendBoundsKey(StringBuilder key, ReadableMap options, String name) {
+    key.append('|').append(name).append('=');
+    RectangularBounds bounds = options.hasKey(name) && !options.isNull(name)
+      ? ParseLocationBounds(options.getMap(name))
+      : null;
+    if (bounds != null) {
+      AppendCoordinatesKey(key, bounds.getSouthwest());
+      AppendCoordinatesKey(key, bounds.getNortheast());
+    }
+  }
+
+  static String buildPredictionCacheKey(String query, ReadableMap options,
+                                        AutocompleteSessionToken sessionToken) {
+    StringBuilder key = new StringBuilder(NormalizeQuery(query));
+    AppendArrayKey(key, options, "types");
+    AppendArrayKey(key, options, "countries");
+    AppendBoundsKey(key, options, "locationBias");
+    AppendBoundsKey(key, options, "locationRestriction");
+    key.append("|origin=");
+    if (options.hasKey("origin") && !options.isNull("origin")) {
+      AppendCoordinatesKey(key, ParseCoordinates(options.getMap("origin")));
+    }
+    key.append("|session=").append(sessionToken != null ? sessionToken.toString() : "");
+
+    return key.toString();
+  }
+
   static WritableArray ParsePlaceTypes(List<Place.Type> types) {
     WritableArray parsedTypes = Arguments.createArray();
     for (Place.Type placeType : types) {
@@ -111,6 +202,38 @@ class GooglePlacesSdkUtils {
     return map;
   }
 
+  // Failures that a retry or an offline answer can help with, as opposed to rejected requests and
+  // bugs, which must not be hidden behind local results.
+  static boolean IsNetworkFailure(Exception exception) {
+    if (!(exception instanceof ApiException)) {
+      return exception instanceof IOException || exception.getCause() instanceof IOException;
+    }
+
+    int statusCode = ((ApiException) exception).getStatusCode();
+    return statusCode == CommonStatusCodes.NETWORK_ERROR || statusCode == CommonStatusCodes.TIMEOUT;
+  }
+
+  // Maps a failed request to TIMEOUT, NETWORK, CANCELLED or API_<status>, INTERNAL for anything else.
+  static String GetErrorCode(Exception exception) {
+    if (exception instanceof ApiException) {
+      int statusCode = ((ApiException) exception).getStatusCode();
+      switch (statusCode) {
+        case CommonStatusCodes.TIMEOUT:
+          return GooglePlacesSdkConstants.TIMEOUT;
+        case CommonStatusCodes.NETWORK_ERROR:
+          return GooglePlacesSdkConstants.NETWORK;
+        case CommonStatusCodes.CANCELED:
+          return GooglePlacesSdkConstants.CANCELLED;
+        default:
+          return GooglePlacesSdkConstants.API_ERROR_PREFIX + statusCode;
+      }
+    }
+
+    if (exception instanceof CancellationException) return GooglePlacesSdkConstants.CANCELLED;
+    if (exception instanceof IOException) return GooglePlacesSdkConstants.NETWORK;
+    return GooglePlacesSdkConstants.INTERNAL;
+  }
+
   static WritableArray ParseAutocompletePredictions(List<AutocompletePrediction> predictions) {
     WritableArray parsedPredictions = Arguments.createArray();
     for (AutocompletePrediction prediction : predictions) {
@@ -120,18 +243,23 @@ class GooglePlacesSdkUtils {
     return parsedPredictions;
   }
 
-  static List<Place.Field> ParsePlaceFields(ReadableArray fields) {
+  static List<String> ParseUniqueStrings(ReadableArray values) {
+    LinkedHashSet<String> uniqueValues = new LinkedHashSet<>();
+    for (int i = 0; i < values.size(); i++) {
+      uniqueValues.add(values.getString(i));
+    }
+
+    return new ArrayList<>(uniqueValues);
+  }
+
+  static List<Place.Field> ParsePlaceFields(ReadableArray fields, List<String> unknownFields) {
     ArrayList<Place.Field> placeFields = new ArrayList<>();
     for (int i = 0; i < fields.size(); i++) {
       String field = fields.getString(i);
       if (GooglePlacesSdkConstants.PLACE_FIELD_MAP.containsKey(field)) {
         placeFields.add(GooglePlacesSdkConstants.PLACE_FIELD_MAP.get(field));
-      }
-    }
-
-    if (placeFields.size() == 0) {
-      for (Place.Field field : GooglePlacesSdkConstants.PLACE_FIELD_MAP.values()) {
-        placeFields.add(field);
+      } else {
+        unknownFields.add(field);
       }
     }
 
@@ -210,75 +338,17 @@ class GooglePlacesSdkUtils {
     return map;
   }
 
-  static WritableMap ParsePlace(Place place) {
+  static WritableMap ParsePlace(Place place, Collection<Place.Field> fields) {
     WritableMap placeInfo = Arguments.createMap();
-
-    placeInfo.putString("name", place.getName());
-    placeInfo.putString("placeID", place.getId());
-    placeInfo.putString("phoneNumber", place.getPhoneNumber());
-    placeInfo.putString("formattedAddress", place.getAddress());
-    placeInfo.putString(
-      "businessStatus",
-      place.getBusinessStatus() != null ? place.getBusinessStatus().toString() : "UNKNOWN"
-    );
-    placeInfo.putString("takeout", place.getTakeout().toString());
-    placeInfo.putString("delivery", place.getDelivery().toString());
-    placeInfo.putString("dineIn", place.getDineIn().toString());
-    placeInfo.putString("curbsidePickup", place.getCurbsidePickup().toString());
-
-    if (place.getPhotoMetadatas() != null) {
-      placeInfo.putArray("photos", ParsePhotos(place.getPhotoMetadatas()));
-    } else placeInfo.putNull("photos");
+    for (Place.Field field : fields) {
+      GooglePlacesSdkConstants.PlaceFieldWriter writer = GooglePlacesSdkConstants.PLACE_FIELD_WRITERS.get(field);
+      if (writer != null) writer.write(place, placeInfo);
+    }
 
     if (place.getAttributions() != null) {
       placeInfo.putString("attributions", place.getAttributions().toString());
     } else placeInfo.putNull("attributions");
 
-    if (place.getPlusCode() != null) {
-      placeInfo.putMap("plusCode", ParsePlusCode(place.getPlusCode()));
-    } else placeInfo.putNull("plusCode");
-
-    if (place.getWebsiteUri() != null) {
-      placeInfo.putString("website", place.getWebsiteUri().toString());
-    } else placeInfo.putNull("website");
-
-    if (place.getRating() != null) {
-      placeInfo.putDouble("rating", place.getRating());
-    } else placeInfo.putNull("rating");
-
-    if (place.getUserRatingsTotal() != null) {
-      placeInfo.putInt("userRatingsTotal", place.getUserRatingsTotal());
-    } else placeInfo.putNull("userRatingsTotal");
-
-    if (place.getPriceLevel() != null) {
-      placeInfo.putInt("priceLevel", place.getPriceLevel());
-    } else placeInfo.putNull("priceLevel");
-
-    if (place.getOpeningHours() != null) {
-      placeInfo.putString("openingHours", place.getOpeningHours().getWeekdayText().toString());
-    } else placeInfo.putNull("openingHours");
-
-    if (place.getTypes() != null) {
-      placeInfo.putArray("types", ParsePlaceTypes(place.getTypes()));
-    } else placeInfo.putNull("types");
-
-    if (place.getAddressComponents() != null) {
-      placeInfo.putArray("addressComponents", ParseAddressComponents(place.getAddressComponents()));
-    }
-
-    if (place.getLatLng() != null) {
-      WritableMap coordinate = ParseLatLng(place.getLatLng());
-      placeInfo.putMap("coordinate", coordinate);
-    } else placeInfo.putNull("coordinate");
-
-    LatLngBounds viewport = place.getViewport();
-    if (viewport != null) {
-      WritableMap viewportMap = Arguments.createMap();
-      viewportMap.putMap("northEast", ParseLatLng(viewport.northeast));
-      viewportMap.putMap("southWest", ParseLatLng(viewport.southwest));
-      placeInfo.putMap("viewport", viewportMap);
-    } else placeInfo.putNull("viewport");
-
     return placeInfo;
   }
 }
@@ -0,0 +1,13 @@
+package com.googleplacessdk;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+
+/**
+ * New architecture base of {@link GooglePlacesSdkModule}, the abstract methods are generated by
+ * codegen from {@code src/NativeGooglePlacesSdk.ts}.
+ */
+abstract class GooglePlacesSdkSpec extends NativeGooglePlacesSdkSpec {
+  GooglePlacesSdkSpec(ReactApplicationContext context) {
+    super(context);
+  }
+}
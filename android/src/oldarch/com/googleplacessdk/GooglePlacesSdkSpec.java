@@ -0,0 +1,79 @@
+package com.googleplacessdk;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+/**
+ * Old architecture base of {@link GooglePlacesSdkModule}. Mirrors the codegen spec generated from
+ * {@code src/NativeGooglePlacesSdk.ts} so the module compiles against either base unchanged.
+ */
+abstract class GooglePlacesSdkSpec extends ReactContextBaseJavaModule {
+  GooglePlacesSdkSpec(ReactApplicationContext context) {
+    super(context);
+  }
+
+  public abstract void initialize(String apiKey, ReadableMap options);
+
+  public abstract void startNewSession(String sessionID, Promise promise);
+
+  public abstract void clearSession(String sessionID, Promise promise);
+
+  public abstract void fetchPredictions(String query, ReadableMap options, Promise promise);
+
+  public abstract void fetchPlaceByID(String placeID, ReadableArray fields, ReadableMap options, Promise promise);
+
+  public abstract void fetchPlacesByIDs(ReadableArray placeIDs, ReadableArray fields, ReadableMap options,
+                                        Promise promise);
+
+  public abstract void fetchPlacePhoto(String reference, double maxWidth, double maxHeight, ReadableMap options,
+                                       Promise promise);
+
+  public abstract WritableMap getCachedPlaceSync(String placeID, ReadableArray fields, ReadableMap options);
+
+  public abstract WritableArray getCachedPredictionsSync(String query, ReadableMap options);
+
+  public abstract void clearPhotoCache();
+
+  public abstract void getPhotoCacheStats(Promise promise);
+
+  public abstract void clearPlaceCache();
+
+  public abstract void getPlaceCacheStats(Promise promise);
+
+  public abstract void clearPredictionCache();
+
+  public abstract void getPredictionCacheStats(Promise promise);
+
+  public abstract void clearLocalIndex();
+
+  public abstract void getLocalIndexStats(Promise promise);
+
+  public abstract void getRateLimitStats(Promise promise);
+
+  public abstract void getPrefetchStats(Promise promise);
+
+  public abstract void getMetrics(Promise promise);
+
+  public abstract void resetMetrics();
+
+  public abstract void getPlaceTypes(Promise promise);
+
+  public abstract void cancelAll(String tag, Promise promise);
+
+  public abstract void getInFlightStats(Promise promise);
+
+  public abstract void getMemoryStats(Promise promise);
+
+  public abstract void getInitStats(Promise promise);
+
+  public abstract void getOutstandingPromises(Promise promise);
+
+  public abstract void addListener(String eventName);
+
+  public abstract void removeListeners(double count);
+}
@@ -0,0 +1,184 @@
+package com.googleplacessdk;
+
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import com.google.android.libraries.places.api.model.AddressComponent;
+import com.google.android.libraries.places.api.model.AddressComponents;
+import com.google.android.libraries.places.api.model.OpeningHours;
+import com.google.android.libraries.places.api.model.PhotoMetadata;
+import com.google.android.libraries.places.api.model.Place;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class GooglePlacesSdkDiskCacheTest {
+  private static final List<Place.Field> FIELDS = Arrays.asList(
+    Place.Field.ID, Place.Field.NAME, Place.Field.ADDRESS, Place.Field.ADDRESS_COMPONENTS, Place.Field.LAT_LNG,
+    Place.Field.VIEWPORT, Place.Field.TYPES, Place.Field.RATING, Place.Field.PRICE_LEVEL,
+    Place.Field.USER_RATINGS_TOTAL, Place.Field.BUSINESS_STATUS, Place.Field.DINE_IN,
+    Place.Field.OPENING_HOURS, Place.Field.PHOTO_METADATAS, Place.Field.PHONE_NUMBER);
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private File directory;
+  private GooglePlacesSdkDiskCache cache;
+
+  @Before
+  public void setUp() {
+    directory = new File(folder.getRoot(), "places");
+    cache = new GooglePlacesSdkDiskCache(directory);
+    cache.configure(true, 1024 * 1024, 60 * 60 * 1000);
+  }
+
+  private static Place place(String placeID) {
+    return Place.builder()
+      .setId(placeID)
+      .setName("Sydney Opera House")
+      .setAddress("Bennelong Point, Sydney NSW 2000, Australia")
+      .setAddressComponents(AddressComponents.newInstance(Collections.singletonList(
+        AddressComponent.builder("Sydney", Arrays.asList("locality", "political")).setShortName("Sydney").build())))
+      .setLatLng(new LatLng(-33.8567844, 151.213108))
+      .setViewport(new LatLngBounds(new LatLng(-33.8581, 151.2117), new LatLng(-33.8554, 151.2144)))
+      .setTypes(Arrays.asList(Place.Type.TOURIST_ATTRACTION, Place.Type.ESTABLISHMENT))
+      .setRating(4.7)
+      .setUserRatingsTotal(88210)
+      .setBusinessStatus(Place.BusinessStatus.OPERATIONAL)
+      .setDineIn(Place.BooleanPlaceAttributeValue.TRUE)
+      .setOpeningHours(OpeningHours.builder()
+        .setPeriods(Collections.emptyList())
+        .setWeekdayText(Arrays.asList("Monday: 9:00 AM – 5:00 PM", "Tuesday: Closed"))
+        .build())
+      .setPhotoMetadatas(Collections.singletonList(PhotoMetadata.builder("photo-reference")
+        .setWidth(4032)
+        .setHeight(3024)
+        .setAttributions("<a href=\"https://maps.google.com\">Contributor</a>")
+        .build()))
+      .setAttributions(Collections.singletonList("Data from Example"))
+      .build();
+  }
+
+  private File fileFor(String placeID) {
+    return new File(directory, GooglePlacesSdkDiskCache.toFileName(placeID));
+  }
+
+  @Test
+  public void readsBackEveryStoredField() {
+    Place place = place("a");
+    cache.put("a", FIELDS, place);
+
+    GooglePlacesSdkPlaceCache.CachedPlace cachedPlace = cache.get("a", FIELDS);
+    assertNotNull(cachedPlace);
+    Place read = cachedPlace.place;
+    assertEquals(GooglePlacesSdkPlaceCache.toFieldSet(FIELDS), cachedPlace.fields);
+    assertEquals("a", read.getId());
+    assertEquals(place.getName(), read.getName());
+    assertEquals(place.getAddress(), read.getAddress());
+    assertEquals("Sydney", read.getAddressComponents().asList().get(0).getShortName());
+    assertEquals(place.getAddressComponents().asList().get(0).getTypes(),
+      read.getAddressComponents().asList().get(0).getTypes());
+    assertEquals(place.getLatLng().latitude, read.getLatLng().latitude, 0);
+    assertEquals(place.getLatLng().longitude, read.getLatLng().longitude, 0);
+    assertEquals(place.getViewport().southwest.latitude, read.getViewport().southwest.latitude, 0);
+    assertEquals(place.getViewport().northeast.longitude, read.getViewport().northeast.longitude, 0);
+    assertEquals(place.getTypes(), read.getTypes());
+    assertEquals(place.getRating(), read.getRating());
+    assertEquals(place.getUserRatingsTotal(), read.getUserRatingsTotal());
+    assertNull(read.getPriceLevel());
+    assertNull(read.getPhoneNumber());
+    assertEquals(Place.BusinessStatus.OPERATIONAL, read.getBusinessStatus());
+    assertEquals(Place.BooleanPlaceAttributeValue.TRUE, read.getDineIn());
+    assertEquals(place.getOpeningHours().getWeekdayText(), read.getOpeningHours().getWeekdayText());
+    PhotoMetadata photo = read.getPhotoMetadatas().get(0);
+    assertEquals("photo-reference", photo.zza());
+    assertEquals(4032, photo.getWidth());
+    assertEquals(3024, photo.getHeight());
+    assertEquals(place.getPhotoMetadatas().get(0).getAttributions(), photo.getAttributions());
+    assertEquals(place.getAttributions(), read.getAttributions());
+  }
+
+  @Test
+  public void onlyClaimsTheFieldsThatWereFetched() {
+    cache.put("a", Arrays.asList(Place.Field.ID, Place.Field.NAME), place("a"));
+
+    GooglePlacesSdkPlaceCache.CachedPlace cachedPlace = cache.get("a", Collections.singletonList(Place.Field.NAME));
+    assertNotNull(cachedPlace);
+    assertNull(cachedPlace.place.getAddress());
+    assertNull(cache.get("a", Arrays.asList(Place.Field.NAME, Place.Field.ADDRESS)));
+  }
+
+  @Test
+  public void discardsAFileOfAnotherPlace() {
+    cache.put("a", FIELDS, place("b"));
+
+    assertNull(cache.get("a", FIELDS));
+    assertFalse(fileFor("a").exists());
+  }
+
+  @Test
+  public void discardsAnUnreadableFile() throws IOException {
+    cache.put("a", FIELDS, place("a"));
+    FileOutputStream output = new FileOutputStream(fileFor("a"), true);
+    try {
+      output.write(new byte[] {1, 2, 3});
+    } finally {
+      output.close();
+    }
+
+    assertNull(cache.get("a", FIELDS));
+    assertFalse(fileFor("a").exists());
+  }
+
+  @Test
+  public void discardsAnExpiredFile() {
+    cache.configure(true, 1024 * 1024, -1);
+    cache.put("a", FIELDS, place("a"));
+
+    assertNull(cache.get("a", FIELDS));
+    assertFalse(fileFor("a").exists());
+  }
+
+  @Test
+  public void trimsTheLeastRecentlyUsedFilesOnceOverBudget() {
+    cache.put("a", FIELDS, place("a"));
+    long placeBytes = fileFor("a").length();
+    cache.configure(true, placeBytes * 2, 60 * 60 * 1000);
+    cache.put("b", FIELDS, place("b"));
+    fileFor("a").setLastModified(System.currentTimeMillis() - 10000);
+    fileFor("b").setLastModified(System.currentTimeMillis() - 5000);
+    assertTrue(fileFor("a").exists());
+
+    cache.put("c", FIELDS, place("c"));
+    assertFalse(fileFor("a").exists());
+    assertTrue(fileFor("b").exists());
+    assertTrue(fileFor("c").exists());
+  }
+
+  @Test
+  public void replacingAFileDoesNotCountTwice() {
+    cache.put("a", FIELDS, place("a"));
+    long placeBytes = fileFor("a").length();
+    cache.configure(true, placeBytes * 2, 60 * 60 * 1000);
+    cache.put("b", FIELDS, place("b"));
+    fileFor("b").setLastModified(System.currentTimeMillis() - 10000);
+
+    cache.put("a", FIELDS, place("a"));
+    cache.put("a", FIELDS, place("a"));
+    assertTrue(fileFor("b").exists());
+  }
+}
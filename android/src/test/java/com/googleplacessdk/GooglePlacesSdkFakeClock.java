@@ -0,0 +1,15 @@
+package com.googleplacessdk;
+
+/** A clock that only moves when a test advances it. */
+class GooglePlacesSdkFakeClock implements GooglePlacesSdkClock {
+  private long now = 1000;
+
+  @Override
+  public synchronized long elapsedRealtime() {
+    return now;
+  }
+
+  synchronized void advance(long ms) {
+    now += ms;
+  }
+}
@@ -0,0 +1,71 @@
+package com.googleplacessdk;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableMap;
+
+/** Records how a bridge promise was settled, and how many times. */
+class GooglePlacesSdkFakePromise implements Promise {
+  int settleCount;
+  Object value;
+  String code;
+  String message;
+
+  @Override
+  public void resolve(Object value) {
+    settleCount++;
+    this.value = value;
+  }
+
+  @Override
+  public void reject(String code, String message) {
+    settleCount++;
+    this.code = code;
+    this.message = message;
+  }
+
+  @Override
+  public void reject(String code, Throwable throwable) {
+    reject(code, throwable.getMessage());
+  }
+
+  @Override
+  public void reject(String code, String message, Throwable throwable) {
+    reject(code, message);
+  }
+
+  @Override
+  public void reject(Throwable throwable) {
+    reject(null, throwable.getMessage());
+  }
+
+  @Override
+  public void reject(Throwable throwable, WritableMap userInfo) {
+    reject(null, throwable.getMessage());
+  }
+
+  @Override
+  public void reject(String code, WritableMap userInfo) {
+    reject(code, (String) null);
+  }
+
+  @Override
+  public void reject(String code, Throwable throwable, WritableMap userInfo) {
+    reject(code, throwable.getMessage());
+  }
+
+  @Override
+  public void reject(String code, String message, WritableMap userInfo) {
+    reject(code, message);
+  }
+
+  @Override
+  public void reject(String code, String message, Throwable throwable, WritableMap userInfo) {
+    reject(code, message);
+  }
+
+  @Override
+  @Deprecated
+  public void reject(String message) {
+    reject(null, message);
+  }
+}
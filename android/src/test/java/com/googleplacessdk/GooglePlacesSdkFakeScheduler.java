@@ -0,0 +1,108 @@
+package com.googleplacessdk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A scheduler driven by a fake clock. Work handed to {@link #execute} runs right away on the
+ * calling thread, scheduled work runs once a test advances the clock past its delay.
+ */
+class GooglePlacesSdkFakeScheduler extends ScheduledThreadPoolExecutor {
+  private class ScheduledTask implements ScheduledFuture<Object> {
+    final Runnable runnable;
+    final long dueAt;
+    boolean cancelled;
+    boolean done;
+
+    ScheduledTask(Runnable runnable, long dueAt) {
+      this.runnable = runnable;
+      this.dueAt = dueAt;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(dueAt - clock.elapsedRealtime(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      if (done || cancelled) return false;
+
+      cancelled = true;
+      tasks.remove(this);
+      return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    @Override
+    public boolean isDone() {
+      return done || cancelled;
+    }
+
+    @Override
+    public Object get() {
+      return null;
+    }
+
+    @Override
+    public Object get(long timeout, TimeUnit unit) {
+      return null;
+    }
+  }
+
+  private final GooglePlacesSdkFakeClock clock;
+  private final List<ScheduledTask> tasks = new ArrayList<>();
+
+  GooglePlacesSdkFakeScheduler(GooglePlacesSdkFakeClock clock) {
+    super(0);
+    this.clock = clock;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    command.run();
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    ScheduledTask task = new ScheduledTask(command, clock.elapsedRealtime() + unit.toMillis(delay));
+    tasks.add(task);
+    return task;
+  }
+
+  int getScheduledCount() {
+    return tasks.size();
+  }
+
+  // Moves the clock forward, running the work that falls due in order, including work scheduled
+  // along the way.
+  void advance(long ms) {
+    long target = clock.elapsedRealtime() + ms;
+    while (true) {
+      ScheduledTask next = null;
+      for (ScheduledTask task : tasks) {
+        if (task.dueAt <= target && (next == null || task.dueAt < next.dueAt)) next = task;
+      }
+      if (next == null) break;
+
+      tasks.remove(next);
+      clock.advance(next.dueAt - clock.elapsedRealtime());
+      next.done = true;
+      next.runnable.run();
+    }
+    clock.advance(target - clock.elapsedRealtime());
+  }
+}
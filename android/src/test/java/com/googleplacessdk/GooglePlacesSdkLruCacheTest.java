@@ -0,0 +1,172 @@
+package com.googleplacessdk;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class GooglePlacesSdkLruCacheTest {
+  private final GooglePlacesSdkFakeClock clock = new GooglePlacesSdkFakeClock();
+
+  private GooglePlacesSdkLruCache<String, String> newCache(int maxEntries, long ttlMs) {
+    return new GooglePlacesSdkLruCache<>(maxEntries, ttlMs, null, Long.MAX_VALUE, clock);
+  }
+
+  // Weighs a value by its length, so byte budgets are easy to reason about
+  private GooglePlacesSdkLruCache<String, String> newWeighedCache(int maxEntries, long maxBytes) {
+    return new GooglePlacesSdkLruCache<>(maxEntries, 0, (value) -> value.length(), maxBytes, clock);
+  }
+
+  @Test
+  public void evictsTheLeastRecentlyUsedEntry() {
+    GooglePlacesSdkLruCache<String, String> cache = newCache(2, 0);
+    cache.put("a", "A");
+    cache.put("b", "B");
+    cache.get("a");
+    cache.put("c", "C");
+
+    assertEquals(2, cache.size());
+    assertEquals("A", cache.get("a"));
+    assertNull(cache.get("b"));
+    assertEquals("C", cache.get("c"));
+  }
+
+  @Test
+  public void replacingAnEntryDoesNotEvict() {
+    GooglePlacesSdkLruCache<String, String> cache = newCache(2, 0);
+    cache.put("a", "A");
+    cache.put("b", "B");
+    cache.put("a", "A2");
+
+    assertEquals(2, cache.size());
+    assertEquals("A2", cache.get("a"));
+    assertEquals("B", cache.get("b"));
+  }
+
+  @Test
+  public void expiresEntriesAfterTheTtl() {
+    GooglePlacesSdkLruCache<String, String> cache = newCache(10, 1000);
+    cache.put("a", "A");
+
+    clock.advance(1000);
+    assertEquals("A", cache.get("a"));
+
+    clock.advance(1);
+    assertNull(cache.get("a"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void aZeroTtlNeverExpires() {
+    GooglePlacesSdkLruCache<String, String> cache = newCache(10, 0);
+    cache.put("a", "A");
+    clock.advance(Integer.MAX_VALUE);
+
+    assertEquals("A", cache.get("a"));
+  }
+
+  @Test
+  public void aPutRestartsTheTtl() {
+    GooglePlacesSdkLruCache<String, String> cache = newCache(10, 1000);
+    cache.put("a", "A");
+    clock.advance(800);
+    cache.put("a", "A2");
+    clock.advance(800);
+
+    assertEquals("A2", cache.get("a"));
+  }
+
+  @Test
+  public void aRejectedEntryIsAMissButStaysCached() {
+    GooglePlacesSdkLruCache<String, String> cache = newCache(10, 0);
+    cache.put("a", "A");
+
+    assertNull(cache.get("a", (value) -> false));
+    assertEquals(1, cache.size());
+    assertEquals("A", cache.get("a", (value) -> true));
+  }
+
+  @Test
+  public void trimsTheLeastRecentlyUsedEntriesToTheByteBudget() {
+    GooglePlacesSdkLruCache<String, String> cache = newWeighedCache(10, 10);
+    cache.put("a", "aaaa");
+    cache.put("b", "bbbb");
+    cache.get("a");
+    cache.put("c", "cccc");
+
+    assertEquals(8, cache.getBytes());
+    assertNull(cache.get("b"));
+    assertEquals("aaaa", cache.get("a"));
+    assertEquals("cccc", cache.get("c"));
+  }
+
+  @Test
+  public void keepsTheByteCountAcrossReplaceRemoveAndExpiry() {
+    GooglePlacesSdkLruCache<String, String> cache =
+      new GooglePlacesSdkLruCache<>(10, 1000, (value) -> value.length(), 100, clock);
+    cache.put("a", "aaaa");
+    cache.put("a", "aa");
+    cache.put("b", "bbb");
+    assertEquals(5, cache.getBytes());
+
+    cache.remove("b");
+    assertEquals(2, cache.getBytes());
+
+    clock.advance(1001);
+    cache.get("a");
+    assertEquals(0, cache.getBytes());
+  }
+
+  @Test
+  public void anEntryLargerThanTheBudgetIsNotKept() {
+    GooglePlacesSdkLruCache<String, String> cache = newWeighedCache(10, 3);
+    cache.put("a", "aaaa");
+
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getBytes());
+  }
+
+  @Test
+  public void loweringTheLimitsEvictsRightAway() {
+    GooglePlacesSdkLruCache<String, String> cache = newWeighedCache(10, 100);
+    cache.put("a", "aaaa");
+    cache.put("b", "bbbb");
+    cache.put("c", "cccc");
+
+    cache.setMaxBytes(8);
+    assertNull(cache.get("a"));
+    assertEquals(2, cache.size());
+
+    cache.configure(1, 0);
+    assertNull(cache.get("b"));
+    assertEquals("cccc", cache.get("c"));
+  }
+
+  @Test
+  public void trimKeepsTheMostRecentlyUsedFraction() {
+    GooglePlacesSdkLruCache<String, String> cache = newWeighedCache(10, 100);
+    cache.put("a", "aa");
+    cache.put("b", "bb");
+    cache.put("c", "cc");
+    cache.put("d", "dd");
+    cache.get("a");
+
+    cache.trim(0.5);
+    assertEquals(2, cache.size());
+    assertEquals(4, cache.getBytes());
+    assertEquals("dd", cache.get("d"));
+    assertEquals("aa", cache.get("a"));
+
+    cache.trim(0);
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getBytes());
+  }
+
+  @Test
+  public void aZeroSizedCacheStoresNothing() {
+    GooglePlacesSdkLruCache<String, String> cache = newCache(0, 0);
+    cache.put("a", "A");
+
+    assertNull(cache.get("a"));
+  }
+}
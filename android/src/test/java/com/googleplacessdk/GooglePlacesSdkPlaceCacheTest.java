@@ -0,0 +1,82 @@
+package com.googleplacessdk;
+
+import com.google.android.libraries.places.api.model.Place;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class GooglePlacesSdkPlaceCacheTest {
+  private static final List<Place.Field> NAME_FIELDS = Arrays.asList(Place.Field.ID, Place.Field.NAME);
+  private static final List<Place.Field> ADDRESS_FIELDS =
+    Arrays.asList(Place.Field.ID, Place.Field.NAME, Place.Field.ADDRESS);
+
+  private final GooglePlacesSdkFakeClock clock = new GooglePlacesSdkFakeClock();
+
+  private static Place place(String placeID) {
+    return Place.builder()
+      .setId(placeID)
+      .setName("Place " + placeID)
+      .setAddress("1 Test Street")
+      .build();
+  }
+
+  @Test
+  public void servesRequestsCoveredByTheCachedFields() {
+    GooglePlacesSdkPlaceCache cache = new GooglePlacesSdkPlaceCache(10, 0, Long.MAX_VALUE, clock);
+    Place place = place("a");
+    cache.put("a", ADDRESS_FIELDS, place);
+
+    assertSame(place, cache.get("a", ADDRESS_FIELDS));
+    assertSame(place, cache.get("a", NAME_FIELDS));
+    assertSame(place, cache.get("a", Collections.singletonList(Place.Field.ADDRESS)));
+  }
+
+  @Test
+  public void missesRequestsForFieldsThatWereNotFetched() {
+    GooglePlacesSdkPlaceCache cache = new GooglePlacesSdkPlaceCache(10, 0, Long.MAX_VALUE, clock);
+    cache.put("a", NAME_FIELDS, place("a"));
+
+    assertNull(cache.get("a", ADDRESS_FIELDS));
+    assertNull(cache.get("b", NAME_FIELDS));
+  }
+
+  @Test
+  public void aWiderFetchReplacesTheCachedFieldSet() {
+    GooglePlacesSdkPlaceCache cache = new GooglePlacesSdkPlaceCache(10, 0, Long.MAX_VALUE, clock);
+    cache.put("a", NAME_FIELDS, place("a"));
+    Place widerPlace = place("a");
+    cache.put("a", ADDRESS_FIELDS, widerPlace);
+
+    assertSame(widerPlace, cache.get("a", ADDRESS_FIELDS));
+  }
+
+  @Test
+  public void expiresPlacesAfterTheTtl() {
+    GooglePlacesSdkPlaceCache cache = new GooglePlacesSdkPlaceCache(10, 1000, Long.MAX_VALUE, clock);
+    cache.put("a", NAME_FIELDS, place("a"));
+
+    clock.advance(1001);
+    assertNull(cache.get("a", NAME_FIELDS));
+  }
+
+  @Test
+  public void trimsToTheByteBudgetByEstimatedPlaceSize() {
+    Place first = place("a");
+    Place second = place("b");
+    long placeBytes = GooglePlacesSdkMemoryGovernor.EstimatePlaceBytes(first);
+    GooglePlacesSdkPlaceCache cache = new GooglePlacesSdkPlaceCache(10, 0, placeBytes * 3 / 2, clock);
+    cache.put("a", NAME_FIELDS, first);
+    cache.put("b", NAME_FIELDS, second);
+
+    assertNull(cache.get("a", NAME_FIELDS));
+    assertSame(second, cache.get("b", NAME_FIELDS));
+    assertEquals(GooglePlacesSdkMemoryGovernor.EstimatePlaceBytes(second), cache.getBytes());
+  }
+}
@@ -0,0 +1,148 @@
+package com.googleplacessdk;
+
+import com.facebook.react.bridge.JavaOnlyMap;
+
+import org.junit.Test;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GooglePlacesSdkPromiseTest {
+  private final GooglePlacesSdkFakeScheduler scheduler =
+    new GooglePlacesSdkFakeScheduler(new GooglePlacesSdkFakeClock());
+
+  @Test
+  public void settlesOnlyOnce() {
+    GooglePlacesSdkFakePromise bridgePromise = new GooglePlacesSdkFakePromise();
+    GooglePlacesSdkPromise promise = new GooglePlacesSdkPromise(bridgePromise);
+
+    assertTrue(promise.resolve("first"));
+    assertFalse(promise.resolve("second"));
+    assertFalse(promise.reject("TIMEOUT", "Timed out"));
+    assertFalse(promise.drop());
+
+    assertTrue(promise.isSettled());
+    assertNull(promise.getErrorCode());
+    assertEquals(1, bridgePromise.settleCount);
+    assertEquals("first", bridgePromise.value);
+  }
+
+  @Test
+  public void keepsTheCodeOfTheFirstRejection() {
+    GooglePlacesSdkFakePromise bridgePromise = new GooglePlacesSdkFakePromise();
+    GooglePlacesSdkPromise promise = new GooglePlacesSdkPromise(bridgePromise);
+
+    assertTrue(promise.reject("TIMEOUT", "Timed out"));
+    assertFalse(promise.resolve("late"));
+
+    assertEquals("TIMEOUT", promise.getErrorCode());
+    assertEquals(1, bridgePromise.settleCount);
+    assertEquals("TIMEOUT", bridgePromise.code);
+    assertEquals("Timed out", bridgePromise.message);
+  }
+
+  @Test
+  public void dropSettlesWithoutCallingTheBridge() {
+    GooglePlacesSdkFakePromise bridgePromise = new GooglePlacesSdkFakePromise();
+    GooglePlacesSdkPromise promise = new GooglePlacesSdkPromise(bridgePromise);
+
+    assertTrue(promise.drop());
+    assertEquals(GooglePlacesSdkConstants.CANCELLED, promise.getErrorCode());
+    assertEquals(0, bridgePromise.settleCount);
+    assertFalse(promise.resolve("late"));
+  }
+
+  @Test
+  public void runsSettledListenersOnce() {
+    GooglePlacesSdkPromise promise = new GooglePlacesSdkPromise(new GooglePlacesSdkFakePromise());
+    AtomicInteger calls = new AtomicInteger();
+    promise.addOnSettledListener(calls::incrementAndGet);
+    assertEquals(0, calls.get());
+
+    promise.resolve("value");
+    promise.reject("TIMEOUT", "Timed out");
+    assertEquals(1, calls.get());
+
+    promise.addOnSettledListener(calls::incrementAndGet);
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void cancelsTheDeadlineOnceSettled() {
+    GooglePlacesSdkPromise promise = new GooglePlacesSdkPromise(new GooglePlacesSdkFakePromise());
+    ScheduledFuture<?> deadline = scheduler.schedule(() -> { }, 1000, TimeUnit.MILLISECONDS);
+    promise.setDeadline(deadline);
+    assertFalse(deadline.isCancelled());
+
+    promise.resolve("value");
+    assertTrue(deadline.isCancelled());
+
+    ScheduledFuture<?> lateDeadline = scheduler.schedule(() -> { }, 1000, TimeUnit.MILLISECONDS);
+    promise.setDeadline(lateDeadline);
+    assertTrue(lateDeadline.isCancelled());
+  }
+
+  @Test
+  public void countsBridgePromisesUntilSettled() {
+    int outstanding = GooglePlacesSdkPromise.getOutstandingCount();
+    GooglePlacesSdkPromise promise = new GooglePlacesSdkPromise(new GooglePlacesSdkFakePromise());
+    assertTrue(promise.attach(new GooglePlacesSdkFakePromise()));
+    assertEquals(outstanding + 2, GooglePlacesSdkPromise.getOutstandingCount());
+
+    promise.drop();
+    assertEquals(outstanding, GooglePlacesSdkPromise.getOutstandingCount());
+    assertFalse(promise.attach(new GooglePlacesSdkFakePromise()));
+    assertEquals(outstanding, GooglePlacesSdkPromise.getOutstandingCount());
+  }
+
+  @Test
+  public void settlesEveryAttachedPromise() {
+    GooglePlacesSdkFakePromise first = new GooglePlacesSdkFakePromise();
+    GooglePlacesSdkFakePromise second = new GooglePlacesSdkFakePromise();
+    GooglePlacesSdkPromise promise = new GooglePlacesSdkPromise(first);
+    promise.attach(second);
+
+    promise.reject("TIMEOUT", "Timed out");
+    assertEquals("TIMEOUT", first.code);
+    assertEquals("TIMEOUT", second.code);
+  }
+
+  @Test
+  public void givesExtraWaitersTheirOwnCopyOfAMap() {
+    GooglePlacesSdkFakePromise first = new GooglePlacesSdkFakePromise();
+    GooglePlacesSdkFakePromise second = new GooglePlacesSdkFakePromise();
+    GooglePlacesSdkFakePromise third = new GooglePlacesSdkFakePromise();
+    GooglePlacesSdkPromise promise = new GooglePlacesSdkPromise(first);
+    promise.attach(second);
+    promise.attach(third);
+    JavaOnlyMap place = JavaOnlyMap.of("placeID", "a", "name", "Opera Bar");
+
+    promise.resolve(place);
+    assertSame(place, first.value);
+    assertNotSame(place, second.value);
+    assertNotSame(second.value, third.value);
+    assertEquals(place, second.value);
+    assertEquals(place, third.value);
+  }
+
+  @Test
+  public void sharesImmutableValues() {
+    GooglePlacesSdkFakePromise first = new GooglePlacesSdkFakePromise();
+    GooglePlacesSdkFakePromise second = new GooglePlacesSdkFakePromise();
+    GooglePlacesSdkPromise promise = new GooglePlacesSdkPromise(first);
+    promise.attach(second);
+    String value = "value";
+
+    promise.resolve(value);
+    assertSame(value, first.value);
+    assertSame(value, second.value);
+  }
+}
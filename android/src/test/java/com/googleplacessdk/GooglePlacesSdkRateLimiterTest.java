@@ -0,0 +1,197 @@
+package com.googleplacessdk;
+
+import com.google.android.gms.common.api.ApiException;
+import com.google.android.gms.common.api.CommonStatusCodes;
+import com.google.android.gms.common.api.Status;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.libraries.places.api.net.PlacesStatusCodes;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GooglePlacesSdkRateLimiterTest {
+  private static final String DETAILS = GooglePlacesSdkRateLimiter.DETAILS;
+
+  private final GooglePlacesSdkFakeClock clock = new GooglePlacesSdkFakeClock();
+  private final GooglePlacesSdkFakeScheduler scheduler = new GooglePlacesSdkFakeScheduler(clock);
+  private final GooglePlacesSdkRateLimiter rateLimiter = new GooglePlacesSdkRateLimiter(scheduler, clock);
+  // Names of the calls in the order the limiter let them through, with their SDK tasks
+  private final List<String> started = new ArrayList<>();
+  private final Map<String, TaskCompletionSource<String>> calls = new HashMap<>();
+
+  @Before
+  public void setUp() {
+    rateLimiter.configure(true, 10, 2, 100, 1000);
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  private Task<String> execute(final String name, int priority) {
+    return rateLimiter.execute(DETAILS, priority, null, () -> {
+      TaskCompletionSource<String> call = new TaskCompletionSource<>();
+      started.add(name);
+      calls.put(name, call);
+      return call.getTask();
+    });
+  }
+
+  private static ApiException apiException(int statusCode) {
+    return new ApiException(new Status(statusCode));
+  }
+
+  private static int statusCode(Task<?> task) {
+    return ((ApiException) task.getException()).getStatusCode();
+  }
+
+  @Test
+  public void passesCallsThroughWhenDisabled() {
+    rateLimiter.configure(false, 10, 2, 100, 1000);
+    rateLimiter.configureBucket(DETAILS, 1, 1);
+    execute("a", GooglePlacesSdkRateLimiter.PRIORITY_NORMAL);
+    execute("b", GooglePlacesSdkRateLimiter.PRIORITY_NORMAL);
+
+    assertEquals(Arrays.asList("a", "b"), started);
+  }
+
+  @Test
+  public void startsABurstAndQueuesTheRest() {
+    rateLimiter.configureBucket(DETAILS, 2, 1);
+    execute("a", GooglePlacesSdkRateLimiter.PRIORITY_NORMAL);
+    execute("b", GooglePlacesSdkRateLimiter.PRIORITY_NORMAL);
+    execute("c", GooglePlacesSdkRateLimiter.PRIORITY_NORMAL);
+    assertEquals(Arrays.asList("a", "b"), started);
+
+    scheduler.advance(999);
+    assertEquals(2, started.size());
+
+    scheduler.advance(1);
+    assertEquals(Arrays.asList("a", "b", "c"), started);
+  }
+
+  @Test
+  public void refillsTokensAtTheConfiguredRate() {
+    rateLimiter.configureBucket(DETAILS, 1, 4);
+    execute("a", GooglePlacesSdkRateLimiter.PRIORITY_NORMAL);
+    execute("b", GooglePlacesSdkRateLimiter.PRIORITY_NORMAL);
+    execute("c", GooglePlacesSdkRateLimiter.PRIORITY_NORMAL);
+
+    scheduler.advance(250);
+    assertEquals(Arrays.asList("a", "b"), started);
+
+    scheduler.advance(250);
+    assertEquals(Arrays.asList("a", "b", "c"), started);
+  }
+
+  @Test
+  public void refillsNoMoreThanTheBurst() {
+    rateLimiter.configureBucket(DETAILS, 2, 1);
+    scheduler.advance(60000);
+    for (String name : Arrays.asList("a", "b", "c")) {
+      execute(name, GooglePlacesSdkRateLimiter.PRIORITY_NORMAL);
+    }
+
+    assertEquals(Arrays.asList("a", "b"), started);
+  }
+
+  @Test
+  public void startsWaitingCallsByPriorityThenArrival() {
+    rateLimiter.configureBucket(DETAILS, 1, 1);
+    execute("a", GooglePlacesSdkRateLimiter.PRIORITY_LOW);
+    execute("b", GooglePlacesSdkRateLimiter.PRIORITY_LOW);
+    execute("c", GooglePlacesSdkRateLimiter.PRIORITY_NORMAL);
+    execute("d", GooglePlacesSdkRateLimiter.PRIORITY_HIGH);
+    execute("e", GooglePlacesSdkRateLimiter.PRIORITY_NORMAL);
+
+    scheduler.advance(4000);
+    assertEquals(Arrays.asList("a", "d", "c", "e", "b"), started);
+  }
+
+  @Test
+  public void shedsTheLowestPriorityNewestCallOnceTheQueueIsFull() {
+    rateLimiter.configure(true, 2, 2, 100, 1000);
+    rateLimiter.configureBucket(DETAILS, 1, 1);
+    execute("a", GooglePlacesSdkRateLimiter.PRIORITY_LOW);
+    Task<String> b = execute("b", GooglePlacesSdkRateLimiter.PRIORITY_LOW);
+    Task<String> c = execute("c", GooglePlacesSdkRateLimiter.PRIORITY_LOW);
+    Task<String> d = execute("d", GooglePlacesSdkRateLimiter.PRIORITY_HIGH);
+
+    assertTrue(c.isComplete());
+    assertEquals(PlacesStatusCodes.OVER_QUERY_LIMIT, statusCode(c));
+    assertFalse(b.isComplete());
+    assertFalse(d.isComplete());
+
+    Task<String> e = execute("e", GooglePlacesSdkRateLimiter.PRIORITY_LOW);
+    assertEquals(PlacesStatusCodes.OVER_QUERY_LIMIT, statusCode(e));
+
+    scheduler.advance(2000);
+    assertEquals(Arrays.asList("a", "d", "b"), started);
+  }
+
+  @Test
+  public void resolvesWithTheSdkResult() {
+    Task<String> task = execute("a", GooglePlacesSdkRateLimiter.PRIORITY_NORMAL);
+    calls.get("a").setResult("place");
+
+    assertTrue(task.isSuccessful());
+    assertEquals("place", task.getResult());
+  }
+
+  @Test
+  public void retriesRetryableFailuresWithGrowingBackoff() {
+    Task<String> task = execute("a", GooglePlacesSdkRateLimiter.PRIORITY_NORMAL);
+
+    calls.get("a").setException(apiException(CommonStatusCodes.NETWORK_ERROR));
+    assertFalse(task.isComplete());
+    assertEquals(1, scheduler.getScheduledCount());
+    // Full jitter picks a delay below the base backoff for the first retry
+    scheduler.advance(100);
+    assertEquals(2, started.size());
+
+    calls.get("a").setException(apiException(PlacesStatusCodes.OVER_QUERY_LIMIT));
+    assertFalse(task.isComplete());
+    // and below twice the base backoff for the second
+    scheduler.advance(200);
+    assertEquals(3, started.size());
+
+    calls.get("a").setException(apiException(CommonStatusCodes.TIMEOUT));
+    assertTrue(task.isComplete());
+    assertEquals(CommonStatusCodes.TIMEOUT, statusCode(task));
+    assertEquals(0, scheduler.getScheduledCount());
+  }
+
+  @Test
+  public void capsTheBackoffAtTheMaximum() {
+    rateLimiter.configure(true, 10, 5, 100, 150);
+    execute("a", GooglePlacesSdkRateLimiter.PRIORITY_NORMAL);
+    for (int attempt = 1; attempt <= 5; attempt++) {
+      calls.get("a").setException(apiException(CommonStatusCodes.NETWORK_ERROR));
+      scheduler.advance(150);
+      assertEquals(attempt + 1, started.size());
+    }
+  }
+
+  @Test
+  public void failsOtherErrorsRightAway() {
+    Task<String> task = execute("a", GooglePlacesSdkRateLimiter.PRIORITY_NORMAL);
+    calls.get("a").setException(apiException(PlacesStatusCodes.INVALID_REQUEST));
+
+    assertTrue(task.isComplete());
+    assertEquals(PlacesStatusCodes.INVALID_REQUEST, statusCode(task));
+    assertEquals(0, scheduler.getScheduledCount());
+  }
+}
@@ -0,0 +1,125 @@
+package com.googleplacessdk;
+
+import com.google.android.libraries.places.api.model.AutocompleteSessionToken;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GooglePlacesSdkSessionRegistryTest {
+  private final GooglePlacesSdkFakeClock clock = new GooglePlacesSdkFakeClock();
+  private final GooglePlacesSdkSessionRegistry sessions = new GooglePlacesSdkSessionRegistry(1000, clock);
+
+  @Test
+  public void reusesTheActiveToken() {
+    AutocompleteSessionToken token = sessions.getOrStart("search");
+
+    assertNotNull(token);
+    assertSame(token, sessions.getOrStart("search"));
+    assertSame(token, sessions.get("search"));
+  }
+
+  @Test
+  public void keepsSessionsApartByID() {
+    AutocompleteSessionToken origin = sessions.getOrStart("origin");
+    AutocompleteSessionToken destination = sessions.getOrStart("destination");
+
+    assertNotSame(origin, destination);
+    assertTrue(sessions.end("origin", origin));
+    assertSame(destination, sessions.get("destination"));
+  }
+
+  @Test
+  public void endRemovesTheSessionHoldingTheToken() {
+    AutocompleteSessionToken token = sessions.getOrStart("search");
+
+    assertTrue(sessions.end("search", token));
+    assertNull(sessions.get("search"));
+    assertFalse(sessions.end("search", token));
+  }
+
+  @Test
+  public void endLeavesASessionStartedAfterTheSelectionAlone() {
+    AutocompleteSessionToken selected = sessions.getOrStart("search");
+    AutocompleteSessionToken restarted = sessions.start("search");
+
+    assertFalse(sessions.end("search", selected));
+    assertSame(restarted, sessions.get("search"));
+  }
+
+  @Test
+  public void endLeavesASessionRestartedAfterIdlingAlone() {
+    AutocompleteSessionToken selected = sessions.getOrStart("search");
+    clock.advance(1001);
+    AutocompleteSessionToken restarted = sessions.getOrStart("search");
+
+    assertNotSame(selected, restarted);
+    assertFalse(sessions.end("search", selected));
+    assertSame(restarted, sessions.get("search"));
+  }
+
+  @Test
+  public void startsANewSessionOnceIdle() {
+    AutocompleteSessionToken token = sessions.getOrStart("search");
+    clock.advance(1001);
+
+    assertNull(sessions.get("search"));
+    assertEquals(0, sessions.size());
+    assertNotSame(token, sessions.getOrStart("search"));
+  }
+
+  @Test
+  public void useKeepsASessionAlive() {
+    AutocompleteSessionToken token = sessions.getOrStart("search");
+    clock.advance(800);
+    sessions.get("search");
+    clock.advance(800);
+
+    assertSame(token, sessions.getOrStart("search"));
+  }
+
+  @Test
+  public void startingASessionEvictsIdleOnes() {
+    sessions.getOrStart("origin");
+    clock.advance(600);
+    sessions.getOrStart("destination");
+    clock.advance(600);
+    sessions.start("waypoint");
+
+    assertEquals(2, sessions.size());
+    assertNull(sessions.get("origin"));
+  }
+
+  @Test
+  public void aZeroTimeoutNeverIdles() {
+    GooglePlacesSdkSessionRegistry registry = new GooglePlacesSdkSessionRegistry(0, clock);
+    AutocompleteSessionToken token = registry.getOrStart("search");
+    clock.advance(Integer.MAX_VALUE);
+
+    assertSame(token, registry.get("search"));
+  }
+
+  @Test
+  public void clearDropsTheSessionWhateverItsToken() {
+    sessions.getOrStart("search");
+
+    assertTrue(sessions.clear("search"));
+    assertFalse(sessions.clear("search"));
+    assertNull(sessions.get("search"));
+  }
+
+  @Test
+  public void missingSessionIDsMapToTheDefaultSession() {
+    assertEquals(GooglePlacesSdkSessionRegistry.DEFAULT_SESSION_ID,
+      GooglePlacesSdkSessionRegistry.ParseSessionID(null));
+    assertEquals(GooglePlacesSdkSessionRegistry.DEFAULT_SESSION_ID,
+      GooglePlacesSdkSessionRegistry.ParseSessionID(""));
+    assertEquals("search", GooglePlacesSdkSessionRegistry.ParseSessionID("search"));
+  }
+}
@@ -0,0 +1,76 @@
+package com.googleplacessdk;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+public class GooglePlacesSdkSingleFlightTest {
+  private final GooglePlacesSdkSingleFlight singleFlight = new GooglePlacesSdkSingleFlight();
+
+  @Test
+  public void attachesIdenticalRequestsToTheLeader() {
+    GooglePlacesSdkFakePromise first = new GooglePlacesSdkFakePromise();
+    GooglePlacesSdkFakePromise second = new GooglePlacesSdkFakePromise();
+    GooglePlacesSdkPromise leader = singleFlight.join("place:a", first, GooglePlacesSdkTrace.untraced());
+
+    assertNotNull(leader);
+    assertNull(singleFlight.join("place:a", second, GooglePlacesSdkTrace.untraced()));
+
+    leader.resolve("value");
+    assertEquals("value", first.value);
+    assertEquals("value", second.value);
+  }
+
+  @Test
+  public void keepsDifferentKeysApart() {
+    GooglePlacesSdkPromise first = singleFlight.join("place:a", new GooglePlacesSdkFakePromise(),
+      GooglePlacesSdkTrace.untraced());
+    GooglePlacesSdkPromise second = singleFlight.join("place:b", new GooglePlacesSdkFakePromise(),
+      GooglePlacesSdkTrace.untraced());
+
+    assertNotNull(first);
+    assertNotNull(second);
+    assertNotSame(first, second);
+  }
+
+  @Test
+  public void startsANewLeaderOnceTheLastOneSettled() {
+    GooglePlacesSdkPromise leader = singleFlight.join("place:a", new GooglePlacesSdkFakePromise(),
+      GooglePlacesSdkTrace.untraced());
+    leader.reject("TIMEOUT", "Timed out");
+
+    GooglePlacesSdkFakePromise next = new GooglePlacesSdkFakePromise();
+    GooglePlacesSdkPromise nextLeader = singleFlight.join("place:a", next, GooglePlacesSdkTrace.untraced());
+    assertNotNull(nextLeader);
+    assertNotSame(leader, nextLeader);
+
+    nextLeader.resolve("value");
+    assertEquals("value", next.value);
+  }
+
+  @Test
+  public void attachedCallersShareTheLeadersRejection() {
+    GooglePlacesSdkFakePromise second = new GooglePlacesSdkFakePromise();
+    GooglePlacesSdkPromise leader = singleFlight.join("place:a", new GooglePlacesSdkFakePromise(),
+      GooglePlacesSdkTrace.untraced());
+    singleFlight.join("place:a", second, GooglePlacesSdkTrace.untraced());
+
+    leader.reject("API_9011", "INVALID_REQUEST");
+    assertEquals("API_9011", second.code);
+    assertEquals(1, second.settleCount);
+  }
+
+  @Test
+  public void tracesAttachedCallersAsCoalesced() {
+    GooglePlacesSdkTrace trace = GooglePlacesSdkTrace.untraced();
+    GooglePlacesSdkPromise leader = singleFlight.join("place:a", new GooglePlacesSdkFakePromise(),
+      GooglePlacesSdkTrace.untraced());
+    singleFlight.join("place:a", new GooglePlacesSdkFakePromise(), trace);
+
+    leader.resolve("value");
+    assertEquals(GooglePlacesSdkTrace.SOURCE_COALESCED, trace.source);
+  }
+}
@@ -2,22 +2,27 @@
 
 @interface RCT_EXTERN_MODULE(GooglePlacesSdk, NSObject)
 
-RCT_EXTERN_METHOD(initialize: (NSString *)apiKey)
+RCT_EXTERN_METHOD(initialize: (NSString *)apiKey
+                  options: (NSDictionary *)options)
 RCT_EXTERN_METHOD(fetchPredictions: (NSString *)query
                   filterOptions: (NSDictionary *)filterOptions
                   resolver:(RCTPromiseResolveBlock)resolve
                   rejecter:(RCTPromiseRejectBlock)reject)
 RCT_EXTERN_METHOD(fetchPlaceByID: (NSString *)placeID
                   fields: (NSArray*)fields
+                  options: (NSDictionary *)options
                   resolver:(RCTPromiseResolveBlock)resolve
                   rejecter:(RCTPromiseRejectBlock)reject)
 RCT_EXTERN_METHOD(fetchPlaceByID: (NSString *)placeID
                   fields: (NSArray*)fields
+                  options: (NSDictionary *)options
                   resolver:(RCTPromiseResolveBlock)resolve
                   rejecter:(RCTPromiseRejectBlock)reject)
-RCT_EXTERN_METHOD(startNewSession:(RCTPromiseResolveBlock)resolve
+RCT_EXTERN_METHOD(startNewSession: (NSString *)sessionID
+                  resolver:(RCTPromiseResolveBlock)resolve
                   rejecter:(RCTPromiseRejectBlock)reject)
-RCT_EXTERN_METHOD(clearSession:(RCTPromiseResolveBlock)resolve
+RCT_EXTERN_METHOD(clearSession: (NSString *)sessionID
+                  resolver:(RCTPromiseResolveBlock)resolve
                   rejecter:(RCTPromiseRejectBlock)reject)
 
 
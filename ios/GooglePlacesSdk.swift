@@ -9,6 +9,7 @@
 import Foundation
 import GooglePlaces
 
+let NOT_INITIALIZED = "NOT_INITIALIZED"
 let NOT_INITIALIZED_MSG = "Google Places not initialized. Initialize by calling initialize method before calling any other methods"
 let NEW_SESSION_CREATED = "NEW_SESSION_CREATED"
 let SESSION_CLEARED = "SESSION_CLEARED";
@@ -17,10 +18,10 @@ let NO_ACTIVE_SESSION = "NO_ACTIVE_SESSION";
 @objc(GooglePlacesSdk)
 class GooglePlacesSdk: NSObject {
   private var client: GMSPlacesClient? = nil;
-  private var sessionToken: GMSAutocompleteSessionToken? = nil;
+  private var sessionTokens: [String: GMSAutocompleteSessionToken] = [:];
   
   @objc
-  func initialize(_ apiKey: String) -> Void {
+  func initialize(_ apiKey: String, options: NSDictionary) -> Void {
     DispatchQueue.main.async {
       GMSPlacesClient.provideAPIKey(apiKey)
       self.client = GMSPlacesClient.shared()
@@ -28,52 +29,52 @@ class GooglePlacesSdk: NSObject {
   }
   
   @objc
-  func startNewSession(_ resolve: @escaping RCTPromiseResolveBlock, rejecter reject: @escaping RCTPromiseRejectBlock) {
+  func startNewSession(_ sessionID: String?, resolver resolve: @escaping RCTPromiseResolveBlock, rejecter reject: @escaping RCTPromiseRejectBlock) {
       guard let client = self.client else {
-          reject("-1", NOT_INITIALIZED_MSG, NSError(domain: "", code: 0))
+          reject(NOT_INITIALIZED, NOT_INITIALIZED_MSG, NSError(domain: "", code: 0))
           return
       }
       
-      self.sessionToken = GMSAutocompleteSessionToken()
+      self.sessionTokens[ParseSessionID(sessionID)] = GMSAutocompleteSessionToken()
       resolve(NEW_SESSION_CREATED)
   }
   
   @objc
-  func clearSession(_ resolve: @escaping RCTPromiseResolveBlock, rejecter reject: @escaping RCTPromiseRejectBlock) {
+  func clearSession(_ sessionID: String?, resolver resolve: @escaping RCTPromiseResolveBlock, rejecter reject: @escaping RCTPromiseRejectBlock) {
       guard let _ = self.client else {
-          reject("-1", NOT_INITIALIZED_MSG, NSError(domain: "", code: 0))
+          reject(NOT_INITIALIZED, NOT_INITIALIZED_MSG, NSError(domain: "", code: 0))
           return
       }
     
-      if self.sessionToken == nil {
+      if self.sessionTokens.removeValue(forKey: ParseSessionID(sessionID)) == nil {
           resolve(NO_ACTIVE_SESSION)
           return
       }
       
-      self.sessionToken = nil
       resolve(SESSION_CLEARED)
   }
   
   @objc
   func fetchPredictions(_ query: String, filterOptions: NSDictionary,  resolver resolve: @escaping RCTPromiseResolveBlock, rejecter reject: @escaping RCTPromiseRejectBlock) {
     guard let client = self.client else {
-      reject("-1", NOT_INITIALIZED_MSG, NSError(domain: "", code: 0))
+      reject(NOT_INITIALIZED, NOT_INITIALIZED_MSG, NSError(domain: "", code: 0))
       return
     }
     
-    // Use sessionToken if it exists, otherwise create a new one
-    self.sessionToken = self.sessionToken ?? GMSAutocompleteSessionToken()
+    // Use the session's token if it exists, otherwise create a new one
+    let sessionID = ParseSessionID(filterOptions["sessionID"] as? String)
+    let sessionToken = self.sessionTokens[sessionID] ?? GMSAutocompleteSessionToken()
+    self.sessionTokens[sessionID] = sessionToken
     
     let filter = AutocompleteFilterFromOptions(filterOptions)
     client.findAutocompletePredictions(
       fromQuery: query,
       filter: filter,
-      sessionToken: self.sessionToken,
+      sessionToken: sessionToken,
       callback: {(results, error) in
         guard let results = results, error == nil else {
-          let errorCode = error?._code ?? 0
           let errorMsg = error?.localizedDescription ?? "Unknown Error"
-          reject(String(errorCode), errorMsg, error)
+          reject(ParseErrorCode(error), errorMsg, error)
           return
         }
 
@@ -96,26 +97,31 @@ class GooglePlacesSdk: NSObject {
 
   
   @objc
-  func fetchPlaceByID(_ placeID: String, fields: NSArray, resolver resolve: @escaping RCTPromiseResolveBlock, rejecter reject: @escaping RCTPromiseRejectBlock) {
+  func fetchPlaceByID(_ placeID: String, fields: NSArray, options: NSDictionary, resolver resolve: @escaping RCTPromiseResolveBlock, rejecter reject: @escaping RCTPromiseRejectBlock) {
     guard let client = self.client else {
-      reject("-1", NOT_INITIALIZED_MSG, NSError(domain: "", code: 0))
+      reject(NOT_INITIALIZED, NOT_INITIALIZED_MSG, NSError(domain: "", code: 0))
       return
     }
     
     let parsedFields = GMSPlaceFieldsFromFields(fields: fields)
     let selectedFields: GMSPlaceField = parsedFields
     
-    client.fetchPlace(fromPlaceID: placeID, placeFields: selectedFields, sessionToken: self.sessionToken, callback: {(place: GMSPlace?, error: Error?) in
+    let sessionID = ParseSessionID(options["sessionID"] as? String)
+    let sessionToken = self.sessionTokens[sessionID]
+    
+    client.fetchPlace(fromPlaceID: placeID, placeFields: selectedFields, sessionToken: sessionToken, callback: {(place: GMSPlace?, error: Error?) in
       guard let place = place, error == nil else {
-        let errorCode = error?._code ?? 0
         let errorMsg = error?.localizedDescription ?? "Unknown Error"
-        reject(String(errorCode), errorMsg, error)
+        reject(ParseErrorCode(error), errorMsg, error)
         return
       }
-      let parsedPlace = ParsePlace(place: place)
+      let parsedPlace = FilterPlaceFields(ParsePlace(place: place), fields: fields)
       resolve(parsedPlace)
       
-      self.sessionToken = nil
+      // End the session the selection was made in, unless it has been replaced meanwhile
+      if let sessionToken = sessionToken, self.sessionTokens[sessionID] === sessionToken {
+        self.sessionTokens.removeValue(forKey: sessionID)
+      }
     })
   }
 }
@@ -9,6 +9,26 @@
 import Foundation
 import GooglePlaces
 
+let DEFAULT_SESSION_ID = "default"
+
+func ParseSessionID(_ sessionID: String?) -> String {
+  guard let sessionID = sessionID, !sessionID.isEmpty else { return DEFAULT_SESSION_ID }
+  return sessionID
+}
+
+// Same codes as on Android: NETWORK and TIMEOUT for connectivity failures, API_<code> for other SDK errors
+func ParseErrorCode(_ error: Error?) -> String {
+  guard let error = error else { return "INTERNAL" }
+  let nsError = error as NSError
+  if nsError.domain == NSURLErrorDomain {
+    return nsError.code == NSURLErrorTimedOut ? "TIMEOUT" : "NETWORK"
+  }
+  if nsError.code == GMSPlacesErrorCode.networkError.rawValue {
+    return "NETWORK"
+  }
+  return "API_\(nsError.code)"
+}
+
 struct LocationBounds {
   let northEast: CLLocationCoordinate2D
   let southWest: CLLocationCoordinate2D
@@ -129,6 +149,22 @@ func GMSPlaceFieldsFromFields(fields: NSArray) -> GMSPlaceField {
   return parsedFields
 }
 
+// Keeps only the requested fields and attributions, like Android does. When no known field is
+// requested every field is fetched, so every key is kept.
+func FilterPlaceFields(_ parsedPlace: NSDictionary, fields: NSArray) -> NSDictionary {
+  let requestedFields = fields.compactMap { $0 as? String }.filter { PLACE_FIELD_MAP[$0] != nil }
+  if requestedFields.isEmpty {
+    return parsedPlace
+  }
+
+  let filteredPlace: NSMutableDictionary = ["attributions": parsedPlace["attributions"] ?? NSNull()]
+  for field in requestedFields {
+    filteredPlace[field] = parsedPlace[field] ?? NSNull()
+  }
+
+  return filteredPlace
+}
+
 func ParseBooleanPlaceAttribute(val: GMSBooleanPlaceAttribute) -> String {
   if (val == GMSBooleanPlaceAttribute.true) {
     return "TRUE";
@@ -0,0 +1,56 @@
+import type { TurboModule } from 'react-native';
+import { TurboModuleRegistry } from 'react-native';
+
+// Codegen spec of the native module. Codegen only reads types declared in this file, so
+// options and results are typed as Object here and narrowed in googlePlacesSdk.ts. Prediction and
+// batch results are an array, or a columnar map when `compact` is set, hence Object.
+export interface Spec extends TurboModule {
+  initialize(apiKey: string, options: Object): void;
+  startNewSession(sessionID: string | null): Promise<string>;
+  clearSession(sessionID: string | null): Promise<string>;
+  fetchPredictions(query: string, options: Object): Promise<Object>;
+  fetchPlaceByID(
+    placeID: string,
+    fields: string[],
+    options: Object
+  ): Promise<Object>;
+  fetchPlacesByIDs(
+    placeIDs: string[],
+    fields: string[],
+    options: Object
+  ): Promise<Object>;
+  fetchPlacePhoto(
+    reference: string,
+    maxWidth: number,
+    maxHeight: number,
+    options: Object
+  ): Promise<Object>;
+  getCachedPlaceSync(
+    placeID: string,
+    fields: string[],
+    options: Object
+  ): Object | null;
+  getCachedPredictionsSync(query: string, options: Object): Object[] | null;
+  clearPhotoCache(): void;
+  getPhotoCacheStats(): Promise<Object>;
+  clearPlaceCache(): void;
+  getPlaceCacheStats(): Promise<Object>;
+  clearPredictionCache(): void;
+  getPredictionCacheStats(): Promise<Object>;
+  clearLocalIndex(): void;
+  getLocalIndexStats(): Promise<Object>;
+  getRateLimitStats(): Promise<Object>;
+  getPrefetchStats(): Promise<Object>;
+  getMetrics(): Promise<Object>;
+  resetMetrics(): void;
+  getPlaceTypes(): Promise<string[]>;
+  cancelAll(tag: string | null): Promise<number>;
+  getInFlightStats(): Promise<Object>;
+  getMemoryStats(): Promise<Object>;
+  getInitStats(): Promise<Object>;
+  getOutstandingPromises(): Promise<number>;
+  addListener(eventName: string): void;
+  removeListeners(count: number): void;
+}
+
+export default TurboModuleRegistry.getEnforcing<Spec>('GooglePlacesSdk');
@@ -0,0 +1,183 @@
+import { decodePlaceResults, decodePredictions, isCompact } from '../compact';
+import type { CompactPlaceResults, CompactPredictions } from '../types';
+
+// Index by index, the place type table returned by getPlaceTypes
+const PLACE_TYPES = ['accounting', 'airport', 'cafe', 'restaurant', 'museum'];
+
+// Shaped like GooglePlacesSdkCompactEncoder.EncodePredictions output: one local place followed by
+// two network predictions.
+const mergedPredictions: CompactPredictions = {
+  format: 'columnar',
+  count: 3,
+  localCount: 1,
+  columns: {
+    placeID: ['local-1', 'network-1', 'network-2'],
+    description: [
+      'Sydney Opera House, Bennelong Point',
+      'Sydney Airport, Mascot',
+      'Opera Bar',
+    ],
+    primaryText: ['Sydney Opera House', 'Sydney Airport', 'Opera Bar'],
+    secondaryText: ['Bennelong Point', 'Mascot', null],
+    distanceMeters: [null, 8200, null],
+  },
+  types: [4, 1, 2, 3],
+  typeOffsets: [0, 1, 2, 4],
+};
+
+const networkPredictions: CompactPredictions = {
+  format: 'columnar',
+  count: 1,
+  localCount: 0,
+  columns: {
+    placeID: ['network-1'],
+    description: ['Sydney Airport, Mascot'],
+    primaryText: ['Sydney Airport'],
+    secondaryText: ['Mascot'],
+    distanceMeters: [8200],
+  },
+  types: [1],
+  typeOffsets: [0, 1],
+};
+
+// Shaped like GooglePlacesSdkCompactEncoder.EncodePlaceResults output for the name, coordinate and
+// types fields, with the second place ID failed. Coordinates hold two entries per place.
+const placeResults: CompactPlaceResults = {
+  format: 'columnar',
+  count: 2,
+  placeIDs: ['place-1', 'place-2'],
+  errorCodes: [null, 'API_9011'],
+  errorMessages: [null, 'INVALID_REQUEST'],
+  columns: {
+    name: ['Opera Bar', null],
+    coordinate: [-33.8568, 151.2153, null, null],
+    attributions: [null, null],
+  },
+  types: [2, 3],
+  typeOffsets: [0, 2, 2],
+};
+
+describe('isCompact', () => {
+  it('recognizes columnar results', () => {
+    expect(isCompact(mergedPredictions)).toBe(true);
+    expect(isCompact(placeResults)).toBe(true);
+  });
+
+  it('rejects regular results', () => {
+    expect(isCompact([])).toBe(false);
+    expect(isCompact(null)).toBe(false);
+    expect(isCompact({ placeID: 'place-1' })).toBe(false);
+  });
+});
+
+describe('decodePredictions', () => {
+  it('rebuilds the regular prediction shape', () => {
+    const predictions = decodePredictions(mergedPredictions, PLACE_TYPES);
+
+    expect(predictions).toHaveLength(3);
+    expect(predictions[1]).toEqual({
+      placeID: 'network-1',
+      description: 'Sydney Airport, Mascot',
+      primaryText: 'Sydney Airport',
+      secondaryText: 'Mascot',
+      types: ['airport'],
+      distanceMeters: 8200,
+      source: 'network',
+    });
+    expect(predictions[2]!.secondaryText).toBeNull();
+    expect(predictions[2]!.types).toEqual(['cafe', 'restaurant']);
+  });
+
+  it('tags local places ahead of network predictions', () => {
+    const predictions = decodePredictions(mergedPredictions, PLACE_TYPES);
+
+    expect(predictions.map((prediction) => prediction.source)).toEqual([
+      'local',
+      'network',
+      'network',
+    ]);
+    expect(predictions[0]!.distanceMeters).toBeNull();
+    expect(predictions[0]!.types).toEqual(['museum']);
+  });
+
+  it('leaves the source out of lists without local places', () => {
+    const [prediction] = decodePredictions(networkPredictions, PLACE_TYPES);
+
+    expect(prediction).not.toHaveProperty('source');
+  });
+
+  it('decodes an item on first access only', () => {
+    const predictions = decodePredictions(mergedPredictions, PLACE_TYPES);
+
+    expect(Object.getOwnPropertyDescriptor(predictions, 1)!.get).toBeDefined();
+    const first = predictions[1];
+    expect(Object.getOwnPropertyDescriptor(predictions, 1)!.value).toBe(first);
+    expect(predictions[1]).toBe(first);
+    expect(Object.getOwnPropertyDescriptor(predictions, 2)!.get).toBeDefined();
+  });
+
+  it('can be spread and iterated like an array', () => {
+    const predictions = decodePredictions(mergedPredictions, PLACE_TYPES);
+
+    expect([...predictions].map((prediction) => prediction.placeID)).toEqual([
+      'local-1',
+      'network-1',
+      'network-2',
+    ]);
+    expect(Array.isArray(predictions)).toBe(true);
+  });
+});
+
+describe('decodePlaceResults', () => {
+  it('rebuilds places from their columns', () => {
+    const [result] = decodePlaceResults(placeResults, PLACE_TYPES);
+
+    expect(result).toEqual({
+      placeID: 'place-1',
+      place: {
+        name: 'Opera Bar',
+        coordinate: { latitude: -33.8568, longitude: 151.2153 },
+        attributions: null,
+        types: ['cafe', 'restaurant'],
+      },
+      error: null,
+    });
+  });
+
+  it('reports failed place IDs as errors', () => {
+    const results = decodePlaceResults(placeResults, PLACE_TYPES);
+
+    expect(results[1]).toEqual({
+      placeID: 'place-2',
+      place: null,
+      error: { code: 'API_9011', message: 'INVALID_REQUEST' },
+    });
+  });
+
+  it('only adds types when they were requested', () => {
+    const withoutTypes: CompactPlaceResults = {
+      ...placeResults,
+      types: undefined,
+      typeOffsets: undefined,
+    };
+    const [result] = decodePlaceResults(withoutTypes, PLACE_TYPES);
+
+    expect(result!.place).not.toHaveProperty('types');
+  });
+
+  it('decodes a null coordinate', () => {
+    const encoded: CompactPlaceResults = {
+      ...placeResults,
+      count: 1,
+      placeIDs: ['place-3'],
+      errorCodes: [null],
+      errorMessages: [null],
+      columns: { coordinate: [null, null], attributions: [null] },
+      types: undefined,
+      typeOffsets: undefined,
+    };
+    const [result] = decodePlaceResults(encoded, PLACE_TYPES);
+
+    expect(result!.place!.coordinate).toBeNull();
+  });
+});
@@ -0,0 +1,130 @@
+import type {
+  CompactPlaceResults,
+  CompactPredictions,
+  Place,
+  PlacePrediction,
+  PlaceResult,
+} from './types';
+
+export function isCompact(
+  value: unknown
+): value is CompactPredictions | CompactPlaceResults {
+  return (
+    value != null &&
+    !Array.isArray(value) &&
+    (value as { format?: string }).format === 'columnar'
+  );
+}
+
+// An array whose items are built on first access, so results that are never read are never
+// decoded. Items are cached once built, the array can be iterated and spread as usual.
+function lazyArray<T>(count: number, build: (index: number) => T): T[] {
+  const items: T[] = new Array(count);
+  for (let i = 0; i < count; i++) {
+    Object.defineProperty(items, i, {
+      configurable: true,
+      enumerable: true,
+      get() {
+        const item = build(i);
+        Object.defineProperty(items, i, {
+          configurable: true,
+          enumerable: true,
+          writable: true,
+          value: item,
+        });
+
+        return item;
+      },
+    });
+  }
+
+  return items;
+}
+
+function decodeTypes(
+  types: number[],
+  typeOffsets: number[],
+  index: number,
+  placeTypes: string[]
+) {
+  const decoded: string[] = [];
+  for (let i = typeOffsets[index]!; i < typeOffsets[index + 1]!; i++) {
+    decoded.push(placeTypes[types[i]!]!);
+  }
+
+  return decoded;
+}
+
+export function decodePredictions(
+  encoded: CompactPredictions,
+  placeTypes: string[]
+): PlacePrediction[] {
+  const { columns } = encoded;
+
+  return lazyArray<PlacePrediction>(encoded.count, (i) => {
+    const prediction: PlacePrediction = {
+      placeID: columns.placeID[i]!,
+      description: columns.description[i]!,
+      primaryText: columns.primaryText[i]!,
+      secondaryText: columns.secondaryText[i] as string,
+      types: decodeTypes(encoded.types, encoded.typeOffsets, i, placeTypes),
+      distanceMeters: columns.distanceMeters[i] as number,
+    };
+    // Like the uncompacted results, only lists merged with local places tag the source
+    if (encoded.localCount > 0) {
+      prediction.source = i < encoded.localCount ? 'local' : 'network';
+    }
+
+    return prediction;
+  });
+}
+
+function decodePlace(
+  encoded: CompactPlaceResults,
+  index: number,
+  placeTypes: string[]
+) {
+  const place: { [field: string]: unknown } = {};
+  for (const field of Object.keys(encoded.columns)) {
+    const column = encoded.columns[field]!;
+    if (field === 'coordinate') {
+      const latitude = column[2 * index];
+      place.coordinate =
+        latitude != null ? { latitude, longitude: column[2 * index + 1] } : null;
+    } else {
+      place[field] = column[index];
+    }
+  }
+  if (encoded.types && encoded.typeOffsets) {
+    place.types = decodeTypes(
+      encoded.types,
+      encoded.typeOffsets,
+      index,
+      placeTypes
+    );
+  }
+
+  return place as Place;
+}
+
+export function decodePlaceResults(
+  encoded: CompactPlaceResults,
+  placeTypes: string[]
+): PlaceResult[] {
+  return lazyArray<PlaceResult>(encoded.count, (i) => {
+    const code = encoded.errorCodes[i];
+    if (code != null) {
+      return {
+        placeID: encoded.placeIDs[i]!,
+        place: null,
+        error: { code, message: encoded.errorMessages[i] ?? null },
+      };
+    }
+
+    return {
+      placeID: encoded.placeIDs[i]!,
+      place: decodePlace(encoded, i, placeTypes),
+      error: null,
+    };
+  });
+}
@@ -13,7 +13,7 @@ export const PLACE_FIELDS = Object.freeze({
   ADDRESS_COMPONENTS: 'addressComponents',
   RATING: 'rating',
   USER_RATINGS_TOTAL: 'userRatingsTotal',
-  UTC_OFFSET_MINUTES: 'useOffsetMinutes',
+  UTC_OFFSET_MINUTES: 'utcOffsetMinutes',
   BUSINESS_STATUS: 'businessStatus',
   ICONS_IMAGE_URL: 'iconImageURL',
   TAKEOUT: 'takeout',
@@ -22,3 +22,28 @@ export const PLACE_FIELDS = Object.freeze({
   CURBSIDE_PICKUP: 'curbsidePickup',
   PHOTOS: 'photos',
 });
+
+export const ERROR_CODES = Object.freeze({
+  SUPERSEDED: 'SUPERSEDED',
+  INVALID_FIELDS: 'INVALID_FIELDS',
+  NOT_INITIALIZED: 'NOT_INITIALIZED',
+  TIMEOUT: 'TIMEOUT',
+  NETWORK: 'NETWORK',
+  CANCELLED: 'CANCELLED',
+  INTERNAL: 'INTERNAL',
+  UNSUPPORTED: 'UNSUPPORTED',
+});
+
+// Prefix of the code for any other status reported by the Places SDK, e.g. API_9011
+export const API_ERROR_PREFIX = 'API_';
+
+export const FIELD_PROFILES = Object.freeze({
+  BASIC: 'basic',
+  CONTACT: 'contact',
+  ATMOSPHERE: 'atmosphere',
+  ALL: 'all',
+});
+
+export const METRIC_EVENT = 'GooglePlacesSdkMetric';
+
+export const PLACE_PARTIAL_EVENT = 'GooglePlacesSdkPlacePartial';
@@ -1,8 +1,35 @@
-import { NativeModules, Platform } from 'react-native';
+import { NativeEventEmitter, NativeModules, Platform } from 'react-native';
+import {
+  ERROR_CODES,
+  FIELD_PROFILES,
+  METRIC_EVENT,
+  PLACE_FIELDS,
+  PLACE_PARTIAL_EVENT,
+} from './constants';
+import { decodePlaceResults, decodePredictions, isCompact } from './compact';
 import type {
+  CacheStats,
+  FetchPlaceByIDOptions,
+  FetchPlaceByIDProgressiveOptions,
+  FetchPlacesByIDsOptions,
+  FieldProfile,
+  FetchPlacePhotoOptions,
   FieldsParam,
+  InFlightStats,
+  InitializeOptions,
+  InitStats,
+  LocalIndexStats,
+  MemoryStats,
+  MetricEvent,
+  Metrics,
+  PhotoCacheStats,
   Place,
+  PlaceCacheStats,
+  PlacePhoto,
+  PlaceResult,
   PlacePrediction,
+  PrefetchStats,
+  RateLimitStats,
   PredictionFiltersParam,
 } from './types';
 
@@ -12,8 +39,16 @@ const LINKING_ERROR =
   '- You rebuilt the app after installing the package\n' +
   '- You are not using Expo Go\n';
 
-const GooglePlacesSdk = NativeModules.GooglePlacesSdk
-  ? NativeModules.GooglePlacesSdk
+// @ts-expect-error
+const isTurboModuleEnabled = global.__turboModuleProxy != null;
+
+// With the new architecture the native module is created on this first lookup, not at app startup
+const GooglePlacesSdkModule = isTurboModuleEnabled
+  ? require('./NativeGooglePlacesSdk').default
+  : NativeModules.GooglePlacesSdk;
+
+const GooglePlacesSdk = GooglePlacesSdkModule
+  ? GooglePlacesSdkModule
   : new Proxy(
       {},
       {
@@ -23,9 +58,87 @@ const GooglePlacesSdk = NativeModules.GooglePlacesSdk
       }
     );
 
-export function initialize(apiKey: string) {
+// A rejection with a code, like the ones of native failures
+function rejectWithCode(code: string, message: string): Promise<never> {
+  const error = new Error(message);
+  (error as Error & { code: string }).code = code;
+
+  return Promise.reject(error);
+}
+
+function unsupported(method: string): Promise<never> {
+  return rejectWithCode(
+    ERROR_CODES.UNSUPPORTED,
+    `${method} is only supported on Android`
+  );
+}
+
+// The built-in profiles of GooglePlacesSdkFieldProfiles.java. The iOS module has no field profiles
+// and fetches every field for an empty field list, so profile names are resolved here on iOS.
+const BASIC_FIELDS: FieldsParam = [
+  PLACE_FIELDS.PLACE_ID,
+  PLACE_FIELDS.NAME,
+  PLACE_FIELDS.FORMATTED_ADDRESS,
+  PLACE_FIELDS.ADDRESS_COMPONENTS,
+  PLACE_FIELDS.COORDINATE,
+  PLACE_FIELDS.VIEWPORT,
+  PLACE_FIELDS.TYPES,
+  PLACE_FIELDS.PLUS_CODE,
+];
+
+const BUILT_IN_FIELD_PROFILES: Record<FieldProfile, FieldsParam> = {
+  [FIELD_PROFILES.BASIC]: BASIC_FIELDS,
+  [FIELD_PROFILES.CONTACT]: [
+    ...BASIC_FIELDS,
+    PLACE_FIELDS.PHONE_NUMBER,
+    PLACE_FIELDS.WEBSITE,
+    PLACE_FIELDS.OPENING_HOURS,
+    PLACE_FIELDS.UTC_OFFSET_MINUTES,
+  ],
+  [FIELD_PROFILES.ATMOSPHERE]: [
+    ...BASIC_FIELDS,
+    PLACE_FIELDS.RATING,
+    PLACE_FIELDS.USER_RATINGS_TOTAL,
+    PLACE_FIELDS.PRICE_LEVEL,
+    PLACE_FIELDS.TAKEOUT,
+    PLACE_FIELDS.DELIVERY,
+    PLACE_FIELDS.DINE_IN,
+    PLACE_FIELDS.CURBSIDE_PICKUP,
+  ],
+  [FIELD_PROFILES.ALL]: Object.values(PLACE_FIELDS),
+};
+
+let customFieldProfiles: Record<FieldProfile, FieldsParam> = {};
+
+function getProfileFields(profile: FieldProfile): FieldsParam | undefined {
+  const fields = Object.prototype.hasOwnProperty.call(
+    customFieldProfiles,
+    profile
+  )
+    ? customFieldProfiles[profile]
+    : BUILT_IN_FIELD_PROFILES[profile];
+
+  return Array.isArray(fields) ? fields : undefined;
+}
+
+let placeTypesPromise: Promise<string[]> | null = null;
+
+// The place type table compact results index into, fetched once on the first compact result
+function getPlaceTypes(): Promise<string[]> {
+  if (!placeTypesPromise) {
+    placeTypesPromise = GooglePlacesSdk.getPlaceTypes();
+    placeTypesPromise.catch(() => {
+      placeTypesPromise = null;
+    });
+  }
+
+  return placeTypesPromise;
+}
+
+export function initialize(apiKey: string, options: InitializeOptions = {}) {
   if (!apiKey) return;
-  GooglePlacesSdk.initialize(apiKey);
+  customFieldProfiles = options.fieldProfiles ?? {};
+  GooglePlacesSdk.initialize(apiKey, options);
 }
 
 export async function fetchPredictions(
@@ -33,27 +146,311 @@ export async function fetchPredictions(
   filters: PredictionFiltersParam = {}
 ): Promise<PlacePrediction[]> {
   const predictions = await GooglePlacesSdk.fetchPredictions(query, filters);
+  if (isCompact(predictions)) {
+    return decodePredictions(predictions, await getPlaceTypes());
+  }
 
   return predictions;
 }
 
+function splitFieldsParam(fields: FieldsParam | FieldProfile) {
+  if (typeof fields === 'string') {
+    return { fields: [], fieldProfile: fields };
+  }
+
+  return { fields, fieldProfile: undefined };
+}
+
 export async function fetchPlaceByID(
   placeID: string,
-  fields: FieldsParam = []
+  fields: FieldsParam | FieldProfile = [],
+  options: FetchPlaceByIDOptions = {}
 ): Promise<Place> {
-  const place = await GooglePlacesSdk.fetchPlaceByID(placeID, fields);
+  let requestedFields = fields;
+  if (Platform.OS !== 'android' && typeof fields === 'string') {
+    const profileFields = getProfileFields(fields);
+    if (!profileFields || profileFields.length === 0) {
+      return rejectWithCode(
+        ERROR_CODES.INVALID_FIELDS,
+        `Unknown field profile: ${fields}`
+      );
+    }
+
+    requestedFields = profileFields;
+  }
+
+  const params = splitFieldsParam(requestedFields);
+  const place = await GooglePlacesSdk.fetchPlaceByID(placeID, params.fields, {
+    ...options,
+    fieldProfile: params.fieldProfile,
+  });
 
   return place;
 }
 
-export async function startNewSession() {
-  const msg = await GooglePlacesSdk.startNewSession();
+// Android only, null on iOS. Reads the in-memory place cache synchronously and returns null on a
+// miss without fetching anything.
+export function getCachedPlaceSync(
+  placeID: string,
+  fields: FieldsParam | FieldProfile = [],
+  options: FetchPlaceByIDOptions = {}
+): Place | null {
+  if (Platform.OS !== 'android') return null;
+
+  const params = splitFieldsParam(fields);
+  return GooglePlacesSdk.getCachedPlaceSync(placeID, params.fields, {
+    ...options,
+    fieldProfile: params.fieldProfile,
+  });
+}
+
+// Android only, null on iOS. Reads the in-memory prediction cache synchronously and returns null
+// on a miss without fetching anything.
+export function getCachedPredictionsSync(
+  query: string,
+  filters: PredictionFiltersParam = {}
+): PlacePrediction[] | null {
+  if (Platform.OS !== 'android') return null;
+
+  return GooglePlacesSdk.getCachedPredictionsSync(query, filters);
+}
+
+let nextRequestID = 0;
+
+// Android only. On iOS the place is fetched in one request and onPartial is never called.
+export async function fetchPlaceByIDProgressive(
+  placeID: string,
+  fields: FieldsParam | FieldProfile = [],
+  onPartial: (place: Partial<Place>) => void,
+  options: FetchPlaceByIDProgressiveOptions = {}
+): Promise<Place> {
+  if (Platform.OS !== 'android') return fetchPlaceByID(placeID, fields, options);
+
+  const params = splitFieldsParam(fields);
+  const requestID = `${Date.now()}-${nextRequestID++}`;
+  const eventEmitter = new NativeEventEmitter(GooglePlacesSdk);
+  const subscription = eventEmitter.addListener(
+    PLACE_PARTIAL_EVENT,
+    (event: { requestID: string; place: Partial<Place> }) => {
+      if (event.requestID === requestID) onPartial(event.place);
+    }
+  );
+
+  try {
+    const place = await GooglePlacesSdk.fetchPlaceByID(placeID, params.fields, {
+      ...options,
+      fieldProfile: params.fieldProfile,
+      requestID,
+    });
+
+    return place;
+  } finally {
+    subscription.remove();
+  }
+}
+
+// Android only, rejects with ERROR_CODES.UNSUPPORTED on iOS.
+export async function fetchPlacesByIDs(
+  placeIDs: string[],
+  fields: FieldsParam | FieldProfile = [],
+  options: FetchPlacesByIDsOptions = {}
+): Promise<PlaceResult[]> {
+  if (Platform.OS !== 'android') return unsupported('fetchPlacesByIDs');
+
+  const params = splitFieldsParam(fields);
+  const results = await GooglePlacesSdk.fetchPlacesByIDs(
+    placeIDs,
+    params.fields,
+    { ...options, fieldProfile: params.fieldProfile }
+  );
+  if (isCompact(results)) {
+    return decodePlaceResults(results, await getPlaceTypes());
+  }
+
+  return results;
+}
+
+// Android only, rejects with ERROR_CODES.UNSUPPORTED on iOS.
+export async function fetchPlacePhoto(
+  reference: string,
+  maxWidth: number,
+  maxHeight: number,
+  options: FetchPlacePhotoOptions = {}
+): Promise<PlacePhoto> {
+  if (Platform.OS !== 'android') return unsupported('fetchPlacePhoto');
+
+  const photo = await GooglePlacesSdk.fetchPlacePhoto(
+    reference,
+    maxWidth,
+    maxHeight,
+    options
+  );
+
+  return photo;
+}
+
+export async function startNewSession(sessionID?: string) {
+  const msg = await GooglePlacesSdk.startNewSession(sessionID ?? null);
 
   return msg;
 }
 
-export async function clearSession() {
-  const msg = await GooglePlacesSdk.clearSession();
+export async function clearSession(sessionID?: string) {
+  const msg = await GooglePlacesSdk.clearSession(sessionID ?? null);
 
   return msg;
 }
+
+// Android only, does nothing on iOS.
+export function clearPlaceCache() {
+  if (Platform.OS !== 'android') return;
+
+  GooglePlacesSdk.clearPlaceCache();
+}
+
+// Android only, resolves with null on iOS.
+export async function getPlaceCacheStats(): Promise<PlaceCacheStats | null> {
+  if (Platform.OS !== 'android') return null;
+
+  const stats = await GooglePlacesSdk.getPlaceCacheStats();
+
+  return stats;
+}
+
+// Android only, does nothing on iOS.
+export function clearPredictionCache() {
+  if (Platform.OS !== 'android') return;
+
+  GooglePlacesSdk.clearPredictionCache();
+}
+
+// Android only, resolves with null on iOS.
+export async function getPredictionCacheStats(): Promise<CacheStats | null> {
+  if (Platform.OS !== 'android') return null;
+
+  const stats = await GooglePlacesSdk.getPredictionCacheStats();
+
+  return stats;
+}
+
+// Android only, does nothing on iOS.
+export function clearLocalIndex() {
+  if (Platform.OS !== 'android') return;
+
+  GooglePlacesSdk.clearLocalIndex();
+}
+
+// Android only, resolves with null on iOS.
+export async function getLocalIndexStats(): Promise<LocalIndexStats | null> {
+  if (Platform.OS !== 'android') return null;
+
+  const stats = await GooglePlacesSdk.getLocalIndexStats();
+
+  return stats;
+}
+
+// Android only, does nothing on iOS.
+export function clearPhotoCache() {
+  if (Platform.OS !== 'android') return;
+
+  GooglePlacesSdk.clearPhotoCache();
+}
+
+// Android only, resolves with null on iOS.
+export async function getPhotoCacheStats(): Promise<PhotoCacheStats | null> {
+  if (Platform.OS !== 'android') return null;
+
+  const stats = await GooglePlacesSdk.getPhotoCacheStats();
+
+  return stats;
+}
+
+// Android only, resolves with null on iOS.
+export async function getRateLimitStats(): Promise<RateLimitStats | null> {
+  if (Platform.OS !== 'android') return null;
+
+  const stats = await GooglePlacesSdk.getRateLimitStats();
+
+  return stats;
+}
+
+// Android only, resolves with null on iOS.
+export async function getPrefetchStats(): Promise<PrefetchStats | null> {
+  if (Platform.OS !== 'android') return null;
+
+  const stats = await GooglePlacesSdk.getPrefetchStats();
+
+  return stats;
+}
+
+// Android only, resolves with no operations on iOS.
+export async function getMetrics(): Promise<Metrics> {
+  if (Platform.OS !== 'android') return {};
+
+  const metrics = await GooglePlacesSdk.getMetrics();
+
+  return metrics;
+}
+
+// Android only, does nothing on iOS.
+export function resetMetrics() {
+  if (Platform.OS !== 'android') return;
+
+  GooglePlacesSdk.resetMetrics();
+}
+
+// Android only, resolves with 0 on iOS. Cancels the requests in flight that were given the tag, or
+// all of them when no tag is given, and rejects them with ERROR_CODES.CANCELLED.
+export async function cancelAll(tag?: string): Promise<number> {
+  if (Platform.OS !== 'android') return 0;
+
+  const count = await GooglePlacesSdk.cancelAll(tag ?? null);
+
+  return count;
+}
+
+// Android only, resolves with null on iOS.
+export async function getInFlightStats(): Promise<InFlightStats | null> {
+  if (Platform.OS !== 'android') return null;
+
+  const stats = await GooglePlacesSdk.getInFlightStats();
+
+  return stats;
+}
+
+// Android only, resolves with null on iOS.
+export async function getMemoryStats(): Promise<MemoryStats | null> {
+  if (Platform.OS !== 'android') return null;
+
+  const stats = await GooglePlacesSdk.getMemoryStats();
+
+  return stats;
+}
+
+// Android only, resolves with null on iOS.
+export async function getInitStats(): Promise<InitStats | null> {
+  if (Platform.OS !== 'android') return null;
+
+  const stats = await GooglePlacesSdk.getInitStats();
+
+  return stats;
+}
+
+// Android only, resolves with 0 on iOS.
+export async function getOutstandingPromises(): Promise<number> {
+  if (Platform.OS !== 'android') return 0;
+
+  const count = await GooglePlacesSdk.getOutstandingPromises();
+
+  return count;
+}
+
+// Android only, the listener is never called on iOS.
+export function addMetricsListener(listener: (event: MetricEvent) => void) {
+  if (Platform.OS !== 'android') return () => {};
+
+  const eventEmitter = new NativeEventEmitter(GooglePlacesSdk);
+  const subscription = eventEmitter.addListener(METRIC_EVENT, listener);
+
+  return () => subscription.remove();
+}
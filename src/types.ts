@@ -7,6 +7,7 @@ export type PlacePrediction = {
   secondaryText: string;
   types: string[];
   distanceMeters: number;
+  source?: 'network' | 'local';
 };
 
 export type LatLng = {
@@ -25,10 +26,27 @@ export type PredictionFiltersParam = {
   locationBias?: LocationBounds;
   locationRestriction?: LocationBounds;
   origin?: LatLng;
+  sessionID?: string;
+  timeoutMs?: number;
+  compact?: boolean;
+  tag?: string;
+};
+
+export type FetchPlaceByIDOptions = {
+  sessionID?: string;
+  timeoutMs?: number;
+  tag?: string;
+};
+
+export type FetchPlaceByIDProgressiveOptions = FetchPlaceByIDOptions & {
+  headFields?: FieldsParam;
 };
 
 export type FieldsParam = (typeof PLACE_FIELDS)[keyof typeof PLACE_FIELDS][];
 
+// Name of a built-in (see FIELD_PROFILES) or custom field profile
+export type FieldProfile = string;
+
 export type AtmosphereCategoryStatus = 'TRUE' | 'FALSE' | 'UNKNOWN';
 
 export type BusinessStatus =
@@ -37,19 +55,21 @@ export type BusinessStatus =
   | 'CLOSED_PERMANENTLY'
   | 'UNKNOWN';
 
+// Only the requested fields are present, attributions always are. A requested field without a
+// value is null.
 export type Place = {
-  name: string | null;
-  placeID: string | null;
-  plusCode: string | null;
-  coordinate: LatLng | null;
-  openingHours: string | null;
-  phoneNumber: string | null;
-  types: string[] | null;
-  priceLevel: number | null;
-  website: string | null;
-  viewport: (LocationBounds & { valid: boolean }) | null;
-  formattedAddress: string | null;
-  addressComponents:
+  name?: string | null;
+  placeID?: string | null;
+  plusCode?: string | null;
+  coordinate?: LatLng | null;
+  openingHours?: string | null;
+  phoneNumber?: string | null;
+  types?: string[] | null;
+  priceLevel?: number | null;
+  website?: string | null;
+  viewport?: (LocationBounds & { valid: boolean }) | null;
+  formattedAddress?: string | null;
+  addressComponents?:
     | {
         types: string[];
         name: string;
@@ -57,16 +77,16 @@ export type Place = {
       }[]
     | null;
   attributions: string | null;
-  rating: number;
-  userRatingsTotal: number;
-  utcOffsetMinutes: number | null;
-  iconImageURL: string | null;
-  businessStatus: BusinessStatus;
-  dineIn: AtmosphereCategoryStatus;
-  takeout: AtmosphereCategoryStatus;
-  delivery: AtmosphereCategoryStatus;
-  curbsidePickup: AtmosphereCategoryStatus;
-  photos: {
+  rating?: number;
+  userRatingsTotal?: number;
+  utcOffsetMinutes?: number | null;
+  iconImageURL?: string | null;
+  businessStatus?: BusinessStatus;
+  dineIn?: AtmosphereCategoryStatus;
+  takeout?: AtmosphereCategoryStatus;
+  delivery?: AtmosphereCategoryStatus;
+  curbsidePickup?: AtmosphereCategoryStatus;
+  photos?: {
     attributions: {
       url: string;
       name: string;
@@ -76,3 +96,312 @@ export type Place = {
     height: number;
   }[];
 };
+
+export type CacheOptions = {
+  maxEntries?: number;
+  ttlMs?: number;
+  maxBytes?: number;
+};
+
+export type DiskCacheOptions = {
+  enabled?: boolean;
+  maxBytes?: number;
+  ttlMs?: number;
+};
+
+export type PhotoCacheOptions = {
+  maxBytes?: number;
+  diskMaxBytes?: number;
+};
+
+export type InitializeOptions = {
+  placeCache?: CacheOptions;
+  diskCache?: DiskCacheOptions;
+  photoCache?: PhotoCacheOptions;
+  predictionCache?: CacheOptions;
+  predictionDebounceMs?: number;
+  requestTimeoutMs?: number;
+  cancelOnPause?: boolean;
+  sessionIdleTimeoutMs?: number;
+  parseThreads?: number;
+  fieldProfiles?: Record<FieldProfile, FieldsParam>;
+  defaultFieldProfile?: FieldProfile;
+  metrics?: MetricsOptions;
+  localIndex?: LocalIndexOptions;
+  rateLimit?: RateLimitOptions;
+  prefetch?: PrefetchOptions;
+  memory?: MemoryOptions;
+  backend?: BackendOptions;
+};
+
+export type ReplayLatencyOptions = {
+  medianMs?: number;
+  p99Ms?: number;
+};
+
+export type BackendOptions = {
+  mode?: 'sdk' | 'record' | 'replay';
+  directory?: string;
+  latency?: {
+    predictions?: ReplayLatencyOptions;
+    details?: ReplayLatencyOptions;
+    photos?: ReplayLatencyOptions;
+  };
+  errorRate?: number;
+  errorStatusCode?: number;
+  seed?: number;
+};
+
+export type MemoryOptions = {
+  trimOnPressure?: boolean;
+};
+
+export type MemoryCacheUsage = {
+  bytes: number;
+  maxBytes: number;
+};
+
+export type MemoryStats = {
+  enabled: boolean;
+  totalBytes: number;
+  caches: {
+    predictionCache: MemoryCacheUsage;
+    prefetchCache: MemoryCacheUsage;
+    photoCache: MemoryCacheUsage;
+    placeCache: MemoryCacheUsage;
+  };
+  trims: number;
+  lastTrimLevel: number;
+};
+
+export type PrefetchOptions = {
+  enabled?: boolean;
+  count?: number;
+  delayMs?: number;
+  ttlMs?: number;
+  fields?: FieldsParam;
+  fieldProfile?: FieldProfile;
+};
+
+export type PrefetchStats = {
+  enabled: boolean;
+  count: number;
+  inFlight: number;
+  prefetched: number;
+  failures: number;
+  hits: number;
+  misses: number;
+  hitRate: number;
+  usedRate: number;
+  cache: CacheStats;
+};
+
+export type InitStats = {
+  state: 'uninitialized' | 'initializing' | 'ready' | 'failed';
+  initMs: number;
+  readyMs: number;
+  callMs: number;
+  initializations: number;
+  skipped: number;
+  queuedCalls: number;
+  pendingCalls: number;
+  maxQueueWaitMs: number;
+  error: string | null;
+};
+
+export type RateLimitBucketOptions = {
+  burst?: number;
+  perSecond?: number;
+};
+
+export type RateLimitOptions = {
+  enabled?: boolean;
+  maxQueue?: number;
+  maxRetries?: number;
+  baseBackoffMs?: number;
+  maxBackoffMs?: number;
+  predictions?: RateLimitBucketOptions;
+  details?: RateLimitBucketOptions;
+  photos?: RateLimitBucketOptions;
+};
+
+export type RateLimitBucketStats = {
+  tokens: number;
+  burst: number;
+  perSecond: number;
+  waiting: number;
+  executed: number;
+  queued: number;
+  shed: number;
+  retries: number;
+};
+
+export type RateLimitStats = {
+  enabled: boolean;
+  predictions: RateLimitBucketStats;
+  details: RateLimitBucketStats;
+  photos: RateLimitBucketStats;
+};
+
+export type LocalIndexOptions = {
+  enabled?: boolean;
+  mode?: 'merge' | 'fallback';
+  maxEntries?: number;
+  maxResults?: number;
+  budgetMs?: number;
+};
+
+export type LocalIndexStats = {
+  enabled: boolean;
+  mode: 'merge' | 'fallback';
+  size: number;
+  maxEntries: number;
+  queries: number;
+  hits: number;
+};
+
+export type MetricsOptions = {
+  enabled?: boolean;
+  payloadSizes?: boolean;
+  emitEvents?: boolean;
+  windowSize?: number;
+};
+
+export type CacheStats = {
+  size: number;
+  maxEntries: number;
+  ttlMs: number;
+  bytes?: number;
+  maxBytes?: number;
+  hits: number;
+  misses: number;
+  evictions: number;
+  expirations: number;
+};
+
+export type DiskCacheStats = {
+  enabled: boolean;
+  bytes: number;
+  maxBytes: number;
+  ttlMs: number;
+  hits: number;
+  misses: number;
+  writes: number;
+  evictions: number;
+};
+
+export type PlaceCacheStats = CacheStats & {
+  disk: DiskCacheStats;
+};
+
+export type FetchPlacesByIDsOptions = {
+  concurrency?: number;
+  timeoutMs?: number;
+  compact?: boolean;
+  tag?: string;
+};
+
+export type FetchPlacePhotoOptions = {
+  timeoutMs?: number;
+  tag?: string;
+};
+
+export type InFlightStats = {
+  inFlight: number;
+  cancelled: number;
+};
+
+export type PlaceError = {
+  code: string;
+  message: string | null;
+};
+
+export type PlaceResult = {
+  placeID: string;
+  place: Place | null;
+  error: PlaceError | null;
+};
+
+export type PlacePhoto = {
+  uri: string;
+  width: number;
+  height: number;
+};
+
+export type PhotoCacheStats = CacheStats & {
+  bytes: number;
+  maxBytes: number;
+  diskBytes: number;
+  diskMaxBytes: number;
+};
+
+export type MetricsPhase = 'build' | 'debounce' | 'network' | 'parse' | 'resolve';
+
+export type MetricsSource =
+  | 'network'
+  | 'memory'
+  | 'disk'
+  | 'local'
+  | 'coalesced'
+  | 'prefetch';
+
+export type Histogram = {
+  count: number;
+  mean?: number;
+  p50?: number;
+  p95?: number;
+  p99?: number;
+  max?: number;
+};
+
+export type OperationMetrics = {
+  calls: number;
+  errors: number;
+  sources: Partial<Record<MetricsSource, number>>;
+  phasesMs: Record<MetricsPhase, Histogram>;
+  totalMs: Histogram;
+  resultCount: Histogram;
+  payloadBytes: Histogram;
+};
+
+export type Metrics = Record<string, OperationMetrics>;
+
+export type MetricEvent = {
+  operation: string;
+  source: MetricsSource;
+  errorCode: string | null;
+  totalMs: number;
+  phasesMs: Partial<Record<MetricsPhase, number>>;
+  resultCount?: number;
+  payloadBytes?: number;
+};
+
+// Columnar results sent by Android when `compact` is set, decoded by src/compact.ts. Types are
+// indices into the place type table, the types of result i are types[typeOffsets[i]] up to
+// types[typeOffsets[i + 1]].
+export type CompactPredictions = {
+  format: 'columnar';
+  count: number;
+  localCount: number;
+  columns: {
+    placeID: string[];
+    description: string[];
+    primaryText: string[];
+    secondaryText: (string | null)[];
+    distanceMeters: (number | null)[];
+  };
+  types: number[];
+  typeOffsets: number[];
+};
+
+// The coordinate column holds two entries per place, latitude then longitude.
+export type CompactPlaceResults = {
+  format: 'columnar';
+  count: number;
+  placeIDs: string[];
+  errorCodes: (string | null)[];
+  errorMessages: (string | null)[];
+  columns: { [field: string]: unknown[] };
+  types?: number[];
+  typeOffsets?: number[];
+};